@@ -1,29 +1,153 @@
+import model.ContextSnapshot;
+import model.InquiryIntake;
+import model.MappedTimetableStore;
 import model.SharedContext;
+import model.WriteAheadLog;
 import controller.MenuController;
 import external.AuthenticationService;
 import external.EmailService;
 import external.MockAuthenticationService;
 import external.MockEmailService;
 import org.json.simple.parser.ParseException;
+import org.tinylog.Logger;
 import view.TextUserInterface;
 import view.View;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class Main {
+    private static final Path SNAPSHOT_PATH = Paths.get(System.getProperty("snapshot.path", "hindeburg.snapshot"));
+    private static final Path LOG_PATH = Paths.get(System.getProperty("wal.path", "hindeburg.wal"));
+    private static final long FLUSH_INTERVAL_MILLIS = Long.getLong("wal.flushIntervalMillis", 2);
+    // Timetables are kept off the heap in this file when it is set
+    private static final String TIMETABLE_STORE_PATH = System.getProperty("timetable.store");
+
     public static void main(String[] args) {
         View view = new TextUserInterface();
         try {
             AuthenticationService auth = new MockAuthenticationService();
             EmailService email = new MockEmailService();
-            SharedContext sharedContext = new SharedContext(view);
+            MappedTimetableStore timetableStore = openTimetableStore(view);
+            SharedContext sharedContext = newContext(view, timetableStore);
+            long snapshotGeneration = loadSnapshot(sharedContext, view);
+            if (snapshotGeneration < 0) {
+                // A partly read snapshot is discarded so the session starts from a consistent empty state,
+                // but the file is kept; if it cannot be moved aside, startup stops before anything overwrites it
+                setAsideUnreadable(SNAPSHOT_PATH, "saved data", view);
+                sharedContext = newContext(view, timetableStore);
+                snapshotGeneration = 0;
+                // The log holds changes on top of the unreadable snapshot, so it is kept beside it rather than replayed
+                Path oldLog = WriteAheadLog.setAside(LOG_PATH);
+                if (oldLog != null) {
+                    view.displayWarning("The log of recent changes was moved to " + oldLog);
+                }
+            }
+            if (!replayLog(sharedContext, snapshotGeneration + 1, view)) {
+                // A partly replayed log is discarded along with the context it was applied to, and the session
+                // starts again from the snapshot alone; if the log cannot be moved aside, startup stops
+                setAsideUnreadable(LOG_PATH, "log of recent changes", view);
+                sharedContext = newContext(view, timetableStore);
+                if (loadSnapshot(sharedContext, view) < 0) {
+                    throw new IOException("Saved data could not be loaded again after the log was moved aside");
+                }
+            }
+            WriteAheadLog journal = WriteAheadLog.open(LOG_PATH, snapshotGeneration + 1, FLUSH_INTERVAL_MILLIS);
+            sharedContext.setJournal(journal);
+            // The intake's consumer thread is not started here: notifications print to the console, so they are
+            // sent on the UI thread by each submission instead of interleaving with the menus
+            InquiryIntake intake = sharedContext.getInquiryIntake();
             MenuController menus = new MenuController(sharedContext, view, auth, email);
             menus.mainMenu();
+            // Queued inquiries are made pending before the snapshot, which replaces the log that holds them
+            intake.stop();
+            Logger.info("{}, inquiryIntake, SUCCESS ({})", System.currentTimeMillis(), intake);
+            saveSnapshot(sharedContext, journal, view);
+            if (timetableStore != null) {
+                timetableStore.close();
+            }
         } catch (URISyntaxException | IOException | ParseException | NullPointerException e) {
             view.displayException(e);
         }
 
     }
 
+    private static MappedTimetableStore openTimetableStore(View view) {
+        if (TIMETABLE_STORE_PATH == null) {
+            return null;
+        }
+        try {
+            return MappedTimetableStore.open(Paths.get(TIMETABLE_STORE_PATH));
+        } catch (IOException e) {
+            Logger.error("{}, openTimetableStore, {} FAILURE (Error: {})", System.currentTimeMillis(), TIMETABLE_STORE_PATH, e.getMessage());
+            view.displayError("Timetable store could not be opened, timetables will be kept in memory: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static SharedContext newContext(View view, MappedTimetableStore timetableStore) {
+        SharedContext sharedContext = new SharedContext(view);
+        if (timetableStore != null) {
+            sharedContext.getCourseManager().attachTimetableStore(timetableStore);
+        }
+        return sharedContext;
+    }
+
+    private static long loadSnapshot(SharedContext sharedContext, View view) {
+        if (!Files.exists(SNAPSHOT_PATH)) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        try {
+            long generation = ContextSnapshot.load(sharedContext, SNAPSHOT_PATH);
+            Logger.info("{}, loadSnapshot, {} SUCCESS ({} ms)", System.currentTimeMillis(), SNAPSHOT_PATH,
+                    (System.nanoTime() - start) / 1_000_000);
+            return generation;
+        } catch (IOException e) {
+            Logger.error("{}, loadSnapshot, {} FAILURE (Error: {})", System.currentTimeMillis(), SNAPSHOT_PATH, e.getMessage());
+            view.displayError("Saved data could not be loaded: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    private static void setAsideUnreadable(Path path, String description, View view) throws IOException {
+        Path corrupt = path.resolveSibling(path.getFileName() + ".corrupt-" + System.currentTimeMillis());
+        try {
+            Files.move(path, corrupt);
+            Logger.warn("{}, setAsideUnreadable, {} SUCCESS (Moved to {})", System.currentTimeMillis(), path, corrupt);
+            view.displayWarning("The unreadable " + description + " was moved to " + corrupt);
+        } catch (IOException e) {
+            Logger.error("{}, setAsideUnreadable, {} FAILURE (Error: {})", System.currentTimeMillis(), path, e.getMessage());
+            throw new IOException("Unreadable " + description + " could not be moved aside, stopping to keep it intact", e);
+        }
+    }
+
+    private static boolean replayLog(SharedContext sharedContext, long generation, View view) {
+        try {
+            WriteAheadLog.ReplayReport report = WriteAheadLog.replay(LOG_PATH, generation, sharedContext);
+            Logger.info("{}, replayLog, {} SUCCESS ({})", System.currentTimeMillis(), LOG_PATH, report);
+            return true;
+        } catch (IOException e) {
+            Logger.error("{}, replayLog, {} FAILURE (Error: {})", System.currentTimeMillis(), LOG_PATH, e.getMessage());
+            view.displayError("Recent changes could not be recovered: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void saveSnapshot(SharedContext sharedContext, WriteAheadLog journal, View view) {
+        try {
+            // The snapshot now holds everything in the log, so the log starts over at the next generation
+            ContextSnapshot.save(sharedContext, SNAPSHOT_PATH, journal.getGeneration());
+            journal.reset(journal.getGeneration() + 1);
+            journal.close();
+            Logger.info("{}, saveSnapshot, {} SUCCESS", System.currentTimeMillis(), SNAPSHOT_PATH);
+        } catch (IOException e) {
+            Logger.error("{}, saveSnapshot, {} FAILURE (Error: {})", System.currentTimeMillis(), SNAPSHOT_PATH, e.getMessage());
+            view.displayError("Data could not be saved: " + e.getMessage());
+        }
+    }
+
 }
@@ -8,12 +8,17 @@ import view.View;
 
 
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * Controller responsible for handling actions available to Admin users,
@@ -113,36 +118,12 @@ public class AdminStaffController extends StaffController {
             }
 
             if (optionNo >= 0 && optionNo < currentSection.getItems().size()) {
-                FAQItem removedItem = currentSection.getItems().remove(optionNo);
+                FAQItem removedItem = sharedContext.removeFAQItem(currentSection, optionNo);
 
-                // 检查是否删除了主题中的最后一个问题
+                // 检查是否删除了主题中的最后一个问题，此时主题已被删除，子主题已上移一级
                 if (currentSection.getItems().isEmpty()) {
-                    // 获取父主题和当前主题的子主题
-                    FAQSection parent = currentSection.getParent();
-                    List<FAQSection> subsections = new ArrayList<>(currentSection.getSubsections());
-
-                    // 将子主题上移一级
-                    for (FAQSection subsection : subsections) {
-                        if (parent == null) {
-                            // 如果是根主题，将子主题移到FAQ根目录
-                            sharedContext.getFAQ().addSection(subsection);
-                            currentSection.getSubsections().remove(subsection);
-                        } else {
-                            // 如果不是根主题，将子主题移到父主题下
-                            parent.addSubsection(subsection);
-                            currentSection.getSubsections().remove(subsection);
-                        }
-                    }
-
-                    // 从父主题或FAQ根目录中删除当前主题
-                    if (parent == null) {
-                        sharedContext.getFAQ().getSections().remove(currentSection);
-                    } else {
-                        parent.getSubsections().remove(currentSection);
-                    }
-
                     view.displayInfo("Topic '" + currentSection.getTopic() + "' has been removed as it no longer contains any FAQ items.");
-                    currentSection = parent; // 返回到父主题
+                    currentSection = currentSection.getParent(); // 返回到父主题
                 }
 
                 // 保存被删除项目的主题名称，以便在主题被删除后仍能使用
@@ -209,20 +190,22 @@ public class AdminStaffController extends StaffController {
 
         if (createSection) {
             String newTopic = view.getInput("Enter new topic title: ");
-            FAQSection newSection = new FAQSection(newTopic);
+            FAQSection newSection;
             if (currentSection == null) {
-                if (sharedContext.getFAQ().getSections().stream().anyMatch(section -> section.getTopic().equals(newTopic))) {
+                newSection = sharedContext.getFAQ().getSection(newTopic);
+                if (newSection != null) {
                     view.displayWarning("Topic '" + newTopic + "' already exists!");
-                    newSection = sharedContext.getFAQ().getSections().stream().filter(section -> section.getTopic().equals(newTopic)).findFirst().orElseThrow();
                 } else {
+                    newSection = new FAQSection(newTopic);
                     sharedContext.getFAQ().addSection(newSection);
                     view.displayInfo("Created topic '" + newTopic + "'");
                 }
             } else {
-                if (currentSection.getSubsections().stream().anyMatch(section -> section.getTopic().equals(newTopic))) {
+                newSection = currentSection.getSubsection(newTopic);
+                if (newSection != null) {
                     view.displayWarning("Topic '" + newTopic + "' already exists under '" + currentSection.getTopic() + "'!");
-                    newSection = currentSection.getSubsections().stream().filter(section -> section.getTopic().equals(newTopic)).findFirst().orElseThrow();
                 } else {
+                    newSection = new FAQSection(newTopic);
                     currentSection.addSubsection(newSection);
                     view.displayInfo("Created topic '" + newTopic + "' under '" + currentSection.getTopic() + "'");
                 }
@@ -245,13 +228,16 @@ public class AdminStaffController extends StaffController {
             }
         }
 
-        currentSection.getItems().add(new FAQItem(question, answer, courseTag));
+        sharedContext.addFAQItem(currentSection, new FAQItem(question, answer, courseTag));
 
         String emailSubject = "FAQ topic '" + currentSection.getTopic() + "' updated";
         StringBuilder emailContentBuilder = new StringBuilder();
         emailContentBuilder.append("Updated Q&As:");
         for (FAQItem item : currentSection.getItems()) {
             emailContentBuilder.append("\n\n");
+            emailContentBuilder.append("FAQ #");
+            emailContentBuilder.append(item.getNumber());
+            emailContentBuilder.append("\n");
             emailContentBuilder.append("Q: ");
             emailContentBuilder.append(item.getQuestion());
             emailContentBuilder.append("\n");
@@ -285,17 +271,16 @@ public class AdminStaffController extends StaffController {
 
     /**
      * Allows an administrator to manage user inquiries, including redirecting or responding to inquiries.
+     * Inquiries are listed a page at a time, oldest first, and can be filtered by course and assignee.
      */
     public void manageInquiries() {
-        String[] inquiryTitles = getInquiryTitles(sharedContext.inquiries);
+        InquiryListing listing = new InquiryListing(null, true);
 
         while (true) {
-            view.displayInfo("Pending inquiries");
-            int selection = selectFromMenu(inquiryTitles, "Back to main menu");
-            if (selection == -1) {
+            Inquiry selectedInquiry = selectInquiry(listing, "Pending inquiries", "Back to main menu");
+            if (selectedInquiry == null) {
                 return;
             }
-            Inquiry selectedInquiry = sharedContext.inquiries.get(selection);
 
             while (true) {
                 view.displayDivider();
@@ -310,7 +295,6 @@ public class AdminStaffController extends StaffController {
                     redirectInquiry(selectedInquiry);
                 } else if (followUpOptions[followUpSelection].equals("Respond to inquiry")) {
                     respondToInquiry(selectedInquiry);
-                    inquiryTitles = getInquiryTitles(sharedContext.inquiries); // required to remove responded inquiry from titles
                     break;
                 }
             }
@@ -323,7 +307,7 @@ public class AdminStaffController extends StaffController {
      * @param inquiry The inquiry to be redirected.
      */
     private void redirectInquiry(Inquiry inquiry) {
-        inquiry.setAssignedTo(view.getInput("Enter assignee email: "));
+        sharedContext.assignInquiry(inquiry, view.getInput("Enter assignee email: "));
         email.sendEmail(
                 SharedContext.ADMIN_STAFF_EMAIL,
                 inquiry.getAssignedTo(),
@@ -339,6 +323,9 @@ public class AdminStaffController extends StaffController {
     private enum manageCoursesOptions {
         ADD_COURSE,
         REMOVE_COURSE,
+        REMOVE_COURSES,
+        IMPORT_COURSES,
+        IMPORT_ENROLMENTS,
     }
 
     /**
@@ -365,6 +352,9 @@ public class AdminStaffController extends StaffController {
         switch (option) {
             case ADD_COURSE -> addCourse();
             case REMOVE_COURSE -> removeCourse();
+            case REMOVE_COURSES -> removeCourses();
+            case IMPORT_COURSES -> importCourses();
+            case IMPORT_ENROLMENTS -> importEnrolments();
         }
         return false;
     }
@@ -388,6 +378,94 @@ public class AdminStaffController extends StaffController {
         }
     }
 
+    /**
+     * Removes several courses at once and emails every affected user once, listing the courses that were removed.
+     * Codes of courses that do not exist are skipped.
+     */
+    private void removeCourses() {
+        view.displayInfo("=== Remove Courses ===");
+        String input = view.getInput("Enter course codes separated by commas: ");
+        Set<String> courseCodes = new LinkedHashSet<>();
+        for (String courseCode : input.split(",")) {
+            if (!courseCode.isBlank()) {
+                courseCodes.add(courseCode.trim());
+            }
+        }
+        String currentEmail = sharedContext.getCurrentUserEmail();
+        CourseManager courseManager = sharedContext.getCourseManager();
+
+        CourseRemovalReport report = courseManager.removeCourses(courseCodes);
+        if (report.getCoursesRemoved() == 0) {
+            Logger.error("{}, {}, removeCourses, {} FAILURE (Error: No matching courses found)",
+                    System.currentTimeMillis(), currentEmail, courseCodes);
+            view.displayError("None of the given courses exist, nothing was removed");
+            return;
+        }
+
+        for (String recipientEmail : report.getRecipients()) {
+            email.sendEmail(currentEmail, recipientEmail,
+                    "Courses Removed - " + String.join(", ", report.getRemovedCourseCodes()),
+                    "The following Courses have been removed."
+            );
+        }
+        Logger.info("{}, {}, removeCourses, {} SUCCESS ({})",
+                System.currentTimeMillis(), currentEmail, courseCodes, report);
+        view.displaySuccess(report.toString());
+    }
+
+    /**
+     * Imports a catalog of courses from a JSON lines file and reports the lines that were rejected.
+     */
+    private void importCourses() {
+        view.displayInfo("=== Import Courses ===");
+        String path = view.getInput("Enter the path of the JSON lines catalog: ").trim();
+        String currentEmail = sharedContext.getCurrentUserEmail();
+
+        CatalogImportReport report;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            report = new CourseCatalogImporter(sharedContext.getCourseManager()).importCatalog(reader);
+        } catch (IOException | InvalidPathException e) {
+            Logger.error("{}, {}, importCourses, {} FAILURE (Error: {})",
+                    System.currentTimeMillis(), currentEmail, path, e.getMessage());
+            view.displayError("Catalog could not be read: " + e.getMessage());
+            return;
+        }
+
+        for (CatalogImportReport.Rejection rejection : report.getRejections()) {
+            view.displayWarning(rejection.toString());
+        }
+        Logger.info("{}, {}, importCourses, {} SUCCESS ({})",
+                System.currentTimeMillis(), currentEmail, path, report);
+        view.displaySuccess(report.toString());
+    }
+
+    /**
+     * Applies enrolments in bulk from a CSV file of student email, course code and optional activity ID,
+     * and reports how many were rejected and why.
+     */
+    private void importEnrolments() {
+        view.displayInfo("=== Import Enrolments ===");
+        String path = view.getInput("Enter the path of the enrolments CSV: ").trim();
+        String currentEmail = sharedContext.getCurrentUserEmail();
+
+        EnrolmentLoadReport report;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            report = new EnrolmentLoader(sharedContext.getCourseManager()).load(reader);
+        } catch (IOException | InvalidPathException e) {
+            Logger.error("{}, {}, importEnrolments, {} FAILURE (Error: {})",
+                    System.currentTimeMillis(), currentEmail, path, e.getMessage());
+            view.displayError("Enrolments could not be read: " + e.getMessage());
+            return;
+        }
+
+        for (String rejection : report.getRejectionSamples()) {
+            view.displayWarning(rejection);
+        }
+        Logger.info("{}, {}, importEnrolments, {} SUCCESS ({} tuples, {} rejected)",
+                System.currentTimeMillis(), currentEmail, path, report.getTuplesRead(), report.getRejected());
+        view.displaySuccess(report.toString());
+    }
+
     /**
      * Fills the provided CourseInfo object with course details gathered from the user.
      *
@@ -4,7 +4,7 @@ import external.AuthenticationService;
 import external.EmailService;
 import model.*;
 import org.apache.lucene.queryparser.classic.ParseException;
-import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.tinylog.Logger;
 import view.View;
 
 import java.io.IOException;
@@ -50,6 +50,8 @@ public class InquirerController extends Controller {
             if (currentSection == null) {
                 view.displayFAQ(sharedContext.getFAQ());
                 view.displayInfo("[-1] Return to main menu");
+                view.displayInfo("[-4] Search FAQ");
+                view.displayInfo("[-5] Go to FAQ item by number");
             } else {
                 view.displayFAQSection(currentSection);
                 view.displayInfo("[-1] Return to " + (currentSection.getParent() == null ? "FAQ" : currentSection.getParent().getTopic()));
@@ -64,6 +66,8 @@ public class InquirerController extends Controller {
                         view.displayInfo("[-2] Request updates for this topic");
                     }
                 }
+                view.displayInfo("[-4] Search FAQ");
+                view.displayInfo("[-5] Go to FAQ item by number");
             }
 
             String input = view.getInput("Please choose an option: ");
@@ -71,7 +75,11 @@ public class InquirerController extends Controller {
             try {
                 optionNo = Integer.parseInt(input);
 
-                if (optionNo != -1 && optionNo != -2 && optionNo != -3) {
+                if (optionNo == -4) {
+                    searchFAQ();
+                } else if (optionNo == -5) {
+                    currentSection = goToFAQItem(currentSection);
+                } else if (optionNo != -1 && optionNo != -2 && optionNo != -3) {
                     try {
                         if (currentSection == null) {
                             currentSection = sharedContext.getFAQ().getSections().get(optionNo);
@@ -107,6 +115,72 @@ public class InquirerController extends Controller {
         }
     }
 
+    /**
+     * Prompts the user for a search and displays the FAQ items that best match it, with the matching words
+     * of each question and answer highlighted.
+     */
+    private void searchFAQ() {
+        String query = view.getInput("Enter your search: ");
+        if (query.isBlank()) {
+            view.displayError("Search cannot be blank");
+            return;
+        }
+
+        List<FAQSearchResult> results;
+        long start = System.nanoTime();
+        try {
+            results = sharedContext.searchFAQ(query);
+        } catch (ParseException e) {
+            view.displayError("Invalid search: " + e.getMessage());
+            return;
+        } catch (IOException e) {
+            Logger.error("{}, {}, searchFAQ, {} FAILURE (Error: {})",
+                    System.currentTimeMillis(), sharedContext.getCurrentUserEmail(), query, e.getMessage());
+            view.displayError("FAQ search failed: " + e.getMessage());
+            return;
+        }
+        long elapsedMicros = (System.nanoTime() - start) / 1000;
+
+        if (results.isEmpty()) {
+            view.displayInfo("No FAQ items match '" + query + "'");
+            return;
+        }
+        for (FAQSearchResult result : results) {
+            view.displayInfo(result.toString());
+        }
+        view.displaySuccess(String.format("Found %d matching item(s) in %.1f ms", results.size(), elapsedMicros / 1000.0));
+    }
+
+    /**
+     * Prompts the user for an FAQ item number and displays that item, wherever it is in the FAQ.
+     *
+     * @param currentSection the section the user is browsing, or null at the top of the FAQ
+     * @return the section holding the item, or the current section if there is no such item
+     */
+    private FAQSection goToFAQItem(FAQSection currentSection) {
+        String input = view.getInput("Enter the FAQ item number: ");
+        int number;
+        try {
+            number = Integer.parseInt(input.strip().replaceFirst("^#", ""));
+        } catch (NumberFormatException e) {
+            view.displayError("Invalid FAQ item number: " + input);
+            return currentSection;
+        }
+
+        FAQ faq = sharedContext.getFAQ();
+        FAQItem item = faq.getItem(number);
+        FAQSection section = faq.getItemSection(number);
+        if (item == null || section == null) {
+            view.displayError("No FAQ item #" + number);
+            return currentSection;
+        }
+        view.displayInfo("#" + number + " [" + String.join(" > ", section.getPath()) + "]"
+                + (item.hasCourseTag() ? " (" + item.getCourseTag() + ")" : ""));
+        view.displayInfo("Q: " + item.getQuestion());
+        view.displayInfo("A: " + item.getAnswer());
+        return section;
+    }
+
     /**
      * Registers a user's email to receive updates for a specific FAQ topic.
      *
@@ -203,7 +277,8 @@ public class InquirerController extends Controller {
     }
 
     /**
-     * Sends the inquiry to the appropriate recipient via email based on the presence and validity of a course code.
+     * Checks the course code, if one was entered, and submits the inquiry through the intake queue, which emails
+     * the appropriate recipient once the inquiry is pending.
      *
      * @param inquirerEmail the inquirer's email
      * @param subject the inquiry subject
@@ -212,43 +287,33 @@ public class InquirerController extends Controller {
      * @param courseCode the course code (optional)
      */
     public void sendInquiry(String inquirerEmail, String subject, String text, boolean courseCodeEntered, String courseCode) {
+        if (courseCodeEntered && sharedContext.getCourseManager().getInquiryRoute(courseCode) == null) {
+            view.displayError("Not a valid course code");
+            return;
+        }
+
         Inquiry inquiry = new Inquiry(inquirerEmail, subject, text, courseCodeEntered ? courseCode : null);
-        sharedContext.inquiries.add(inquiry);
+        // Routing and the email to staff happen in the intake's consumer stage
+        sharedContext.submitInquiry(inquiry, this::notifyStaff);
+        view.displaySuccess("Your inquiry has been recorded. Someone will be in touch via email soon!");
+    }
 
-        String msgBody = "Subject: " + subject + System.lineSeparator() +
-                (courseCodeEntered ? "Course Code: " + courseCode + System.lineSeparator() : "") +
+    /**
+     * Emails the member of staff an inquiry was routed to, asking them to review it.
+     *
+     * @param inquiry   The new inquiry.
+     * @param recipient The email of the staff member responsible for the inquiry.
+     */
+    private void notifyStaff(Inquiry inquiry, String recipient) {
+        String msgBody = "Subject: " + inquiry.getSubject() + System.lineSeparator() +
+                (inquiry.hasCourseCode() ? "Course Code: " + inquiry.getCourseCode() + System.lineSeparator() : "") +
                 "Please log into the Self Service Portal to review and respond to inquiry.";
-        if (!courseCodeEntered) {
-            email.sendEmail(
-                    inquirerEmail,
-                    SharedContext.ADMIN_STAFF_EMAIL,
-                    "New inquiry from " + inquirerEmail,
-                    msgBody
-            );
-            view.displaySuccess("Your inquiry has been recorded. Someone will be in touch via email soon!");
-
-        } else {
-            //lookup courseCode
-            CourseManager courseManager = sharedContext.getCourseManager();
-            Course course = courseManager.getCourseByCode(courseCode);
-            System.out.println(courseCode);
-            courseManager.viewCourses();
-            if (course != null) {
-                SharedContext.COURSE_ORGANISER_EMAIL = course.getCourseOrganiserEmail();
-                email.sendEmail(
-                        //consult member of teaching staff responsible for that course
-                        inquirerEmail,
-                        SharedContext.COURSE_ORGANISER_EMAIL,
-                        "New inquiry from " + inquirerEmail,
-                        msgBody
-                );
-                view.displaySuccess("Your inquiry has been recorded. Someone will be in touch via email soon!");
-            } else {
-                view.displayError("Not a valid course code");
-
-            }
-
-        }
+        email.sendEmail(
+                inquiry.getInquirerEmail(),
+                recipient,
+                "New inquiry from " + inquiry.getInquirerEmail(),
+                msgBody
+        );
     }
 
     /**
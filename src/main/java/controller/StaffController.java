@@ -3,17 +3,31 @@ package controller;
 import external.AuthenticationService;
 import external.EmailService;
 import model.AuthenticatedUser;
+import model.FAQ;
+import model.FAQItem;
+import model.FAQSection;
 import model.Inquiry;
+import model.InquiryList;
+import model.InquiryPage;
 import model.SharedContext;
 import view.View;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Controller class responsible for handling actions by staff members,
  * such as viewing and responding to user inquiries.
  */
 public class StaffController extends Controller {
+    /** The number of inquiries listed on each page of an inquiry menu. */
+    protected static final int INQUIRY_PAGE_SIZE = 10;
+
+    private static final Pattern FAQ_ITEM_REFERENCE = Pattern.compile("FAQ #(\\d{1,9})\\b");
 
     /**
      * Constructs a new StaffController with the provided shared context, view, authentication, and email services.
@@ -43,18 +57,158 @@ public class StaffController extends Controller {
         return inquiryTitles;
     }
 
+    /**
+     * Lists pending inquiries a page at a time, oldest first, and lets the user choose one.
+     * Only the inquiries on the current page are fetched and displayed. The listing remembers its page and
+     * filters, so calling this again after handling an inquiry returns to the same place.
+     *
+     * @param listing the page and filters of the listing
+     * @param heading the heading displayed above each page
+     * @param exitOption the menu option for leaving the listing
+     * @return the chosen inquiry, or null if the user left the listing
+     */
+    protected Inquiry selectInquiry(InquiryListing listing, String heading, String exitOption) {
+        while (true) {
+            InquiryPage page = sharedContext.getInquiryPage(listing.cursor, INQUIRY_PAGE_SIZE, listing.courseCode,
+                    listing.assignedTo);
+            if (page.getInquiries().isEmpty() && listing.cursor != null) {
+                // Every inquiry from here on has been answered, so step back a page
+                listing.cursor = listing.previousCursors.remove(listing.previousCursors.size() - 1);
+                continue;
+            }
+
+            List<Inquiry> inquiries = page.getInquiries();
+            List<String> options = new ArrayList<>(List.of(getInquiryTitles(inquiries)));
+            int nextPageOption = -1;
+            int previousPageOption = -1;
+            int filterOption = -1;
+            if (page.hasNextPage()) {
+                nextPageOption = options.size();
+                options.add("Next page");
+            }
+            if (listing.cursor != null) {
+                previousPageOption = options.size();
+                options.add("Previous page");
+            }
+            if (listing.filterable) {
+                filterOption = options.size();
+                options.add("Filter inquiries");
+            }
+
+            view.displayInfo(heading + " - page " + (listing.previousCursors.size() + 1) + listing.describeFilters());
+            int selection = selectFromMenu(options.toArray(new String[0]), exitOption);
+            if (selection == -1) {
+                return null;
+            } else if (selection < inquiries.size()) {
+                return inquiries.get(selection);
+            } else if (selection == nextPageOption) {
+                listing.previousCursors.add(listing.cursor);
+                listing.cursor = page.getNextCursor();
+            } else if (selection == previousPageOption) {
+                listing.cursor = listing.previousCursors.remove(listing.previousCursors.size() - 1);
+            } else if (selection == filterOption) {
+                String courseCode = view.getInput("Filter by course code (leave blank for any course): ").strip();
+                String assignedTo = view.getInput(
+                        "Filter by assignee email (leave blank for anyone, 'none' for unassigned): ").strip();
+                listing.courseCode = courseCode.isEmpty() ? null : courseCode;
+                if (assignedTo.isEmpty()) {
+                    listing.assignedTo = null;
+                } else if (assignedTo.equalsIgnoreCase("none")) {
+                    listing.assignedTo = InquiryList.UNASSIGNED;
+                } else {
+                    listing.assignedTo = assignedTo;
+                }
+                listing.cursor = null;
+                listing.previousCursors.clear();
+            }
+        }
+    }
+
+    /**
+     * The current page and filters of an inquiry listing shown by {@link #selectInquiry}.
+     */
+    protected static final class InquiryListing {
+        private final boolean filterable;
+        private final List<String> previousCursors = new ArrayList<>();
+        private String cursor;
+        private String courseCode;
+        private String assignedTo;
+
+        /**
+         * Constructs a listing that starts at the first page.
+         *
+         * @param assignedTo the email of the staff member whose inquiries are listed, or null for all inquiries
+         * @param filterable whether the user can change the filters
+         */
+        protected InquiryListing(String assignedTo, boolean filterable) {
+            this.assignedTo = assignedTo;
+            this.filterable = filterable;
+        }
+
+        private String describeFilters() {
+            if (!filterable) {
+                return "";
+            }
+            StringBuilder description = new StringBuilder();
+            if (courseCode != null) {
+                description.append(", course ").append(courseCode);
+            }
+            if (InquiryList.UNASSIGNED.equals(assignedTo)) {
+                description.append(", unassigned");
+            } else if (assignedTo != null) {
+                description.append(", assigned to ").append(assignedTo);
+            }
+            return description.toString();
+        }
+    }
+
+    /**
+     * Appends the question and answer of every FAQ item referred to as "FAQ #n" in a message,
+     * so the recipient does not have to look them up.
+     *
+     * @param message the message text
+     * @return the message followed by the referenced FAQ items, or the message unchanged if it refers to none
+     */
+    protected String appendReferencedFAQItems(String message) {
+        Set<Integer> numbers = new LinkedHashSet<>();
+        Matcher matcher = FAQ_ITEM_REFERENCE.matcher(message);
+        while (matcher.find()) {
+            numbers.add(Integer.parseInt(matcher.group(1)));
+        }
+
+        FAQ faq = sharedContext.getFAQ();
+        StringBuilder builder = new StringBuilder(message);
+        for (int number : numbers) {
+            FAQItem item = faq.getItem(number);
+            FAQSection section = faq.getItemSection(number);
+            if (item == null || section == null) {
+                continue;
+            }
+            builder.append("\n\nFAQ #").append(number)
+                    .append(" [").append(String.join(" > ", section.getPath())).append("]")
+                    .append("\nQ: ").append(item.getQuestion())
+                    .append("\nA: ").append(item.getAnswer());
+        }
+        return builder.toString();
+    }
+
     /**
      * Allows a staff member to respond to a specific inquiry. Prompts for a subject and response body,
-     * sends an email to the inquirer, removes the inquiry from the system, and displays a success message.
+     * removes the inquiry from the system, sends an email to the inquirer, and displays a success message.
+     * FAQ items referred to as "FAQ #n" in the response are included in the email.
+     * If another member of staff answered the inquiry first, no email is sent.
      *
      * @param inquiry the inquiry to respond to
      */
     protected void respondToInquiry(Inquiry inquiry) {
         String subject = view.getInput("Enter subject: ");
-        String response = view.getInput("Enter response:\n");
+        String response = appendReferencedFAQItems(view.getInput("Enter response:\n"));
         String currentEmail = ((AuthenticatedUser) sharedContext.currentUser).getEmail();
+        if (!sharedContext.removeInquiry(inquiry)) {
+            view.displayError("Inquiry #" + inquiry.getId() + " has already been answered");
+            return;
+        }
         email.sendEmail(currentEmail, inquiry.getInquirerEmail(), subject, response);
-        sharedContext.inquiries.remove(inquiry);
         view.displaySuccess("Email response sent!");
     }
 }
@@ -7,9 +7,6 @@ import model.Inquiry;
 import model.SharedContext;
 import view.View;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Controller class for handling actions specific to teaching staff users.
  * Extends the general {@link StaffController} functionality to manage inquiries assigned to the current user.
@@ -30,26 +27,18 @@ public class TeachingStaffController extends StaffController {
 
     /**
      * Allows the teaching staff member to view and respond to inquiries assigned to them.
-     * Filters inquiries based on the current user's email, displays a menu of those inquiries,
+     * Reads the current user's queue of assigned inquiries, displays a page of those inquiries at a time,
      * and provides the ability to respond to selected ones.
      */
     public void manageReceivedInquiries() {
         String userEmail = ((AuthenticatedUser) sharedContext.currentUser).getEmail();
-        List<Inquiry> assignedInquiries = new ArrayList<>();
-        for (Inquiry inquiry : sharedContext.inquiries) {
-            if (userEmail.equals(inquiry.getAssignedTo())) {
-                assignedInquiries.add(inquiry);
-            }
-        }
-        String[] inquiryTitles = getInquiryTitles(assignedInquiries);
+        InquiryListing listing = new InquiryListing(userEmail, false);
 
         while (true) {
-            view.displayInfo("Assigned inquiries");
-            int selection = selectFromMenu(inquiryTitles, "Back to main menu");
-            if (selection == -1) {
+            Inquiry selectedInquiry = selectInquiry(listing, "Assigned inquiries", "Back to main menu");
+            if (selectedInquiry == null) {
                 return;
             }
-            Inquiry selectedInquiry = assignedInquiries.get(selection);
 
             while (true) {
                 view.displayDivider();
@@ -62,7 +51,6 @@ public class TeachingStaffController extends StaffController {
                     break;
                 } else if (followUpOptions[followUpSelection].equals("Respond to inquiry")) {
                     respondToInquiry(selectedInquiry);
-                    inquiryTitles = getInquiryTitles(sharedContext.inquiries); // required to remove responded inquiry from titles
                     break;
                 }
             }
@@ -59,6 +59,33 @@ public abstract class Activity {
         return id;
     }
 
+    /**
+     * Gets the start date of the activity.
+     *
+     * @return The start date of the activity.
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Gets the end date of the activity.
+     *
+     * @return The end date of the activity.
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Gets the location where the activity takes place.
+     *
+     * @return The location of the activity.
+     */
+    public String getLocation() {
+        return location;
+    }
+
     /**
      * Gets the start time of the activity.
      *
@@ -86,6 +113,15 @@ public abstract class Activity {
         return day;
     }
 
+    /**
+     * Checks if the activity is a lecture that is not recorded.
+     *
+     * @return true if the activity is an unrecorded lecture, false otherwise.
+     */
+    public boolean isUnrecordedLecture() {
+        return false;
+    }
+
     /**
      * Gets a formatted string representing the common details of the activity
      * (day, time range, and ID) to be displayed in a table row.
@@ -0,0 +1,48 @@
+package model;
+
+/**
+ * The ActivityClash class records a clash between an activity that is about to be added to a timetable
+ * and a time slot that has already been chosen in that timetable.
+ */
+public class ActivityClash {
+    private final Activity activity;
+    private final TimeSlot conflictingSlot;
+
+    /**
+     * Constructs an ActivityClash for the given activity and conflicting time slot.
+     *
+     * @param activity        The activity being added to the timetable.
+     * @param conflictingSlot The chosen time slot that the activity overlaps.
+     */
+    public ActivityClash(Activity activity, TimeSlot conflictingSlot) {
+        this.activity = activity;
+        this.conflictingSlot = conflictingSlot;
+    }
+
+    /**
+     * Gets the activity being added to the timetable.
+     *
+     * @return The activity involved in the clash.
+     */
+    public Activity getActivity() {
+        return activity;
+    }
+
+    /**
+     * Gets the chosen time slot that the activity overlaps.
+     *
+     * @return The conflicting time slot.
+     */
+    public TimeSlot getConflictingSlot() {
+        return conflictingSlot;
+    }
+
+    /**
+     * Checks if either side of the clash is a lecture that is not recorded.
+     *
+     * @return true if the clash involves an unrecorded lecture, false otherwise.
+     */
+    public boolean involvesUnrecordedLecture() {
+        return activity.isUnrecordedLecture() || conflictingSlot.isUnrecordedLecture();
+    }
+}
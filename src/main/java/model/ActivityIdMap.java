@@ -0,0 +1,146 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The ActivityIdMap class maps activity IDs to activities using open addressing over primitive int keys,
+ * so lookups never box the ID into an Integer. Collisions are resolved by linear probing, and removals
+ * shift later entries back so that no tombstones are left behind.
+ */
+public class ActivityIdMap {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] keys;
+    private Activity[] values;
+    private int size;
+
+    /**
+     * Constructs an empty ActivityIdMap.
+     */
+    public ActivityIdMap() {
+        this.keys = new int[INITIAL_CAPACITY];
+        this.values = new Activity[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Retrieves the activity with the given ID.
+     *
+     * @param id The ID of the activity.
+     * @return The activity with the given ID, or null if not found.
+     */
+    public Activity get(int id) {
+        int mask = keys.length - 1;
+        for (int i = slotFor(id, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == id) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if an activity with the given ID is in the map.
+     *
+     * @param id The ID of the activity.
+     * @return true if the map contains the ID, false otherwise.
+     */
+    public boolean containsKey(int id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Maps an activity ID to an activity, replacing any previous mapping for that ID.
+     *
+     * @param id       The ID of the activity.
+     * @param activity The activity to store.
+     * @return The activity previously mapped to the ID, or null if there was none.
+     */
+    public Activity put(int id, Activity activity) {
+        if ((size + 1) * 4 > keys.length * 3) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int i = slotFor(id, mask);
+        while (values[i] != null) {
+            if (keys[i] == id) {
+                Activity previous = values[i];
+                values[i] = activity;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = id;
+        values[i] = activity;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the mapping for the given activity ID.
+     *
+     * @param id The ID of the activity.
+     * @return The removed activity, or null if the ID was not mapped.
+     */
+    public Activity remove(int id) {
+        int mask = keys.length - 1;
+        int i = slotFor(id, mask);
+        while (values[i] != null && keys[i] != id) {
+            i = (i + 1) & mask;
+        }
+        if (values[i] == null) {
+            return null;
+        }
+        Activity removed = values[i];
+        values[i] = null;
+        size--;
+
+        // Shift back any following entries whose probe sequence passed through the freed slot
+        int free = i;
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = slotFor(keys[j], mask);
+            if (((j - home) & mask) >= ((j - free) & mask)) {
+                keys[free] = keys[j];
+                values[free] = values[j];
+                values[j] = null;
+                free = j;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every mapping from the map.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Gets the number of activities in the map.
+     *
+     * @return The number of mapped activities.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Activity[] oldValues = values;
+        keys = new int[capacity];
+        values = new Activity[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int slotFor(int id, int mask) {
+        // Spread the bits so that sequential and hashed IDs both distribute evenly
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,120 @@
+package model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The ActivityRegistry class allocates activity IDs and maps every registered activity ID back to the
+ * course and activity it belongs to. IDs come from a shared sequence that every allocation moves forward and
+ * every registration moves past the registered ID, so an ID is never handed out twice, even before the activity
+ * it was allocated for is registered or after it has been unregistered.
+ */
+public class ActivityRegistry {
+
+    private final AtomicInteger sequence;
+    private final ConcurrentMap<Integer, Registration> registrations;
+
+    /**
+     * The Registration class pairs a registered activity with the course it belongs to.
+     */
+    public static final class Registration {
+        private final Course course;
+        private final Activity activity;
+
+        private Registration(Course course, Activity activity) {
+            this.course = course;
+            this.activity = activity;
+        }
+
+        /**
+         * Gets the course the activity belongs to.
+         *
+         * @return The course of the activity.
+         */
+        public Course getCourse() {
+            return course;
+        }
+
+        /**
+         * Gets the registered activity.
+         *
+         * @return The activity.
+         */
+        public Activity getActivity() {
+            return activity;
+        }
+    }
+
+    /**
+     * Constructs an empty ActivityRegistry whose first allocated ID is 1.
+     */
+    public ActivityRegistry() {
+        this.sequence = new AtomicInteger(1);
+        this.registrations = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Allocates a new activity ID that has not been allocated or registered before.
+     *
+     * @return A unique activity ID.
+     */
+    public int nextId() {
+        return sequence.getAndIncrement();
+    }
+
+    /**
+     * Registers every activity of the given course.
+     *
+     * @param course The course whose activities are registered.
+     */
+    public void registerCourse(Course course) {
+        for (Activity activity : course.getActivities()) {
+            register(course, activity);
+        }
+    }
+
+    /**
+     * Registers an activity as belonging to the given course.
+     *
+     * @param course   The course the activity belongs to.
+     * @param activity The activity to register.
+     */
+    public void register(Course course, Activity activity) {
+        int id = activity.getId();
+        sequence.accumulateAndGet(id + 1, Math::max);
+        registrations.put(id, new Registration(course, activity));
+    }
+
+    /**
+     * Removes the registrations of every activity of the given course.
+     * Registrations of the same IDs by other courses are left in place.
+     *
+     * @param course The course whose activities are unregistered.
+     */
+    public void unregisterCourse(Course course) {
+        for (Activity activity : course.getActivities()) {
+            registrations.computeIfPresent(activity.getId(),
+                    (id, registration) -> registration.getCourse() == course ? null : registration);
+        }
+    }
+
+    /**
+     * Resolves an activity ID to its course and activity.
+     *
+     * @param activityId The ID of the activity.
+     * @return The registration for the activity, or null if the ID is not registered.
+     */
+    public Registration resolve(int activityId) {
+        return registrations.get(activityId);
+    }
+
+    /**
+     * Gets the number of registered activities.
+     *
+     * @return The number of registered activities.
+     */
+    public int size() {
+        return registrations.size();
+    }
+}
@@ -0,0 +1,137 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The CatalogImportReport class describes the outcome of importing a course catalog:
+ * which courses were added, which lines were rejected and why, and how long the import took.
+ */
+public class CatalogImportReport {
+    private final List<String> importedCourseCodes;
+    private final List<Rejection> rejections;
+    private final int linesRead;
+    private final long elapsedNanos;
+
+    /**
+     * The Rejection class describes one catalog line that could not be imported.
+     */
+    public static class Rejection {
+        private final int lineNumber;
+        private final String reason;
+
+        /**
+         * Constructs a Rejection for the given line.
+         *
+         * @param lineNumber The number of the rejected line, starting at 1.
+         * @param reason     Why the line was rejected.
+         */
+        public Rejection(int lineNumber, String reason) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+        }
+
+        /**
+         * Gets the number of the rejected line.
+         *
+         * @return The line number, starting at 1.
+         */
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * Gets the reason the line was rejected.
+         *
+         * @return The reason.
+         */
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * Provides the line number and reason of the rejection.
+         *
+         * @return A string describing the rejection.
+         */
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + ": " + reason;
+        }
+    }
+
+    /**
+     * Constructs a CatalogImportReport with the specified details.
+     *
+     * @param importedCourseCodes The codes of the courses added, in catalog order.
+     * @param rejections          The lines that could not be imported, in catalog order.
+     * @param linesRead           The number of lines read from the catalog, including blank lines.
+     * @param elapsedNanos        The time taken by the import in nanoseconds.
+     */
+    public CatalogImportReport(List<String> importedCourseCodes, List<Rejection> rejections, int linesRead,
+                               long elapsedNanos) {
+        this.importedCourseCodes = Collections.unmodifiableList(importedCourseCodes);
+        this.rejections = Collections.unmodifiableList(rejections);
+        this.linesRead = linesRead;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the codes of the courses added by the import.
+     *
+     * @return An unmodifiable list of course codes, in catalog order.
+     */
+    public List<String> getImportedCourseCodes() {
+        return importedCourseCodes;
+    }
+
+    /**
+     * Gets the lines that could not be imported.
+     *
+     * @return An unmodifiable list of rejections, in catalog order.
+     */
+    public List<Rejection> getRejections() {
+        return rejections;
+    }
+
+    /**
+     * Gets the number of lines read from the catalog.
+     *
+     * @return The number of lines, including blank lines.
+     */
+    public int getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * Gets the time taken by the import.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the import throughput.
+     *
+     * @return The number of courses imported per second, or 0 if no time was measured.
+     */
+    public double getCoursesPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return importedCourseCodes.size() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Provides a one-line summary of the import.
+     *
+     * @return A string describing the import.
+     */
+    @Override
+    public String toString() {
+        return String.format("Imported %d course(s), rejected %d line(s) in %.2f ms (%.0f courses/s)",
+                importedCourseCodes.size(), rejections.size(), elapsedNanos / 1_000_000.0, getCoursesPerSecond());
+    }
+}
@@ -0,0 +1,643 @@
+package model;
+
+import org.tinylog.Logger;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * The ContextSnapshot class saves the state of a {@link SharedContext} to a compact binary file and restores it.
+ * A snapshot holds the courses with their activities and members, every student timetable, the inquiries,
+ * the FAQ tree and the FAQ topic subscriptions. The logged-in user is not saved, and neither are timetables
+ * kept in a {@link MappedTimetableStore}, which persists them itself.
+ *
+ * <p>The file starts with a magic number, a format version and the generation of the {@link WriteAheadLog} the
+ * snapshot covers, and ends with a CRC32 of everything before it.
+ * Strings are interned as they are written: the first occurrence is written in full and later occurrences
+ * refer back to it by index, so repeated emails and course codes cost four bytes each.
+ * A snapshot is written to a temporary file and moved over the target, so a crash never leaves a torn file.
+ */
+public class ContextSnapshot {
+    /** The magic number at the start of every snapshot file, "HSPS" in ASCII. */
+    public static final int MAGIC = 0x48535053;
+    /** The snapshot format version written by this class. */
+    public static final short VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int NULL_STRING = -1;
+    private static final int MAX_STRING_BYTES = 1 << 24;
+
+    private static final byte LECTURE = 0;
+    private static final byte LAB = 1;
+    private static final byte TUTORIAL = 2;
+
+    private ContextSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot of the given context to a file, replacing any existing snapshot atomically.
+     * The snapshot covers no write-ahead log generation.
+     *
+     * @param context The context to save.
+     * @param path    The file to write the snapshot to.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public static void save(SharedContext context, Path path) throws IOException {
+        save(context, path, 0);
+    }
+
+    /**
+     * Writes a snapshot of the given context to a file, replacing any existing snapshot atomically.
+     *
+     * @param context       The context to save.
+     * @param path          The file to write the snapshot to.
+     * @param logGeneration The write-ahead log generation whose records the snapshot already contains.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public static void save(SharedContext context, Path path, long logGeneration) throws IOException {
+        Path target = path.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                write(context, Channels.newOutputStream(channel), logGeneration);
+                // The data must be on disk before the rename is, or a crash could leave a renamed but empty file
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            syncDirectory(target.getParent());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Forces a directory entry change, such as a rename, to disk. Some platforms cannot open a directory
+     * for this, in which case the rename is left to the file system.
+     *
+     * @param directory The directory to sync.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            Logger.warn("{}, syncDirectory, {} FAILURE (Warning: {})", System.currentTimeMillis(), directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Restores a snapshot file into the given context, which should be newly constructed.
+     *
+     * @param context The context to restore into.
+     * @param path    The snapshot file to read.
+     * @return The write-ahead log generation the snapshot covers.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    public static long load(SharedContext context, Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(context, in);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the given context to a stream. The stream is flushed but not closed.
+     * The snapshot covers no write-ahead log generation.
+     *
+     * @param context The context to save.
+     * @param out     The stream to write the snapshot to.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public static void write(SharedContext context, OutputStream out) throws IOException {
+        write(context, out, 0);
+    }
+
+    /**
+     * Writes a snapshot of the given context to a stream. The stream is flushed but not closed.
+     *
+     * @param context       The context to save.
+     * @param out           The stream to write the snapshot to.
+     * @param logGeneration The write-ahead log generation whose records the snapshot already contains.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public static void write(SharedContext context, OutputStream out, long logGeneration) throws IOException {
+        ChecksummedOutputStream checked = new ChecksummedOutputStream(out);
+        DataOutputStream data = new DataOutputStream(checked);
+        Writer writer = new Writer(data);
+
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeLong(logGeneration);
+        writer.writeCourses(context.getCourseManager());
+        writer.writeTimetables(context.getCourseManager());
+        writer.writeInquiries(context.inquiries);
+        writer.writeSections(context.getFAQ().getSections());
+        writer.writeSubscriptions(context.getFAQTopicSubscriptions());
+
+        data.writeLong(checked.checksum());
+        data.flush();
+    }
+
+    /**
+     * Restores a snapshot from a stream into the given context, which should be newly constructed.
+     *
+     * @param context The context to restore into.
+     * @param in      The stream to read the snapshot from.
+     * @return The write-ahead log generation the snapshot covers.
+     * @throws IOException If the stream cannot be read or does not hold a valid snapshot.
+     */
+    public static long read(SharedContext context, InputStream in) throws IOException {
+        ChecksummedInputStream checked = new ChecksummedInputStream(in);
+        DataInputStream data = new DataInputStream(checked);
+        Reader reader = new Reader(data);
+
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a snapshot file");
+        }
+        short version = data.readShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        long logGeneration = data.readLong();
+        try {
+            reader.readCourses(context.getCourseManager());
+            reader.readTimetables(context.getCourseManager());
+            reader.readInquiries(context.inquiries);
+            reader.readSections(context.getFAQ());
+            context.faqChanged();
+            reader.readSubscriptions(context);
+        } catch (RuntimeException e) {
+            // Damaged bytes show up as out-of-range values long before the checksum is reached
+            throw new IOException("Corrupt snapshot: " + e.getMessage(), e);
+        }
+
+        long expected = checked.checksum();
+        if (data.readLong() != expected) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        return logGeneration;
+    }
+
+    /**
+     * Writes a single course with its activities and members, as the courses section of a snapshot does.
+     *
+     * @param course The course to write.
+     * @param out    The stream to write to.
+     * @throws IOException If the course cannot be written.
+     */
+    static void writeCourse(Course course, DataOutputStream out) throws IOException {
+        new Writer(out).writeCourse(course);
+    }
+
+    /**
+     * Reads a single course written by {@link #writeCourse(Course, DataOutputStream)}.
+     *
+     * @param in The stream to read from.
+     * @return The course read.
+     * @throws IOException If the stream cannot be read or does not hold a valid course.
+     */
+    static Course readCourse(DataInputStream in) throws IOException {
+        try {
+            return new Reader(in).readCourse();
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt course: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the sections of a snapshot, interning strings as it goes.
+     */
+    private static final class Writer {
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void writeCourses(CourseManager courseManager) throws IOException {
+            out.writeInt(courseManager.getCourses().size());
+            for (Course course : courseManager.getCourses()) {
+                writeCourse(course);
+            }
+        }
+
+        private void writeCourse(Course course) throws IOException {
+            writeString(course.getCourseCode());
+            writeString(course.getName());
+            writeString(course.getDescription());
+            out.writeBoolean(course.getRequiresComputers());
+            writeString(course.getCourseOrganiserName());
+            writeString(course.getCourseOrganiserEmail());
+            writeString(course.getCourseSecretaryName());
+            writeString(course.getCourseSecretaryEmail());
+            out.writeInt(course.getRequiredTutorials());
+            out.writeInt(course.getRequiredLabs());
+
+            out.writeInt(course.getActivities().size());
+            for (Activity activity : course.getActivities()) {
+                writeActivity(activity);
+            }
+            out.writeInt(course.getMembers().size());
+            for (String member : course.getMembers()) {
+                writeString(member);
+            }
+        }
+
+        private void writeActivity(Activity activity) throws IOException {
+            if (activity instanceof Lecture) {
+                out.writeByte(LECTURE);
+            } else if (activity instanceof Lab) {
+                out.writeByte(LAB);
+            } else {
+                out.writeByte(TUTORIAL);
+            }
+            out.writeInt(activity.getId());
+            out.writeLong(activity.getStartDate().toEpochDay());
+            out.writeInt(activity.getStartTime().toSecondOfDay());
+            out.writeLong(activity.getEndDate().toEpochDay());
+            out.writeInt(activity.getEndTime().toSecondOfDay());
+            writeString(activity.getLocation());
+            out.writeByte(activity.getDay().ordinal());
+            if (activity instanceof Lecture) {
+                out.writeBoolean(((Lecture) activity).getRecorded());
+            } else if (activity instanceof Lab) {
+                out.writeInt(((Lab) activity).getCapacity());
+            } else {
+                out.writeInt(((Tutorial) activity).getCapacity());
+            }
+        }
+
+        private void writeTimetables(CourseManager courseManager) throws IOException {
+            if (courseManager.timetables.hasStore()) {
+                // Timetables kept in a store persist there and are not copied into the snapshot
+                out.writeInt(0);
+                return;
+            }
+            out.writeInt(courseManager.timetables.size());
+            for (Timetable timetable : courseManager.timetables.getTimetables()) {
+                writeString(timetable.getStudentEmail());
+                // Timetables restored but never used are written straight from their compact form
+                TimeSlotRecords slots = timetable.toRecords();
+                out.writeInt(slots.size());
+                for (int i = 0; i < slots.size(); i++) {
+                    out.writeInt(slots.getActivityId(i));
+                    out.writeInt(slots.getStartSecond(i));
+                    out.writeInt(slots.getEndSecond(i));
+                    out.writeByte(slots.getFlags(i));
+                    writeString(slots.getCourseCode(i));
+                }
+            }
+        }
+
+        private void writeInquiries(List<Inquiry> inquiries) throws IOException {
+            out.writeInt(inquiries.size());
+            for (Inquiry inquiry : inquiries) {
+                out.writeLong(inquiry.getId());
+                out.writeLong(inquiry.getCreatedAt().toLocalDate().toEpochDay());
+                out.writeLong(inquiry.getCreatedAt().toLocalTime().toNanoOfDay());
+                writeString(inquiry.getInquirerEmail());
+                writeString(inquiry.getSubject());
+                writeString(inquiry.getContent());
+                writeString(inquiry.hasCourseCode() ? inquiry.getCourseCode() : null);
+                writeString(inquiry.getAssignedTo());
+            }
+        }
+
+        private void writeSections(List<FAQSection> sections) throws IOException {
+            out.writeInt(sections.size());
+            for (FAQSection section : sections) {
+                writeString(section.getTopic());
+                out.writeInt(section.getItems().size());
+                for (FAQItem item : section.getItems()) {
+                    out.writeInt(item.getNumber());
+                    writeString(item.getQuestion());
+                    writeString(item.getAnswer());
+                    writeString(item.getCourseTag());
+                }
+                writeSections(section.getSubsections());
+            }
+        }
+
+        private void writeSubscriptions(Map<String, Set<String>> subscriptions) throws IOException {
+            out.writeInt(subscriptions.size());
+            for (Map.Entry<String, Set<String>> entry : subscriptions.entrySet()) {
+                writeString(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (String email : entry.getValue()) {
+                    writeString(email);
+                }
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(NULL_STRING);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                out.writeInt(index);
+                return;
+            }
+            // A new string takes the next index and is followed by its bytes
+            out.writeInt(strings.size());
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reads the sections of a snapshot, resolving interned strings as it goes.
+     */
+    private static final class Reader {
+        private static final DayOfWeek[] DAYS = DayOfWeek.values();
+
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        private Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        private void readCourses(CourseManager courseManager) throws IOException {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                courseManager.applyAddCourse(readCourse());
+            }
+        }
+
+        private Course readCourse() throws IOException {
+            Course course = new Course(readString(), readString(), readString(), in.readBoolean(),
+                    readString(), readString(), readString(), readString(), in.readInt(), in.readInt());
+            int activityCount = in.readInt();
+            for (int j = 0; j < activityCount; j++) {
+                readActivity(course);
+            }
+            int memberCount = in.readInt();
+            for (int j = 0; j < memberCount; j++) {
+                course.addMember(readString());
+            }
+            return course;
+        }
+
+        private void readActivity(Course course) throws IOException {
+            byte kind = in.readByte();
+            int id = in.readInt();
+            LocalDate startDate = LocalDate.ofEpochDay(in.readLong());
+            LocalTime startTime = LocalTime.ofSecondOfDay(in.readInt());
+            LocalDate endDate = LocalDate.ofEpochDay(in.readLong());
+            LocalTime endTime = LocalTime.ofSecondOfDay(in.readInt());
+            String location = readString();
+            DayOfWeek day = DAYS[in.readByte()];
+            switch (kind) {
+                case LECTURE -> course.addActivity(id, startDate, startTime, endDate, endTime, location, day,
+                        in.readBoolean(), "lecture");
+                case LAB -> course.addActivity(id, startDate, startTime, endDate, endTime, location, day,
+                        in.readInt(), "lab");
+                case TUTORIAL -> course.addActivity(id, startDate, startTime, endDate, endTime, location, day,
+                        in.readInt(), "tutorial");
+                default -> throw new IOException("Unknown activity kind " + kind);
+            }
+        }
+
+        private void readTimetables(CourseManager courseManager) throws IOException {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String studentEmail = readString();
+                int slotCount = in.readInt();
+                TimeSlotRecords slots = new TimeSlotRecords(slotCount);
+                for (int j = 0; j < slotCount; j++) {
+                    int activityId = in.readInt();
+                    int startSecond = readSecondOfDay();
+                    int endSecond = readSecondOfDay();
+                    int flags = in.readUnsignedByte();
+                    if (!TimeSlotRecords.isValidFlags(flags)) {
+                        throw new IOException("Corrupt time slot flags " + flags);
+                    }
+                    slots.add(activityId, startSecond, endSecond, flags, readString());
+                }
+                // The slots are only built into TimeSlots and indexed when the timetable is first used
+                courseManager.restoreTimetable(new Timetable(studentEmail, slots));
+            }
+        }
+
+        private void readInquiries(List<Inquiry> inquiries) throws IOException {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                LocalDateTime createdAt = LocalDateTime.of(
+                        LocalDate.ofEpochDay(in.readLong()), LocalTime.ofNanoOfDay(in.readLong()));
+                Inquiry inquiry = new Inquiry(id, readString(), readString(), readString(), readString(), createdAt);
+                inquiry.setAssignedTo(readString());
+                inquiries.add(inquiry);
+            }
+        }
+
+        private void readSections(FAQ faq) throws IOException {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                FAQSection section = readSection();
+                faq.addSection(section);
+            }
+        }
+
+        private FAQSection readSection() throws IOException {
+            FAQSection section = new FAQSection(readString());
+            int itemCount = in.readInt();
+            for (int i = 0; i < itemCount; i++) {
+                int number = in.readInt();
+                section.getItems().add(new FAQItem(readString(), readString(), readString(), number));
+            }
+            int subsectionCount = in.readInt();
+            for (int i = 0; i < subsectionCount; i++) {
+                section.addSubsection(readSection());
+            }
+            return section;
+        }
+
+        private void readSubscriptions(SharedContext context) throws IOException {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String topic = readString();
+                int subscriberCount = in.readInt();
+                for (int j = 0; j < subscriberCount; j++) {
+                    context.registerForFAQUpdates(readString(), topic);
+                }
+            }
+        }
+
+        private int readSecondOfDay() throws IOException {
+            int second = in.readInt();
+            if (second < 0 || second >= 24 * 60 * 60) {
+                throw new IOException("Corrupt time of day " + second);
+            }
+            return second;
+        }
+
+        private String readString() throws IOException {
+            int index = in.readInt();
+            if (index == NULL_STRING) {
+                return null;
+            }
+            if (index < strings.size()) {
+                return strings.get(index);
+            }
+            if (index != strings.size()) {
+                throw new IOException("Corrupt string reference " + index);
+            }
+            int length = in.readInt();
+            if (length < 0 || length > MAX_STRING_BYTES) {
+                throw new IOException("Corrupt string length " + length);
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+    }
+
+    /**
+     * A buffered output stream that computes a CRC32 of the bytes written through it.
+     * The checksum is updated a whole buffer at a time rather than once per byte.
+     */
+    private static final class ChecksummedOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final CRC32 crc = new CRC32();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int count;
+
+        private ChecksummedOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length > buffer.length - count) {
+                flushBuffer();
+            }
+            if (length >= buffer.length) {
+                crc.update(bytes, offset, length);
+                out.write(bytes, offset, length);
+                return;
+            }
+            System.arraycopy(bytes, offset, buffer, count, length);
+            count += length;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushBuffer();
+            out.flush();
+        }
+
+        /**
+         * Gets the checksum of every byte written so far.
+         * Bytes written afterwards, such as the checksum itself, are written out but not checksummed.
+         */
+        private long checksum() throws IOException {
+            flushBuffer();
+            return crc.getValue();
+        }
+
+        private void flushBuffer() throws IOException {
+            if (count > 0) {
+                crc.update(buffer, 0, count);
+                out.write(buffer, 0, count);
+                count = 0;
+            }
+        }
+    }
+
+    /**
+     * A buffered input stream that computes a CRC32 of the bytes read through it.
+     * The checksum covers exactly the bytes the caller has consumed, even though the buffer reads ahead.
+     */
+    private static final class ChecksummedInputStream extends InputStream {
+        private final InputStream in;
+        private final CRC32 crc = new CRC32();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        // The first buffered byte that has been consumed but not yet added to the checksum
+        private int checksummed;
+
+        private ChecksummedInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            int n = Math.min(length, limit - position);
+            System.arraycopy(buffer, position, bytes, offset, n);
+            position += n;
+            return n;
+        }
+
+        /**
+         * Gets the checksum of every byte consumed so far.
+         */
+        private long checksum() {
+            crc.update(buffer, checksummed, position - checksummed);
+            checksummed = position;
+            return crc.getValue();
+        }
+
+        private boolean fill() throws IOException {
+            crc.update(buffer, checksummed, position - checksummed);
+            int n = in.read(buffer, 0, buffer.length);
+            position = 0;
+            checksummed = 0;
+            limit = Math.max(n, 0);
+            return n > 0;
+        }
+    }
+}
@@ -14,7 +14,8 @@ import java.util.stream.Collectors;
 public class Course {
 
     private final List<Activity> activities;
-    private final List<String> members;
+    private final ActivityIdMap activitiesById;
+    private final Set<String> members;
     private final String courseCode;
     private final String name;
     private final String description;
@@ -25,6 +26,8 @@ public class Course {
     private final String courseSecretaryEmail;
     private final int requiredTutorials;
     private final int requiredLabs;
+    private ActivityRegistry activityRegistry;
+    private volatile String rendered; // Text returned by toString, cleared whenever the activities change
 
     /**
      * Constructs a Course object with the specified details.
@@ -55,7 +58,8 @@ public class Course {
         this.requiredTutorials = requiredTutorials;
         this.requiredLabs = requiredLabs;
         this.activities = new ArrayList<>();
-        this.members = new ArrayList<>();
+        this.activitiesById = new ActivityIdMap();
+        this.members = new LinkedHashSet<>();
     }
 
     /**
@@ -76,7 +80,7 @@ public class Course {
 
 
 
-        activities.add(new Lecture(activityId, startDate, startTime, endDate, endTime, location, day, isRecorded));
+        addActivity(new Lecture(activityId, startDate, startTime, endDate, endTime, location, day, isRecorded));
 
     }
 
@@ -96,28 +100,48 @@ public class Course {
      public void addActivity(int activityId, LocalDate startDate, LocalTime startTime, LocalDate endDate,
                         LocalTime endTime, String location, DayOfWeek day, int capacity, String type) {
 
-         if (Objects.equals(type, "lab")){activities.add(new Lab(activityId, startDate, startTime, endDate, endTime, location, day, capacity));}
-         if (Objects.equals(type, "tutorial")){activities.add(new Tutorial(activityId, startDate, startTime, endDate, endTime, location, day, capacity));}
+         if (Objects.equals(type, "lab")){addActivity(new Lab(activityId, startDate, startTime, endDate, endTime, location, day, capacity));}
+         if (Objects.equals(type, "tutorial")){addActivity(new Tutorial(activityId, startDate, startTime, endDate, endTime, location, day, capacity));}
 
     }
 
     /**
-     * Retrieves an activity by its unique ID.
+     * Adds an activity to the course and indexes it by its ID.
+     *
+     * @param activity The activity to add.
+     */
+    private void addActivity(Activity activity) {
+        activities.add(activity);
+        activitiesById.put(activity.getId(), activity);
+        rendered = null;
+        if (activityRegistry != null) {
+            activityRegistry.register(this, activity);
+        }
+    }
+
+    /**
+     * Sets the registry that activities added to this course are registered with.
+     * The course manager sets it while the course is in its catalog and clears it on removal.
+     *
+     * @param activityRegistry The registry to use, or null to stop registering new activities.
+     */
+    void setActivityRegistry(ActivityRegistry activityRegistry) {
+        this.activityRegistry = activityRegistry;
+    }
+
+    /**
+     * Retrieves an activity by its unique ID. The returned activity carries its day and time window,
+     * so callers needing several of these should read them from it rather than looking the ID up repeatedly.
      *
      * @param id The ID of the activity.
      * @return The activity with the specified ID, or null if not found.
      */
-    private Activity getActivity(int id) {
-        for (Activity activity : activities) {
-            if (activity.hasId(id)) {
-                return activity;
-            }
-        }
-        return null;
+    public Activity getActivity(int id) {
+        return activitiesById.get(id);
     }
 
     /**
-     * Adds a member to the course.
+     * Adds a member to the course. Adding a member that is already in the course has no effect.
      *
      * @param member The email or identifier of the member to add.
      */
@@ -126,12 +150,21 @@ public class Course {
     }
 
     /**
-     * Retrieves a list of all members enrolled in the course.
+     * Removes a member from the course.
      *
-     * @return A list of member identifiers.
+     * @param member The email or identifier of the member to remove.
      */
-    public List<String> getMembers(){
-        return members;
+    public void removeMember(String member){
+        members.remove(member);
+    }
+
+    /**
+     * Retrieves all members enrolled in the course, in the order they joined.
+     *
+     * @return An unmodifiable view of the member identifiers.
+     */
+    public Set<String> getMembers(){
+        return Collections.unmodifiableSet(members);
     }
 
     /**
@@ -139,25 +172,27 @@ public class Course {
      */
     public void removeActivities() {
         activities.clear();
+        activitiesById.clear();
+        rendered = null;
     }
 
     /**
-     * Checks if the course code matches the given code.
+     * Checks if the course code matches the given code, ignoring case.
      *
      * @param code The code to check.
      * @return true if the course code matches, false otherwise.
      */
     public boolean hasCode(String code) {
-        return this.courseCode.equals(code);
+        return this.courseCode.equalsIgnoreCase(code);
     }
 
     /**
      * Retrieves a list of all activities associated with the course.
      *
-     * @return A list of activities.
+     * @return An unmodifiable list of activities.
      */
     public List<Activity> getActivities() {
-        return activities;
+        return Collections.unmodifiableList(activities);
     }
 
     /**
@@ -168,10 +203,7 @@ public class Course {
      */
     public boolean isUnrecordedLecture(int activityId) {
         Activity activity = getActivity(activityId);
-            if (activity instanceof Lecture) {
-                return !(((Lecture) activity).getRecorded());
-            }
-        return false;
+        return activity != null && activity.isUnrecordedLecture();
     }
 
     /**
@@ -192,6 +224,51 @@ public class Course {
         return name;
     }
 
+    /**
+     * Gets the course description.
+     *
+     * @return The course description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Checks if the course requires computers.
+     *
+     * @return true if the course requires computers, false otherwise.
+     */
+    public boolean getRequiresComputers() {
+        return requiresComputers;
+    }
+
+    /**
+     * Gets the name of the course organiser.
+     *
+     * @return The name of the course organiser.
+     */
+    public String getCourseOrganiserName() {
+        return courseOrganiserName;
+    }
+
+    /**
+     * Gets the name of the course secretary.
+     *
+     * @return The name of the course secretary.
+     */
+    public String getCourseSecretaryName() {
+        return courseSecretaryName;
+    }
+
+    /**
+     * Gets the email of the course secretary.
+     *
+     * @return The email of the course secretary.
+     */
+    public String getCourseSecretaryEmail() {
+        return courseSecretaryEmail;
+    }
+
     /**
      * Gets the email of the course organiser.
      *
@@ -263,11 +340,26 @@ public class Course {
 
     /**
      * Represents the Course object as a formatted string, including its details and activities.
+     * The text is built once and reused until an activity is added or removed.
      *
      * @return A string representation of the course and its activities.
      */
     @Override
     public String toString() {
+        String text = rendered;
+        if (text == null) {
+            text = render();
+            rendered = text;
+        }
+        return text;
+    }
+
+    /**
+     * Formats the details and activities of the course, with the activities sorted by day and start time.
+     *
+     * @return A string representation of the course and its activities.
+     */
+    private String render() {
         StringBuilder sb = new StringBuilder();
 
         sb.append("========================================================================\n");
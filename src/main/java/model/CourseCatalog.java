@@ -0,0 +1,110 @@
+package model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The CourseCatalog class holds every course in the system, keyed by its canonical course code.
+ * Course codes are matched case-insensitively, so "comp12345" and "COMP12345" resolve to the same course.
+ * Lookups, insertions and removals run in constant time, and iteration follows insertion order.
+ */
+public class CourseCatalog {
+
+    private final Map<String, Course> coursesByCode;
+
+    /**
+     * Constructs an empty CourseCatalog.
+     */
+    public CourseCatalog() {
+        this.coursesByCode = new LinkedHashMap<>();
+    }
+
+    /**
+     * Converts a course code into the canonical form used as the catalog key.
+     *
+     * @param courseCode The course code to convert.
+     * @return The upper-cased course code, or null if the course code is null.
+     */
+    public static String canonicalCode(String courseCode) {
+        if (courseCode == null) {
+            return null;
+        }
+        return courseCode.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Adds a course to the catalog, replacing any course with the same canonical code.
+     *
+     * @param course The course to add.
+     * @return The course previously stored under the same code, or null if there was none.
+     */
+    public Course add(Course course) {
+        return coursesByCode.put(canonicalCode(course.getCourseCode()), course);
+    }
+
+    /**
+     * Retrieves a course by its course code.
+     *
+     * @param courseCode The code of the course to retrieve.
+     * @return The course with the given code, or null if no course is found.
+     */
+    public Course get(String courseCode) {
+        if (courseCode == null) {
+            return null;
+        }
+        return coursesByCode.get(canonicalCode(courseCode));
+    }
+
+    /**
+     * Checks if a course with the given course code exists in the catalog.
+     *
+     * @param courseCode The course code to check.
+     * @return true if the course exists, false otherwise.
+     */
+    public boolean contains(String courseCode) {
+        return get(courseCode) != null;
+    }
+
+    /**
+     * Removes a course from the catalog by its course code.
+     *
+     * @param courseCode The code of the course to remove.
+     * @return The removed course, or null if no course is found.
+     */
+    public Course remove(String courseCode) {
+        if (courseCode == null) {
+            return null;
+        }
+        return coursesByCode.remove(canonicalCode(courseCode));
+    }
+
+    /**
+     * Checks if the catalog contains no courses.
+     *
+     * @return true if the catalog is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return coursesByCode.isEmpty();
+    }
+
+    /**
+     * Gets the number of courses in the catalog.
+     *
+     * @return The number of courses.
+     */
+    public int size() {
+        return coursesByCode.size();
+    }
+
+    /**
+     * Retrieves all courses in the catalog in insertion order.
+     *
+     * @return An unmodifiable view of the courses.
+     */
+    public Collection<Course> getCourses() {
+        return Collections.unmodifiableCollection(coursesByCode.values());
+    }
+}
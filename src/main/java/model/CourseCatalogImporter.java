@@ -0,0 +1,303 @@
+package model;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The CourseCatalogImporter class loads many courses at once from a JSON lines catalog, one course per line,
+ * without going through the interactive flow. Each line holds the fields of {@link CourseInfo} under the same
+ * names, plus an "activities" array whose entries hold "type" (lab, tutorial or lecture), "startDate" and
+ * "endDate" (YYYY-MM-DD), "startTime" and "endTime" (HH:MM), "location", "day" (e.g. MONDAY), and "capacity"
+ * for labs and tutorials or "recorded" for lectures. Blank lines are skipped.
+ *
+ * <p>The catalog is streamed in batches. The lines of a batch are parsed and checked with
+ * {@link CourseManager#validCourseInfo(CourseInfo)} and {@link CourseManager#checkCourseCode(String)} in parallel,
+ * then the valid courses are added in line order and recorded in the write-ahead log together.
+ * Lines that cannot be imported are reported with the reason, as the interactive flow would report it.
+ */
+public class CourseCatalogImporter {
+    /** The number of lines validated and committed together when no batch size is given. */
+    public static final int DEFAULT_BATCH_SIZE = 512;
+
+    private static final String[] COURSE_INFO_FIELDS = {
+            "courseCode",
+            "name",
+            "description",
+            "courseOrganiserName",
+            "courseOrganiserEmail",
+            "courseSecretaryName",
+            "courseSecretaryEmail",
+            "requiredTutorials",
+            "requiredLabs"
+    };
+
+    // A parser allocates a sizeable lexer buffer, so each validating thread keeps and reuses its own
+    private static final ThreadLocal<JSONParser> PARSERS = ThreadLocal.withInitial(JSONParser::new);
+
+    private final CourseManager courseManager;
+    private final int batchSize;
+
+    /**
+     * Constructs a CourseCatalogImporter that adds courses to the given course manager in batches of the default size.
+     *
+     * @param courseManager The course manager to add the courses to.
+     */
+    public CourseCatalogImporter(CourseManager courseManager) {
+        this(courseManager, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a CourseCatalogImporter that adds courses to the given course manager.
+     *
+     * @param courseManager The course manager to add the courses to.
+     * @param batchSize     The number of lines validated and committed together.
+     */
+    public CourseCatalogImporter(CourseManager courseManager, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.courseManager = courseManager;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports every course in a JSON lines catalog.
+     *
+     * @param catalog The catalog to read. It is read to the end but not closed.
+     * @return A report of the courses imported and the lines rejected.
+     * @throws IOException If the catalog cannot be read.
+     */
+    public CatalogImportReport importCatalog(Reader catalog) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = catalog instanceof BufferedReader ? (BufferedReader) catalog : new BufferedReader(catalog);
+        List<String> importedCodes = new ArrayList<>();
+        List<CatalogImportReport.Rejection> rejections = new ArrayList<>();
+        Set<String> seenCodes = new HashSet<>();
+
+        List<CatalogLine> batch = new ArrayList<>(batchSize);
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            batch.add(new CatalogLine(lineNumber, line));
+            if (batch.size() == batchSize) {
+                commit(batch, seenCodes, importedCodes, rejections);
+                batch.clear();
+            }
+        }
+        commit(batch, seenCodes, importedCodes, rejections);
+
+        return new CatalogImportReport(importedCodes, rejections, lineNumber, System.nanoTime() - start);
+    }
+
+    /**
+     * Validates a batch of lines in parallel, then adds the valid courses in line order.
+     */
+    private void commit(List<CatalogLine> batch, Set<String> seenCodes, List<String> importedCodes,
+                        List<CatalogImportReport.Rejection> rejections) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<CatalogLine> parsed = batch.parallelStream().map(this::parse).collect(Collectors.toList());
+
+        List<Course> newCourses = new ArrayList<>();
+        for (CatalogLine catalogLine : parsed) {
+            if (catalogLine.reason == null) {
+                String courseCode = catalogLine.info.getCourseCode();
+                // Duplicates depend on earlier lines, so they are checked here rather than in parallel
+                if (courseManager.hasCourse(courseCode) || !seenCodes.add(courseCode)) {
+                    catalogLine.reason = "Course with that code already exists";
+                } else {
+                    newCourses.add(buildCourse(catalogLine));
+                    importedCodes.add(courseCode);
+                }
+            }
+            if (catalogLine.reason != null) {
+                rejections.add(new CatalogImportReport.Rejection(catalogLine.lineNumber, catalogLine.reason));
+            }
+        }
+        courseManager.addCoursesToCourseList(newCourses);
+    }
+
+    /**
+     * Parses and validates one line. Safe to run on several lines at once, as it only reads the course manager's
+     * validation rules.
+     */
+    private CatalogLine parse(CatalogLine catalogLine) {
+        JSONObject json;
+        try {
+            Object value = PARSERS.get().parse(catalogLine.text);
+            if (!(value instanceof JSONObject)) {
+                return catalogLine.reject("Line is not a JSON object");
+            }
+            json = (JSONObject) value;
+        } catch (ParseException e) {
+            return catalogLine.reject("Invalid JSON: " + e);
+        }
+
+        CourseInfo info = new CourseInfo();
+        for (String fieldName : COURSE_INFO_FIELDS) {
+            Object value = json.get(fieldName);
+            info.setField(fieldName, value == null ? "" : value.toString().trim());
+        }
+        Object requiresComputers = json.get("requiresComputers");
+        if (!(requiresComputers instanceof Boolean)) {
+            return catalogLine.reject("requiresComputers must be true or false");
+        }
+        info.setRequiresComputers((Boolean) requiresComputers);
+        catalogLine.info = info;
+
+        if (!courseManager.validCourseInfo(info)) {
+            return catalogLine.reject("Required course info not provided");
+        }
+        if (!courseManager.checkCourseCode(info.getCourseCode())) {
+            return catalogLine.reject("Provided courseCode is invalid");
+        }
+
+        Object activities = json.get("activities");
+        if (activities == null) {
+            return catalogLine;
+        }
+        if (!(activities instanceof JSONArray)) {
+            return catalogLine.reject("activities must be an array");
+        }
+        int index = 0;
+        for (Object activity : (JSONArray) activities) {
+            index++;
+            if (!(activity instanceof JSONObject)) {
+                return catalogLine.reject("Activity " + index + ": not a JSON object");
+            }
+            try {
+                catalogLine.activities.add(parseActivity((JSONObject) activity));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                return catalogLine.reject("Activity " + index + ": " + e.getMessage());
+            }
+        }
+        return catalogLine;
+    }
+
+    private ActivitySpec parseActivity(JSONObject json) {
+        ActivitySpec spec = new ActivitySpec();
+        spec.type = requireString(json, "type").toLowerCase(Locale.ROOT);
+        if (!spec.type.equals("lab") && !spec.type.equals("tutorial") && !spec.type.equals("lecture")) {
+            throw new IllegalArgumentException("Invalid type. Expected lab, tutorial, or lecture");
+        }
+        spec.startDate = LocalDate.parse(requireString(json, "startDate"));
+        spec.endDate = LocalDate.parse(requireString(json, "endDate"));
+        if (!spec.endDate.isAfter(spec.startDate)) {
+            throw new IllegalArgumentException("End date must be after the start date");
+        }
+        spec.startTime = LocalTime.parse(requireString(json, "startTime"));
+        spec.endTime = LocalTime.parse(requireString(json, "endTime"));
+        if (!spec.endTime.isAfter(spec.startTime)) {
+            throw new IllegalArgumentException("End time must be after the start time");
+        }
+        spec.location = requireString(json, "location");
+        try {
+            spec.day = DayOfWeek.valueOf(requireString(json, "day").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid day. Expected a day of the week (e.g., MONDAY)");
+        }
+        if (spec.type.equals("lecture")) {
+            Object recorded = json.get("recorded");
+            if (!(recorded instanceof Boolean)) {
+                throw new IllegalArgumentException("recorded must be true or false");
+            }
+            spec.recorded = (Boolean) recorded;
+        } else {
+            Object capacity = json.get("capacity");
+            if (!(capacity instanceof Long) || (Long) capacity < 0 || (Long) capacity > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("capacity must be a non-negative integer");
+            }
+            spec.capacity = ((Long) capacity).intValue();
+        }
+        return spec;
+    }
+
+    private static String requireString(JSONObject json, String key) {
+        Object value = json.get(key);
+        if (value == null || value.toString().isBlank()) {
+            throw new IllegalArgumentException(key + " cannot be empty");
+        }
+        return value.toString().trim();
+    }
+
+    /**
+     * Builds a validated course. Activity IDs are drawn here, in line order, so they follow the catalog.
+     */
+    private Course buildCourse(CatalogLine catalogLine) {
+        CourseInfo info = catalogLine.info;
+        Course course = new Course(
+                info.getCourseCode(), info.getName(),
+                info.getDescription(), info.getRequiresComputers(),
+                info.getCourseOrganiserName(), info.getCourseOrganiserEmail(),
+                info.getCourseSecretaryName(), info.getCourseSecretaryEmail(),
+                Integer.parseInt(info.getRequiredTutorials()), Integer.parseInt(info.getRequiredLabs())
+        );
+        for (ActivitySpec spec : catalogLine.activities) {
+            if (spec.type.equals("lecture")) {
+                course.addActivity(courseManager.generateActivityId(), spec.startDate, spec.startTime,
+                        spec.endDate, spec.endTime, spec.location, spec.day, spec.recorded, spec.type);
+            } else {
+                course.addActivity(courseManager.generateActivityId(), spec.startDate, spec.startTime,
+                        spec.endDate, spec.endTime, spec.location, spec.day, spec.capacity, spec.type);
+            }
+        }
+        return course;
+    }
+
+    /**
+     * One line of the catalog as it moves through validation.
+     */
+    private static final class CatalogLine {
+        private final int lineNumber;
+        private final String text;
+        private final List<ActivitySpec> activities = new ArrayList<>();
+        private CourseInfo info;
+        private String reason;
+
+        private CatalogLine(int lineNumber, String text) {
+            this.lineNumber = lineNumber;
+            this.text = text;
+        }
+
+        private CatalogLine reject(String reason) {
+            this.reason = reason;
+            return this;
+        }
+    }
+
+    /**
+     * The validated details of one activity, turned into an {@link Activity} once the course is committed.
+     */
+    private static final class ActivitySpec {
+        private String type;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private LocalTime startTime;
+        private LocalTime endTime;
+        private String location;
+        private DayOfWeek day;
+        private boolean recorded;
+        private int capacity;
+    }
+}
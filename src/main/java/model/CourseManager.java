@@ -3,7 +3,11 @@ import java.time.LocalTime;
 import java.time.LocalDate;
 import java.time.DayOfWeek;
 import java.time.format.DateTimeParseException;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Pattern;
 import view.View;
 import org.tinylog.Logger;
 import static java.lang.Math.abs;
@@ -15,8 +19,16 @@ import static java.lang.Math.abs;
  */
 public class CourseManager {
 
-    private final List<Course> courses;
-    public final List<Timetable> timetables;
+    private static final Pattern COURSE_CODE_PATTERN = Pattern.compile("^[A-Z]{4}\\d{5}$");
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
+
+    private final CourseCatalog courses;
+    private final CourseRoutingTable routes;
+    public final TimetableRegistry timetables;
+    private final ActivityRegistry activityRegistry;
+    private final EnrolmentIndex enrolments;
+    private final List<Timetable> unindexedTimetables;
+    private WriteAheadLog journal;
     View view;
 
     /**
@@ -25,18 +37,70 @@ public class CourseManager {
      * @param view The view used to interact with the user.
      */
     public CourseManager(View view) {
-        this.courses = new ArrayList<>();
-        this.timetables = new ArrayList<>();
+        this.courses = new CourseCatalog();
+        this.routes = new CourseRoutingTable();
+        this.timetables = new TimetableRegistry();
+        this.activityRegistry = new ActivityRegistry();
+        this.enrolments = new EnrolmentIndex();
+        this.unindexedTimetables = new ArrayList<>();
         this.view = view;
     }
 
+    /**
+     * Sets the write-ahead log that state-changing operations are appended to.
+     * Operations are not logged while no log is set, which is the case while a snapshot or log is being replayed.
+     *
+     * @param journal The log to append to, or null to stop logging.
+     */
+    public void setJournal(WriteAheadLog journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Checks if state-changing operations are currently appended to a write-ahead log.
+     *
+     * @return True if a log is set, false otherwise.
+     */
+    boolean isJournaling() {
+        return journal != null;
+    }
+
+    /**
+     * Appends a record to the write-ahead log, if one is set. A failed append is reported but does not undo
+     * the change, which is already visible in memory.
+     *
+     * @param record The record to append.
+     */
+    void journal(LogRecord record) {
+        journal(List.of(record));
+    }
+
+    /**
+     * Appends several records to the write-ahead log as one batch, if a log is set.
+     *
+     * @param records The records to append, in order.
+     */
+    void journal(List<LogRecord> records) {
+        if (journal == null || records.isEmpty()) {
+            return;
+        }
+        try {
+            journal.appendAll(records);
+        } catch (IOException e) {
+            Logger.error("{}, journal, {} record(s) from {} FAILURE (Error: {})", System.currentTimeMillis(),
+                    records.size(), records.get(0).getType(), e.getMessage());
+            view.displayError("Change could not be written to the log: " + e.getMessage());
+        }
+    }
+
     /**
      * Generates a unique activity ID for new activities.
+     * IDs come from a sequence and never collide with an activity already registered with this manager.
      *
      * @return A unique activity ID.
      */
     public int generateActivityId() {
-        return (UUID.randomUUID().hashCode());
+        return activityRegistry.nextId();
     }
 
     /**
@@ -149,20 +213,159 @@ public class CourseManager {
 
     /**
      * Removes a course by its course code.
+     * The course's slots are also removed from the timetable of every student who has the course.
      *
      * @param courseCode The code of the course to remove.
-     * @return An array of the course's members' emails.
+     * @return An array of the emails of the course's members and organiser, without duplicates.
      */
     public String[] removeCourse(String courseCode){
-        Course courseToRemove = getCourseByCode(courseCode);
+        if (!hasCourse(courseCode)) {
+            return new String[0];
+        }
+        String[] recipients = applyRemoveCourse(courseCode);
+        journal(LogRecord.removeCourse(courseCode));
+        return recipients;
+    }
+
+    /**
+     * Removes a course by its course code without logging the change.
+     *
+     * @param courseCode The code of the course to remove.
+     * @return An array of the emails of the course's members and organiser, without duplicates.
+     */
+    String[] applyRemoveCourse(String courseCode) {
+        Course courseToRemove = courses.remove(courseCode);
         if (courseToRemove == null) {
             return new String[0];
         }
-        List<String> members = courseToRemove.getMembers();
-        members.add(courseToRemove.getCourseOrganiserEmail());
-        courseToRemove.removeActivities();
-        courses.removeIf(course -> courseToRemove.hasCode(courseCode));
-        return (members.toArray(new String[0]));
+        routes.remove(courseCode);
+        Set<String> recipients = new LinkedHashSet<>();
+        for (String studentEmail : retireCourse(courseToRemove, recipients)) {
+            Timetable timetable = timetables.get(studentEmail);
+            if (timetable != null) {
+                timetable.removeSlotsForCourse(courseToRemove.getCourseCode());
+            }
+        }
+        return recipients.toArray(new String[0]);
+    }
+
+    /**
+     * Removes several courses at once.
+     * The affected timetables are found through the enrolment index and purged in parallel,
+     * each timetable being visited once however many of the removed courses it contains.
+     * Codes of courses that do not exist are ignored.
+     *
+     * @param courseCodes The codes of the courses to remove.
+     * @return A report holding the emails to notify, without duplicates, and the removal throughput.
+     */
+    public CourseRemovalReport removeCourses(Set<String> courseCodes) {
+        CourseRemovalReport report = applyRemoveCourses(courseCodes);
+        if (report.getCoursesRemoved() > 0) {
+            journal(LogRecord.removeCourses(courseCodes));
+        }
+        return report;
+    }
+
+    /**
+     * Removes several courses at once without logging the change.
+     *
+     * @param courseCodes The codes of the courses to remove.
+     * @return A report holding the emails to notify, without duplicates, and the removal throughput.
+     */
+    CourseRemovalReport applyRemoveCourses(Set<String> courseCodes) {
+        long start = System.nanoTime();
+        Set<String> recipients = new LinkedHashSet<>();
+        Map<String, List<String>> removedCodesByStudent = new HashMap<>();
+        List<String> removedCourseCodes = new ArrayList<>();
+
+        for (String courseCode : courseCodes) {
+            Course courseToRemove = courses.remove(courseCode);
+            if (courseToRemove == null) {
+                continue;
+            }
+            routes.remove(courseCode);
+            removedCourseCodes.add(courseToRemove.getCourseCode());
+            for (String studentEmail : retireCourse(courseToRemove, recipients)) {
+                removedCodesByStudent.computeIfAbsent(studentEmail, email -> new ArrayList<>())
+                        .add(courseToRemove.getCourseCode());
+            }
+        }
+
+        List<Map.Entry<Timetable, List<String>>> purges = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : removedCodesByStudent.entrySet()) {
+            Timetable timetable = timetables.get(entry.getKey());
+            if (timetable != null) {
+                purges.add(Map.entry(timetable, entry.getValue()));
+            }
+        }
+        int timetablesTouched = ForkJoinPool.commonPool().invoke(new TimetablePurgeTask(purges, 0, purges.size()));
+
+        return new CourseRemovalReport(recipients.toArray(new String[0]), removedCourseCodes, timetablesTouched,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Detaches a course that has already been taken out of the catalog from the rest of the system,
+     * collecting the emails to notify along the way. Timetables are left for the caller to purge.
+     *
+     * @param course     The removed course.
+     * @param recipients The set to which the members, enrolled students and organiser are added.
+     * @return The emails of the students who had the course in their timetable.
+     */
+    private Set<String> retireCourse(Course course, Set<String> recipients) {
+        recipients.addAll(course.getMembers());
+        Set<String> enrolledStudents = enrolments().removeCourse(course.getCourseCode());
+        recipients.addAll(enrolledStudents);
+        recipients.add(course.getCourseOrganiserEmail());
+        activityRegistry.unregisterCourse(course);
+        course.setActivityRegistry(null);
+        course.removeActivities();
+        return enrolledStudents;
+    }
+
+    /**
+     * The TimetablePurgeTask class removes course slots from a range of timetables, splitting the range
+     * in half until it is small enough to purge directly. Every timetable appears in only one range,
+     * so no two tasks ever modify the same timetable.
+     */
+    private static final class TimetablePurgeTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 64;
+
+        private final List<Map.Entry<Timetable, List<String>>> purges;
+        private final int from;
+        private final int to;
+
+        private TimetablePurgeTask(List<Map.Entry<Timetable, List<String>>> purges, int from, int to) {
+            this.purges = purges;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= THRESHOLD) {
+                int touched = 0;
+                for (int i = from; i < to; i++) {
+                    Map.Entry<Timetable, List<String>> purge = purges.get(i);
+                    Timetable timetable = purge.getKey();
+                    boolean wasHydrated = timetable.isHydrated();
+                    if (timetable.removeSlotsForCourses(purge.getValue())) {
+                        touched++;
+                    }
+                    // A bulk purge should not leave every idle timetable it visited built on the heap
+                    if (!wasHydrated) {
+                        timetable.evict();
+                    }
+                }
+                return touched;
+            }
+            int middle = (from + to) >>> 1;
+            TimetablePurgeTask left = new TimetablePurgeTask(purges, from, middle);
+            left.fork();
+            int right = new TimetablePurgeTask(purges, middle, to).compute();
+            return left.join() + right;
+        }
     }
 
     /**
@@ -219,7 +422,40 @@ public class CourseManager {
      * @param course The course to add.
      */
     public void addCourseToCourseList(Course course) {
-        courses.add(course);
+        applyAddCourse(course);
+        journal(LogRecord.addCourse(course));
+    }
+
+    /**
+     * Adds several courses to the list of courses, recording them in the write-ahead log as one batch.
+     *
+     * @param newCourses The courses to add.
+     */
+    public void addCoursesToCourseList(List<Course> newCourses) {
+        List<LogRecord> records = new ArrayList<>(newCourses.size());
+        for (Course course : newCourses) {
+            applyAddCourse(course);
+            if (journal != null) {
+                records.add(LogRecord.addCourse(course));
+            }
+        }
+        journal(records);
+    }
+
+    /**
+     * Adds the specified course to the list of courses without logging the change.
+     *
+     * @param course The course to add.
+     */
+    void applyAddCourse(Course course) {
+        Course replacedCourse = courses.add(course);
+        routes.put(course);
+        if (replacedCourse != null && replacedCourse != course) {
+            activityRegistry.unregisterCourse(replacedCourse);
+            replacedCourse.setActivityRegistry(null);
+        }
+        activityRegistry.registerCourse(course);
+        course.setActivityRegistry(activityRegistry);
     }
 
     /**
@@ -231,7 +467,7 @@ public class CourseManager {
                     System.currentTimeMillis());
             view.displayError("No courses found");
         } else {
-            for (Course course : courses){
+            for (Course course : courses.getCourses()){
                 view.displayCourse(course);
             }
             Logger.info("{}, viewCourse, SUCCESS", System.currentTimeMillis());
@@ -246,12 +482,12 @@ public class CourseManager {
      * @param courseCode The code of the course to view.
      */
     public void viewCourse(String courseCode) {
-        if (!hasCourse(courseCode)) {
+        Course findCourse = getCourseByCode(courseCode);
+        if (findCourse == null) {
             Logger.error("{}, {}, viewCourse, FAILURE (Error: Incorrect course code provided.)",
                     System.currentTimeMillis(), courseCode);
             view.displayError("Incorrect course code");
         } else {
-            Course findCourse = getCourseByCode(courseCode);
             view.displayInfo("------------------------");
             view.displayCourse(findCourse);
             view.displayInfo("------------------------");
@@ -268,7 +504,7 @@ public class CourseManager {
      * @return true if the course code is valid, false otherwise.
      */
     public boolean checkCourseCode(String courseCode){
-        return courseCode.matches("^[A-Z]{4}\\d{5}$");
+        return COURSE_CODE_PATTERN.matcher(courseCode).matches();
     }
 
     /**
@@ -278,7 +514,7 @@ public class CourseManager {
      * @return true if the email is valid, false otherwise.
      */
     public boolean checkEmailString(String email){
-        return email.matches("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
+        return EMAIL_PATTERN.matcher(email).matches();
     }
 
     /**
@@ -288,37 +524,71 @@ public class CourseManager {
      * @return true if the course exists, false otherwise.
      */
     public boolean hasCourse(String courseCode) {
-        for (Course course : courses) {
-            if (course.hasCode(courseCode)) {
-                return true;
-            }
+        return courses.contains(courseCode);
+    }
+
+    /**
+     * Gets the staff who handle inquiries about a course. The lookup is a single hash lookup that never
+     * waits for courses being added or removed.
+     *
+     * @param courseCode The course code of the inquiry.
+     * @return The route of the course, or null if no course has the code.
+     */
+    public CourseRoutingTable.Route getInquiryRoute(String courseCode) {
+        return routes.get(courseCode);
+    }
+
+    /**
+     * Retrieves every course in the system, in the order they were added.
+     *
+     * @return An unmodifiable view of the courses.
+     */
+    public Collection<Course> getCourses() {
+        return courses.getCourses();
+    }
+
+    /**
+     * Adds a previously saved timetable. The student's enrolments are recorded in the enrolment index
+     * the next time the index is used, so restoring many timetables stays cheap.
+     *
+     * @param timetable The timetable to restore.
+     */
+    void restoreTimetable(Timetable timetable) {
+        timetables.add(timetable);
+        synchronized (enrolments) {
+            unindexedTimetables.add(timetable);
         }
-        return false;
     }
 
     /**
-     * Checks if a timetable exists for a given student email.
+     * Keeps student timetables in an off-heap store from now on. Timetables already in the store are
+     * made available without being read; their enrolments are recorded when the enrolment index is next used.
+     * Should be called before any timetable is created or restored.
      *
-     * @param studentEmail The email of the student whose timetable is being checked.
-     * @return true if the timetable exists, false otherwise.
+     * @param store The store to keep timetables in.
      */
-    private boolean timetableExists(String studentEmail) {
-        return timetables.stream()
-                .anyMatch(t -> t.hasStudentEmail(studentEmail));
+    public void attachTimetableStore(MappedTimetableStore store) {
+        List<Timetable> added = timetables.attachStore(store);
+        synchronized (enrolments) {
+            unindexedTimetables.addAll(added);
+        }
     }
 
     /**
-     * Retrieves the timetable for a given student email.
+     * Gets the enrolment index, first recording the enrolments of any timetables restored since it was last used.
      *
-     * @param studentEmail The email of the student whose timetable is being retrieved.
-     * @return The Timetable object associated with the given student email.
-     * @throws NoSuchElementException if no timetable exists for the student.
+     * @return The up-to-date enrolment index.
      */
-    private Timetable getTimetable(String studentEmail) {
-        return timetables.stream()
-                .filter(t -> t.hasStudentEmail(studentEmail))
-                .findFirst()
-                .get();
+    private EnrolmentIndex enrolments() {
+        synchronized (enrolments) {
+            for (Timetable timetable : unindexedTimetables) {
+                for (String courseCode : timetable.getCourseCodes()) {
+                    enrolments.enrol(timetable.getStudentEmail(), courseCode);
+                }
+            }
+            unindexedTimetables.clear();
+        }
+        return enrolments;
     }
 
     /**
@@ -400,12 +670,7 @@ public class CourseManager {
      * @return The Course object associated with the given course code, or null if no course is found.
      */
     public Course getCourseByCode(String courseCode) {
-        for (Course course : courses) {
-            if (course.getCourseCode().equalsIgnoreCase(courseCode)) {
-                return course;
-            }
-        }
-        return null;
+        return courses.get(courseCode);
     }
 
     /**
@@ -417,36 +682,52 @@ public class CourseManager {
      * @param courseCode   The course code of the course to be removed.
      */
     public void removeCourseFromTimetable(String studentEmail, String courseCode) {
-        if (!hasCourse(courseCode)) {
+        Course courseToBeRemoved = getCourseByCode(courseCode);
+        if (courseToBeRemoved == null) {
             Logger.error("{}, {}, addCourseToStudentTimetable, {} FAILURE (Error: Incorrect course code provided.)",
                     System.currentTimeMillis(), studentEmail, courseCode);
             view.displayError("Incorrect course code");
             return;
         }
 
-        if (!timetableExists(studentEmail)) {
+        Timetable userTimetable = timetables.get(studentEmail);
+        if (userTimetable == null) {
             Logger.error("{}, {}, removeCourseFromTimetable, {} FAILURE (Error: Student does not have Timetable.)",
                     System.currentTimeMillis(), studentEmail, courseCode);
             view.displayError("Student does not have Timetable");
             return;
         }
 
-        Timetable userTimetable = getTimetable(studentEmail);
-
-        if (!userTimetable.hasSlotsForCourse(courseCode)) {
+        if (!userTimetable.hasSlotsForCourse(courseToBeRemoved.getCourseCode())) {
             Logger.error("{}, {}, removeCourseFromTimetable, {} FAILURE (Error: Course not in timetable.)",
                     System.currentTimeMillis(), studentEmail, courseCode);
             view.displayError("Course not in timetable");
             return;
         }
 
-        userTimetable.removeSlotsForCourse(courseCode);
+        applyRemoveCourseFromTimetable(studentEmail, courseToBeRemoved);
+        journal(LogRecord.removeCourseFromTimetable(studentEmail, courseToBeRemoved.getCourseCode()));
 
         Logger.info("{}, {}, removeCourseFromTimetable, {} SUCCESS", System.currentTimeMillis(), studentEmail, courseCode);
         view.displaySuccess("The course was successfully removed from your timetable");
 
     }
 
+    /**
+     * Removes a course's slots from a student's timetable and unenrols the student, without checks or logging.
+     *
+     * @param studentEmail The email of the student.
+     * @param course       The course to remove.
+     */
+    void applyRemoveCourseFromTimetable(String studentEmail, Course course) {
+        Timetable userTimetable = timetables.get(studentEmail);
+        if (userTimetable != null) {
+            userTimetable.removeSlotsForCourse(course.getCourseCode());
+        }
+        enrolments().unenrol(studentEmail, course.getCourseCode());
+        course.removeMember(studentEmail);
+    }
+
     /**
      * Adds a course to a student's timetable.
      * The method checks if the course exists, verifies there are no conflicts in the timetable,
@@ -457,70 +738,36 @@ public class CourseManager {
      * @param courseCode   The course code of the course to be added.
      */
     public void addCourseToStudentTimetable(String studentEmail, String courseCode) {
-        if (!hasCourse(courseCode)) {
-            Logger.error("{}, {}, addCourseToStudentTimetable, {} FAILURE (Error: Incorrect course code provided.)",
-                    System.currentTimeMillis(), studentEmail, courseCode);
-            view.displayError("Incorrect course code");
-            return;
-        }
-
         Course courseToBeAdded = getCourseByCode(courseCode);
-
-        Timetable userTimetable = null;
-
-        if (timetableExists(studentEmail)) {
-            userTimetable = getTimetable(studentEmail);
-        } else {
-            userTimetable = new Timetable(studentEmail);
-            timetables.add(userTimetable);
-        }
-
-        if (userTimetable.hasSlotsForCourse(courseCode)) {
-            Logger.error("{}, {}, addCourseToStudentTimetable, {} FAILURE (Error: Already added course to timetable)",
-                    System.currentTimeMillis(), studentEmail, courseCode);
-            view.displayError("Already added course to timetable");
-            return;
-        }
-
-        for (Activity activity : courseToBeAdded.getActivities()) {
-            String[] conflictingCourseCodeAndActivityId = userTimetable.checkConflicts(
-                    activity.getDay(),
-                    activity.getStartTime(),
-                    activity.getEndTime()
-            );
-
-            if (conflictingCourseCodeAndActivityId.length > 0) {
-                String conflictCourseCode = conflictingCourseCodeAndActivityId[0];
-                String conflictActivityId = conflictingCourseCodeAndActivityId[1];
-                boolean unrecordedLecture1 = courseToBeAdded.isUnrecordedLecture(activity.getId());
-                Course conflictingCourse = getCourseByCode(conflictCourseCode);
-                boolean unrecordedLecture2 = conflictingCourse.isUnrecordedLecture(Integer.parseInt(conflictActivityId));
-
-                if (unrecordedLecture1 || unrecordedLecture2) {
-                    Logger.error("{}, {}, addCourseToStudentTimetable, {} FAILURE (Error: at least one clash with an unrecorded lecture)",
-                            System.currentTimeMillis(), studentEmail, courseCode);
-                    view.displayError("You have at least one clash with an unrecorded lecture. The course cannot be added to your timetable.");
-                    return;
-
-                } else {
-                    Logger.warn("{}, {}, addCourseToStudentTimetable, {} FAILURE (Warning: at least one clash with another activity)",
-                            System.currentTimeMillis(), studentEmail, courseCode);
-                    view.displayWarning("You have at least one clash with another activity");
-                }
+        EnrolmentOutcome outcome = tryAddCourseToTimetable(studentEmail, courseToBeAdded);
+        switch (outcome) {
+            case INCORRECT_COURSE_CODE -> {
+                Logger.error("{}, {}, addCourseToStudentTimetable, {} FAILURE (Error: Incorrect course code provided.)",
+                        System.currentTimeMillis(), studentEmail, courseCode);
+                view.displayError("Incorrect course code");
+                return;
             }
-        }
-
-        for (Activity activity : courseToBeAdded.getActivities()) {
-            if (activity instanceof Lab) {
-                userTimetable.addTimeSlot(activity, courseCode, ActivityType.LAB);
+            case ALREADY_IN_TIMETABLE -> {
+                Logger.error("{}, {}, addCourseToStudentTimetable, {} FAILURE (Error: Already added course to timetable)",
+                        System.currentTimeMillis(), studentEmail, courseCode);
+                view.displayError("Already added course to timetable");
+                return;
             }
-            if  (activity instanceof Tutorial) {
-                userTimetable.addTimeSlot(activity, courseCode, ActivityType.TUTORIAL);
+            case UNRECORDED_LECTURE_CLASH -> {
+                Logger.error("{}, {}, addCourseToStudentTimetable, {} FAILURE (Error: at least one clash with an unrecorded lecture)",
+                        System.currentTimeMillis(), studentEmail, courseCode);
+                view.displayError("You have at least one clash with an unrecorded lecture. The course cannot be added to your timetable.");
+                return;
             }
-            if (activity instanceof Lecture) {
-                userTimetable.addTimeSlot(activity, courseCode, ActivityType.LECTURE);
+            case ADDED_WITH_CLASH -> {
+                Logger.warn("{}, {}, addCourseToStudentTimetable, {} FAILURE (Warning: at least one clash with another activity)",
+                        System.currentTimeMillis(), studentEmail, courseCode);
+                view.displayWarning("You have at least one clash with another activity");
+            }
+            default -> {
             }
         }
+        journal(LogRecord.addCourseToTimetable(studentEmail, courseToBeAdded.getCourseCode()));
 
         int requiredTutorials = courseToBeAdded.getRequiredTutorials();
         if (requiredTutorials > 0) {
@@ -537,13 +784,80 @@ public class CourseManager {
             view.displayWarning("You have to choose " + requiredLabs + " labs for this course ");
         }
 
-        courseToBeAdded.addMember(studentEmail); //This line adds student as a member so if the course is deleted the student will be emailed
-
         Logger.info("{}, {}, addCourseToStudentTimetable, {} SUCCESS", System.currentTimeMillis(), studentEmail, courseCode);
         view.displaySuccess("The course was successfully added to your timetable");
 
     }
 
+    /**
+     * Adds a course to a student's timetable if the timetable rules allow it, without messages or logging.
+     * The course is rejected if it is unknown, already in the timetable, or clashes with an unrecorded lecture;
+     * a clash with any other activity is allowed but reported.
+     *
+     * @param studentEmail The email of the student.
+     * @param course       The course to add, or null if no course matched the requested code.
+     * @return The outcome of the attempt.
+     */
+    EnrolmentOutcome tryAddCourseToTimetable(String studentEmail, Course course) {
+        if (course == null) {
+            return EnrolmentOutcome.INCORRECT_COURSE_CODE;
+        }
+
+        Timetable userTimetable = timetables.getOrCreate(studentEmail);
+        if (userTimetable.hasSlotsForCourse(course.getCourseCode())) {
+            return EnrolmentOutcome.ALREADY_IN_TIMETABLE;
+        }
+
+        List<ActivityClash> clashes = userTimetable.findConflicts(course.getActivities());
+        if (clashes.stream().anyMatch(ActivityClash::involvesUnrecordedLecture)) {
+            return EnrolmentOutcome.UNRECORDED_LECTURE_CLASH;
+        }
+
+        applyAddCourseToTimetable(studentEmail, course);
+        return clashes.isEmpty() ? EnrolmentOutcome.ADDED : EnrolmentOutcome.ADDED_WITH_CLASH;
+    }
+
+    /**
+     * Adds a course's activities to a student's timetable and enrols the student, without checks or logging.
+     * Nothing is added if the course is already in the timetable.
+     *
+     * @param studentEmail The email of the student.
+     * @param course       The course to add.
+     */
+    void applyAddCourseToTimetable(String studentEmail, Course course) {
+        Timetable userTimetable = timetables.getOrCreate(studentEmail);
+        if (userTimetable.hasSlotsForCourse(course.getCourseCode())) {
+            return;
+        }
+        for (Activity activity : course.getActivities()) {
+            if (activity instanceof Lab) {
+                userTimetable.addTimeSlot(activity, course.getCourseCode(), ActivityType.LAB);
+            }
+            if  (activity instanceof Tutorial) {
+                userTimetable.addTimeSlot(activity, course.getCourseCode(), ActivityType.TUTORIAL);
+            }
+            if (activity instanceof Lecture) {
+                userTimetable.addTimeSlot(activity, course.getCourseCode(), ActivityType.LECTURE);
+            }
+        }
+        course.addMember(studentEmail); //This line adds student as a member so if the course is deleted the student will be emailed
+        enrolments().enrol(studentEmail, course.getCourseCode());
+    }
+
+    /**
+     * Chooses an activity in a student's timetable without checks or logging.
+     *
+     * @param studentEmail The email of the student.
+     * @param courseCode   The course code of the course the activity belongs to.
+     * @param activityId   The ID of the activity to choose.
+     */
+    void applyChooseActivity(String studentEmail, String courseCode, int activityId) {
+        Timetable userTimetable = timetables.get(studentEmail);
+        if (userTimetable != null) {
+            userTimetable.chooseActivity(courseCode, activityId);
+        }
+    }
+
     /**
      * Allows a student to choose an activity for a course from their timetable.
      * The method validates the provided activity ID, checks for conflicts with existing activities,
@@ -567,68 +881,54 @@ public class CourseManager {
             return;
         }
 
-        if (!timetableExists(studentEmail)) {
-            Logger.error("{}, {}, chooseActivityForCourse, FAILURE (Error: Timetable does not exist)",
-                    System.currentTimeMillis(), studentEmail);
-            view.displayError("Timetable does not exist");
-            return;
-        }
-
-        Timetable userTimetable = getTimetable(studentEmail);
-
-        if (!hasCourse(courseCode)) {
-            Logger.error("{}, {}, chooseActivityForCourse, {} FAILURE (Error: Incorrect course code provided.)",
-                    System.currentTimeMillis(), studentEmail, courseCode);
-            view.displayError("Incorrect course code");
-            return;
-        }
-
-        Course courseToBeChosen = getCourseByCode(courseCode);
-
-        if (!userTimetable.hasSlotsForCourse(courseCode)) {
-            Logger.error("{}, {}, chooseActivityForCourse, {} FAILURE (Error: Course does not exist in timetable.)",
-                    System.currentTimeMillis(), studentEmail, courseCode);
-            view.displayError("Course does not exist in timetable");
-            return;
-        }
-
-        if (!userTimetable.hasSlotsForActivityId(activityId)) {
-            Logger.error("{}, {}, chooseActivityForCourse, {} FAILURE (Error: Activity does not exist in timetable.)",
-                    System.currentTimeMillis(), studentEmail, activityId);
-            view.displayError("Activity does not exist in timetable");
-            return;
-        }
-
-        String[] conflictingCourseCodeAndActivityId = userTimetable.checkConflicts(
-                courseToBeChosen.getActivityDay(activityId),
-                courseToBeChosen.getActivityStartTime(activityId),
-                courseToBeChosen.getActivityEndTime(activityId)
-        );
-
-        if (conflictingCourseCodeAndActivityId.length > 0) {
-            String conflictCourseCode = conflictingCourseCodeAndActivityId[0];
-            String conflictActivityId = conflictingCourseCodeAndActivityId[1];
-            Course conflictingCourse = getCourseByCode(conflictCourseCode);
-            boolean unrecordedLecture = conflictingCourse.isUnrecordedLecture(Integer.parseInt(conflictActivityId));
-
-            if (unrecordedLecture) {
+        EnrolmentOutcome outcome = tryChooseActivity(studentEmail, courseCode, activityId);
+        switch (outcome) {
+            case NO_TIMETABLE -> {
+                Logger.error("{}, {}, chooseActivityForCourse, FAILURE (Error: Timetable does not exist)",
+                        System.currentTimeMillis(), studentEmail);
+                view.displayError("Timetable does not exist");
+                return;
+            }
+            case INCORRECT_COURSE_CODE -> {
+                Logger.error("{}, {}, chooseActivityForCourse, {} FAILURE (Error: Incorrect course code provided.)",
+                        System.currentTimeMillis(), studentEmail, courseCode);
+                view.displayError("Incorrect course code");
+                return;
+            }
+            case COURSE_NOT_IN_TIMETABLE -> {
+                Logger.error("{}, {}, chooseActivityForCourse, {} FAILURE (Error: Course does not exist in timetable.)",
+                        System.currentTimeMillis(), studentEmail, courseCode);
+                view.displayError("Course does not exist in timetable");
+                return;
+            }
+            case ACTIVITY_NOT_IN_TIMETABLE -> {
+                Logger.error("{}, {}, chooseActivityForCourse, {} FAILURE (Error: Activity does not exist in timetable.)",
+                        System.currentTimeMillis(), studentEmail, activityId);
+                view.displayError("Activity does not exist in timetable");
+                return;
+            }
+            case UNRECORDED_LECTURE_CLASH -> {
                 Logger.error("{}, {}, chooseActivityForCourse, {} FAILURE (Error: at least one clash with an unrecorded lecture)",
                         System.currentTimeMillis(), studentEmail, courseCode);
                 view.displayError("You have at least one clash with an unrecorded lecture. The activity cannot be added to your timetable.");
                 return;
-
-            } else {
+            }
+            case ADDED_WITH_CLASH -> {
                 Logger.warn("{}, {}, chooseActivityForCourse, {} FAILURE (Warning: at least one clash with another activity)",
                         System.currentTimeMillis(), studentEmail, courseCode);
                 view.displayWarning("You have at least one clash with another activity");
             }
+            default -> {
+            }
         }
 
-        userTimetable.chooseActivity(courseCode, activityId);
+        Timetable userTimetable = timetables.get(studentEmail);
+        Course courseToBeChosen = findCourseOfActivity(courseCode, activityId);
+        journal(LogRecord.chooseActivity(studentEmail, courseToBeChosen.getCourseCode(), activityId));
 
         if (userTimetable.isIdTutorial(activityId)) {
-            int requiredTutorials = getCourseByCode(courseCode).getRequiredTutorials();
-            int chosenTutorials = userTimetable.numChosenTutorialInTimeSlots(courseCode);
+            int requiredTutorials = courseToBeChosen.getRequiredTutorials();
+            int chosenTutorials = userTimetable.numChosenTutorialInTimeSlots(courseToBeChosen.getCourseCode());
             int requiredVsChosenTutorial = requiredTutorials - chosenTutorials;
             if (requiredVsChosenTutorial > 0) {
                 Logger.warn("{}, {}, chooseActivityForCourse, {} FAILURE (Warning: number of required tutorials {} not yet chosen)",
@@ -644,8 +944,8 @@ public class CourseManager {
         }
 
         if (userTimetable.isIdLab(activityId)) {
-            int requiredLabs = getCourseByCode(courseCode).getRequiredLabs();
-            int chosenLabs = userTimetable.numChosenLabInTimeSlots(courseCode);
+            int requiredLabs = courseToBeChosen.getRequiredLabs();
+            int chosenLabs = userTimetable.numChosenLabInTimeSlots(courseToBeChosen.getCourseCode());
             int requiredVsChosenLab = requiredLabs - chosenLabs;
             if (requiredVsChosenLab > 0) {
                 Logger.warn("{}, {}, chooseActivityForCourse, {} FAILURE (Warning: number of required labs {} not yet chosen)",
@@ -664,6 +964,64 @@ public class CourseManager {
         view.displaySuccess("The activity was successfully added to your timetable");
     }
 
+    /**
+     * Chooses an activity in a student's timetable if the timetable rules allow it, without messages or logging.
+     * The activity is rejected if the timetable, course or activity is unknown, or if it clashes with an
+     * unrecorded lecture; a clash with any other activity is allowed but reported.
+     *
+     * @param studentEmail The email of the student.
+     * @param courseCode   The course code of the course the activity belongs to.
+     * @param activityId   The ID of the activity to choose.
+     * @return The outcome of the attempt.
+     */
+    EnrolmentOutcome tryChooseActivity(String studentEmail, String courseCode, int activityId) {
+        Timetable userTimetable = timetables.get(studentEmail);
+        if (userTimetable == null) {
+            return EnrolmentOutcome.NO_TIMETABLE;
+        }
+
+        Course courseToBeChosen = findCourseOfActivity(courseCode, activityId);
+        if (courseToBeChosen == null) {
+            return EnrolmentOutcome.INCORRECT_COURSE_CODE;
+        }
+        if (!userTimetable.hasSlotsForCourse(courseToBeChosen.getCourseCode())) {
+            return EnrolmentOutcome.COURSE_NOT_IN_TIMETABLE;
+        }
+
+        Activity activityToBeChosen = courseToBeChosen.getActivity(activityId);
+        if (activityToBeChosen == null || !userTimetable.hasSlotsForActivityId(activityId)) {
+            return EnrolmentOutcome.ACTIVITY_NOT_IN_TIMETABLE;
+        }
+
+        List<TimeSlot> conflicts = userTimetable.findConflicts(
+                activityToBeChosen.getDay(),
+                activityToBeChosen.getStartTime(),
+                activityToBeChosen.getEndTime()
+        );
+        if (conflicts.stream().anyMatch(TimeSlot::isUnrecordedLecture)) {
+            return EnrolmentOutcome.UNRECORDED_LECTURE_CLASH;
+        }
+
+        userTimetable.chooseActivity(courseToBeChosen.getCourseCode(), activityId);
+        return conflicts.isEmpty() ? EnrolmentOutcome.ADDED : EnrolmentOutcome.ADDED_WITH_CLASH;
+    }
+
+    /**
+     * Finds the course an activity belongs to, resolving it straight from the registry and falling back to the
+     * catalog for unregistered IDs.
+     *
+     * @param courseCode The course code the activity is expected to belong to.
+     * @param activityId The ID of the activity.
+     * @return The course with the given code, or null if there is none.
+     */
+    private Course findCourseOfActivity(String courseCode, int activityId) {
+        ActivityRegistry.Registration registration = activityRegistry.resolve(activityId);
+        if (registration != null && registration.getCourse().hasCode(courseCode)) {
+            return registration.getCourse();
+        }
+        return getCourseByCode(courseCode);
+    }
+
     /**
      * Prints the timetable of a student.
      * If the student's timetable exists, it is displayed; otherwise, an error message is shown.
@@ -672,8 +1030,8 @@ public class CourseManager {
      * @param view  The view used to display the timetable to the user.
      */
     public void printTimetable(String email, View view) {
-        if (timetableExists(email)) {
-            Timetable userTimetable = getTimetable(email);
+        Timetable userTimetable = timetables.get(email);
+        if (userTimetable != null) {
             view.displayTimetable(userTimetable);
             Logger.info("{}, {}, printTimetable, SUCCESS", System.currentTimeMillis(), email);
             view.displaySuccess("Successfully printed timetable");
@@ -0,0 +1,98 @@
+package model;
+
+import java.util.List;
+
+/**
+ * The CourseRemovalReport class describes the outcome of removing several courses at once:
+ * who must be notified, how much was removed and how long it took.
+ */
+public class CourseRemovalReport {
+    private final String[] recipients;
+    private final List<String> removedCourseCodes;
+    private final int timetablesTouched;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a CourseRemovalReport with the specified details.
+     *
+     * @param recipients         The emails to notify about the removal, without duplicates.
+     * @param removedCourseCodes The codes of the courses that were removed, in the order they were removed.
+     * @param timetablesTouched  The number of timetables that had slots removed.
+     * @param elapsedNanos       The time taken by the removal in nanoseconds.
+     */
+    public CourseRemovalReport(String[] recipients, List<String> removedCourseCodes, int timetablesTouched,
+                               long elapsedNanos) {
+        this.recipients = recipients;
+        this.removedCourseCodes = List.copyOf(removedCourseCodes);
+        this.timetablesTouched = timetablesTouched;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the emails to notify about the removal.
+     *
+     * @return The recipient emails, without duplicates.
+     */
+    public String[] getRecipients() {
+        return recipients;
+    }
+
+    /**
+     * Gets the codes of the courses that were removed. Requested codes of courses that did not exist are left out.
+     *
+     * @return An unmodifiable list of the removed course codes.
+     */
+    public List<String> getRemovedCourseCodes() {
+        return removedCourseCodes;
+    }
+
+    /**
+     * Gets the number of courses that were removed.
+     *
+     * @return The number of removed courses.
+     */
+    public int getCoursesRemoved() {
+        return removedCourseCodes.size();
+    }
+
+    /**
+     * Gets the number of timetables that had slots removed.
+     *
+     * @return The number of touched timetables.
+     */
+    public int getTimetablesTouched() {
+        return timetablesTouched;
+    }
+
+    /**
+     * Gets the time taken by the removal.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the removal throughput.
+     *
+     * @return The number of courses removed per second, or 0 if no time was measured.
+     */
+    public double getCoursesPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return getCoursesRemoved() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Provides a one-line summary of the removal.
+     *
+     * @return A string describing the removal.
+     */
+    @Override
+    public String toString() {
+        return String.format("Removed %d course(s), updated %d timetable(s) in %.2f ms (%.0f courses/s)",
+                getCoursesRemoved(), timetablesTouched, elapsedNanos / 1_000_000.0, getCoursesPerSecond());
+    }
+}
@@ -0,0 +1,101 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The CourseRoutingTable class maps each course code to the staff who handle inquiries about the course, so that
+ * an inquiry is routed with a single hash lookup. The table is kept up to date by the {@link CourseManager}
+ * whenever a course is added, replaced or removed.
+ *
+ * <p>Routes are immutable and lookups never wait for updates, so any number of inquirers and the inquiry
+ * intake can route inquiries while courses change. Course codes are matched case-insensitively, like the
+ * {@link CourseCatalog}.
+ */
+public class CourseRoutingTable {
+    private final Map<String, Route> routesByCode = new ConcurrentHashMap<>();
+
+    /**
+     * Adds or replaces the route of a course.
+     *
+     * @param course The course whose staff inquiries go to.
+     */
+    void put(Course course) {
+        routesByCode.put(CourseCatalog.canonicalCode(course.getCourseCode()), new Route(course));
+    }
+
+    /**
+     * Removes the route of a course.
+     *
+     * @param courseCode The code of the removed course.
+     */
+    void remove(String courseCode) {
+        if (courseCode != null) {
+            routesByCode.remove(CourseCatalog.canonicalCode(courseCode));
+        }
+    }
+
+    /**
+     * Gets the route of inquiries about a course.
+     *
+     * @param courseCode The course code of the inquiry.
+     * @return The route, or null if no course has the code.
+     */
+    public Route get(String courseCode) {
+        if (courseCode == null) {
+            return null;
+        }
+        return routesByCode.get(CourseCatalog.canonicalCode(courseCode));
+    }
+
+    /**
+     * Gets the number of routed courses.
+     *
+     * @return The number of routes.
+     */
+    public int size() {
+        return routesByCode.size();
+    }
+
+    /**
+     * The Route class holds the staff of one course who handle inquiries about it.
+     */
+    public static final class Route {
+        private final String courseCode;
+        private final String organiserEmail;
+        private final String secretaryEmail;
+
+        private Route(Course course) {
+            this.courseCode = course.getCourseCode();
+            this.organiserEmail = course.getCourseOrganiserEmail();
+            this.secretaryEmail = course.getCourseSecretaryEmail();
+        }
+
+        /**
+         * Gets the code of the course, as it was given when the course was added.
+         *
+         * @return The course code.
+         */
+        public String getCourseCode() {
+            return courseCode;
+        }
+
+        /**
+         * Gets the email of the course organiser, who is notified of new inquiries about the course.
+         *
+         * @return The organiser's email.
+         */
+        public String getOrganiserEmail() {
+            return organiserEmail;
+        }
+
+        /**
+         * Gets the email of the course secretary.
+         *
+         * @return The secretary's email.
+         */
+        public String getSecretaryEmail() {
+            return secretaryEmail;
+        }
+    }
+}
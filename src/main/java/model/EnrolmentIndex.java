@@ -0,0 +1,131 @@
+package model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The EnrolmentIndex class records which courses each student has in their timetable, in both directions:
+ * student to courses and course to students. Course codes are stored in their canonical form,
+ * so lookups ignore case in the same way as the {@link CourseCatalog}.
+ *
+ * <p>Both directions are updated together under the index's lock, so students enrolling from several sessions
+ * at once never see one direction without the other. Lookups return copies that stay valid after the lock
+ * is released.
+ */
+public class EnrolmentIndex {
+
+    private final Map<String, Set<String>> coursesByStudent;
+    private final Map<String, Set<String>> studentsByCourse;
+
+    /**
+     * Constructs an empty EnrolmentIndex.
+     */
+    public EnrolmentIndex() {
+        this.coursesByStudent = new HashMap<>();
+        this.studentsByCourse = new HashMap<>();
+    }
+
+    /**
+     * Records that a student has a course in their timetable.
+     *
+     * @param studentEmail The email of the student.
+     * @param courseCode   The code of the course.
+     * @return true if the enrolment was new, false if it was already recorded.
+     */
+    public synchronized boolean enrol(String studentEmail, String courseCode) {
+        String code = CourseCatalog.canonicalCode(courseCode);
+        if (!coursesByStudent.computeIfAbsent(studentEmail, email -> new LinkedHashSet<>(4)).add(code)) {
+            return false;
+        }
+        studentsByCourse.computeIfAbsent(code, c -> new LinkedHashSet<>()).add(studentEmail);
+        return true;
+    }
+
+    /**
+     * Removes the record of a student having a course in their timetable.
+     *
+     * @param studentEmail The email of the student.
+     * @param courseCode   The code of the course.
+     * @return true if the enrolment was recorded, false otherwise.
+     */
+    public synchronized boolean unenrol(String studentEmail, String courseCode) {
+        String code = CourseCatalog.canonicalCode(courseCode);
+        Set<String> studentCourses = coursesByStudent.get(studentEmail);
+        if (studentCourses == null || !studentCourses.remove(code)) {
+            return false;
+        }
+        if (studentCourses.isEmpty()) {
+            coursesByStudent.remove(studentEmail);
+        }
+        Set<String> courseStudents = studentsByCourse.get(code);
+        courseStudents.remove(studentEmail);
+        if (courseStudents.isEmpty()) {
+            studentsByCourse.remove(code);
+        }
+        return true;
+    }
+
+    /**
+     * Removes every enrolment in a course.
+     *
+     * @param courseCode The code of the course.
+     * @return The emails of the students who were enrolled, in enrolment order.
+     */
+    public synchronized Set<String> removeCourse(String courseCode) {
+        String code = CourseCatalog.canonicalCode(courseCode);
+        Set<String> students = studentsByCourse.remove(code);
+        if (students == null) {
+            return Collections.emptySet();
+        }
+        for (String student : students) {
+            Set<String> studentCourses = coursesByStudent.get(student);
+            studentCourses.remove(code);
+            if (studentCourses.isEmpty()) {
+                coursesByStudent.remove(student);
+            }
+        }
+        return Collections.unmodifiableSet(students);
+    }
+
+    /**
+     * Checks if a student has a course in their timetable.
+     *
+     * @param studentEmail The email of the student.
+     * @param courseCode   The code of the course.
+     * @return true if the enrolment is recorded, false otherwise.
+     */
+    public synchronized boolean isEnrolled(String studentEmail, String courseCode) {
+        Set<String> studentCourses = coursesByStudent.get(studentEmail);
+        return studentCourses != null && studentCourses.contains(CourseCatalog.canonicalCode(courseCode));
+    }
+
+    /**
+     * Retrieves the codes of the courses a student has in their timetable.
+     *
+     * @param studentEmail The email of the student.
+     * @return An unmodifiable copy of the canonical course codes, empty if the student has none.
+     */
+    public synchronized Set<String> getCourses(String studentEmail) {
+        return copyOf(coursesByStudent.get(studentEmail));
+    }
+
+    /**
+     * Retrieves the emails of the students who have a course in their timetable.
+     *
+     * @param courseCode The code of the course.
+     * @return An unmodifiable copy of the student emails, empty if no student has the course.
+     */
+    public synchronized Set<String> getStudents(String courseCode) {
+        return copyOf(studentsByCourse.get(CourseCatalog.canonicalCode(courseCode)));
+    }
+
+    private static Set<String> copyOf(Set<String> values) {
+        if (values == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new LinkedHashSet<>(values));
+    }
+}
@@ -0,0 +1,148 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The EnrolmentLoadReport class describes the outcome of loading enrolments in bulk: how many tuples ended
+ * with each {@link EnrolmentOutcome}, a sample of the rejected lines, and how long the load took.
+ * Only counts and a bounded sample are kept, so the report stays small however large the input is.
+ */
+public class EnrolmentLoadReport {
+    /** The number of rejected lines kept as examples. */
+    public static final int MAX_REJECTION_SAMPLES = 100;
+
+    private final Map<EnrolmentOutcome, Integer> outcomeCounts;
+    private final List<String> rejectionSamples;
+    private int tuplesRead;
+    private long elapsedNanos;
+
+    /**
+     * Constructs an empty EnrolmentLoadReport.
+     */
+    public EnrolmentLoadReport() {
+        this.outcomeCounts = new EnumMap<>(EnrolmentOutcome.class);
+        this.rejectionSamples = new ArrayList<>();
+    }
+
+    /**
+     * Records the outcome of one tuple.
+     *
+     * @param lineNumber The number of the line the tuple was read from, starting at 1.
+     * @param outcome    The outcome of the tuple.
+     */
+    void record(int lineNumber, EnrolmentOutcome outcome) {
+        tuplesRead++;
+        outcomeCounts.merge(outcome, 1, Integer::sum);
+        if (!outcome.isAccepted() && rejectionSamples.size() < MAX_REJECTION_SAMPLES) {
+            rejectionSamples.add("Line " + lineNumber + ": " + outcome.getDescription());
+        }
+    }
+
+    /**
+     * Sets the time taken by the load.
+     *
+     * @param elapsedNanos The elapsed time in nanoseconds.
+     */
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the number of tuples that ended with the given outcome.
+     *
+     * @param outcome The outcome to count.
+     * @return The number of tuples.
+     */
+    public int getCount(EnrolmentOutcome outcome) {
+        return outcomeCounts.getOrDefault(outcome, 0);
+    }
+
+    /**
+     * Gets the number of tuples for each outcome that occurred.
+     *
+     * @return An unmodifiable map from outcome to count, in declaration order of the outcomes.
+     */
+    public Map<EnrolmentOutcome, Integer> getOutcomeCounts() {
+        return Collections.unmodifiableMap(outcomeCounts);
+    }
+
+    /**
+     * Gets the number of tuples that changed a timetable.
+     *
+     * @return The number of accepted tuples.
+     */
+    public int getAccepted() {
+        return getCount(EnrolmentOutcome.ADDED) + getCount(EnrolmentOutcome.ADDED_WITH_CLASH);
+    }
+
+    /**
+     * Gets the number of tuples that were rejected.
+     *
+     * @return The number of rejected tuples.
+     */
+    public int getRejected() {
+        return tuplesRead - getAccepted();
+    }
+
+    /**
+     * Gets the first rejected lines, each with the reason it was rejected.
+     *
+     * @return An unmodifiable list of at most {@link #MAX_REJECTION_SAMPLES} entries, in input order.
+     */
+    public List<String> getRejectionSamples() {
+        return Collections.unmodifiableList(rejectionSamples);
+    }
+
+    /**
+     * Gets the number of tuples read, not counting blank lines and the header.
+     *
+     * @return The number of tuples.
+     */
+    public int getTuplesRead() {
+        return tuplesRead;
+    }
+
+    /**
+     * Gets the time taken by the load.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the load throughput.
+     *
+     * @return The number of tuples processed per second, or 0 if no time was measured.
+     */
+    public double getTuplesPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return tuplesRead * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Provides a one-line summary of the load, followed by the count of each rejection reason.
+     *
+     * @return A string describing the load.
+     */
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder(String.format(
+                "Processed %d tuple(s), accepted %d, rejected %d in %.2f ms (%.0f tuples/s)",
+                tuplesRead, getAccepted(), getRejected(), elapsedNanos / 1_000_000.0, getTuplesPerSecond()));
+        for (Map.Entry<EnrolmentOutcome, Integer> entry : outcomeCounts.entrySet()) {
+            if (!entry.getKey().isAccepted()) {
+                summary.append(System.lineSeparator()).append("  ")
+                        .append(entry.getKey().getDescription()).append(": ").append(entry.getValue());
+            }
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,140 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The EnrolmentLoader class applies enrolments in bulk, such as a registry export, without going through
+ * the interactive flow. Each line of the input is a tuple of "studentEmail,courseCode" to add a course to a
+ * student's timetable, or "studentEmail,courseCode,activityId" to choose one of its activities, adding the course
+ * first if the student does not have it yet. A first line starting with "studentEmail" is taken as a header, and
+ * blank lines are skipped.
+ *
+ * <p>Tuples go through the same checks as {@link CourseManager#addCourseToStudentTimetable(String, String)} and
+ * {@link CourseManager#chooseActivityForCourse(String, String, String)}, but nothing is displayed: each outcome is
+ * counted in an {@link EnrolmentLoadReport}. The input is read one line at a time and changes are written to the
+ * write-ahead log in batches, so memory use does not grow with the size of the input.
+ */
+public class EnrolmentLoader {
+    /** The number of tuples whose changes are written to the log together when no batch size is given. */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final CourseManager courseManager;
+    private final int batchSize;
+
+    /**
+     * Constructs an EnrolmentLoader that changes timetables held by the given course manager, logging changes in
+     * batches of the default size.
+     *
+     * @param courseManager The course manager holding the courses and timetables.
+     */
+    public EnrolmentLoader(CourseManager courseManager) {
+        this(courseManager, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs an EnrolmentLoader that changes timetables held by the given course manager.
+     *
+     * @param courseManager The course manager holding the courses and timetables.
+     * @param batchSize     The number of tuples whose changes are written to the log together.
+     */
+    public EnrolmentLoader(CourseManager courseManager, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.courseManager = courseManager;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Applies every tuple in the input, in order.
+     *
+     * @param input The tuples to apply. It is read to the end but not closed.
+     * @return A report of the outcome of each tuple.
+     * @throws IOException If the input cannot be read.
+     */
+    public EnrolmentLoadReport load(Reader input) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        EnrolmentLoadReport report = new EnrolmentLoadReport();
+        List<LogRecord> pending = new ArrayList<>();
+
+        int lineNumber = 0;
+        int batched = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && line.trim().regionMatches(true, 0, "studentEmail", 0, 12))) {
+                continue;
+            }
+            report.record(lineNumber, apply(line, pending));
+            if (++batched == batchSize) {
+                courseManager.journal(pending);
+                pending.clear();
+                batched = 0;
+            }
+        }
+        courseManager.journal(pending);
+
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    /**
+     * Applies one tuple, adding the records of any changes to the pending batch.
+     * If the course is added but the activity is then rejected, the course stays in the timetable,
+     * as it would had the student added it and then failed to choose the activity.
+     */
+    private EnrolmentOutcome apply(String line, List<LogRecord> pending) {
+        String[] fields = line.split(",", -1);
+        if (fields.length < 2 || fields.length > 3) {
+            return EnrolmentOutcome.MALFORMED_LINE;
+        }
+        String studentEmail = fields[0].trim();
+        String courseCode = fields[1].trim();
+        String activityIdString = fields.length == 3 ? fields[2].trim() : "";
+        if (!courseManager.checkEmailString(studentEmail)) {
+            return EnrolmentOutcome.INVALID_EMAIL;
+        }
+
+        Course course = courseManager.getCourseByCode(courseCode);
+        if (activityIdString.isEmpty()) {
+            EnrolmentOutcome outcome = courseManager.tryAddCourseToTimetable(studentEmail, course);
+            if (outcome.isAccepted() && courseManager.isJournaling()) {
+                pending.add(LogRecord.addCourseToTimetable(studentEmail, course.getCourseCode()));
+            }
+            return outcome;
+        }
+
+        int activityId;
+        try {
+            activityId = Integer.parseInt(activityIdString);
+        } catch (NumberFormatException e) {
+            return EnrolmentOutcome.INVALID_ACTIVITY_ID;
+        }
+        if (course == null) {
+            return EnrolmentOutcome.INCORRECT_COURSE_CODE;
+        }
+
+        EnrolmentOutcome added = EnrolmentOutcome.ADDED;
+        Timetable timetable = courseManager.timetables.get(studentEmail);
+        if (timetable == null || !timetable.hasSlotsForCourse(course.getCourseCode())) {
+            added = courseManager.tryAddCourseToTimetable(studentEmail, course);
+            if (!added.isAccepted()) {
+                return added;
+            }
+            if (courseManager.isJournaling()) {
+                pending.add(LogRecord.addCourseToTimetable(studentEmail, course.getCourseCode()));
+            }
+        }
+
+        EnrolmentOutcome chosen = courseManager.tryChooseActivity(studentEmail, course.getCourseCode(), activityId);
+        if (chosen.isAccepted() && courseManager.isJournaling()) {
+            pending.add(LogRecord.chooseActivity(studentEmail, course.getCourseCode(), activityId));
+        }
+        return chosen == EnrolmentOutcome.ADDED ? added : chosen;
+    }
+}
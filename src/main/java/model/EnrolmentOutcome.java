@@ -0,0 +1,48 @@
+package model;
+
+/**
+ * The EnrolmentOutcome enum represents the result of adding a course to a student's timetable or choosing
+ * one of its activities. It includes outcomes such as:
+ * - ADDED: The change was made.
+ * - ADDED_WITH_CLASH: The change was made, but it clashes with another activity in the timetable.
+ * - The remaining outcomes, which describe why the change was rejected.
+ */
+public enum EnrolmentOutcome {
+    ADDED("Added", true),
+    ADDED_WITH_CLASH("Added with a clash with another activity", true),
+    MALFORMED_LINE("Expected studentEmail,courseCode[,activityId]", false),
+    INVALID_EMAIL("Invalid student email", false),
+    INVALID_ACTIVITY_ID("Incorrect activity id", false),
+    INCORRECT_COURSE_CODE("Incorrect course code", false),
+    ALREADY_IN_TIMETABLE("Already added course to timetable", false),
+    NO_TIMETABLE("Timetable does not exist", false),
+    COURSE_NOT_IN_TIMETABLE("Course does not exist in timetable", false),
+    ACTIVITY_NOT_IN_TIMETABLE("Activity does not exist in timetable", false),
+    UNRECORDED_LECTURE_CLASH("Clash with an unrecorded lecture", false);
+
+    private final String description;
+    private final boolean accepted;
+
+    EnrolmentOutcome(String description, boolean accepted) {
+        this.description = description;
+        this.accepted = accepted;
+    }
+
+    /**
+     * Gets a short description of the outcome.
+     *
+     * @return The description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Checks if the change was made.
+     *
+     * @return True if the timetable was changed, false if the change was rejected.
+     */
+    public boolean isAccepted() {
+        return accepted;
+    }
+}
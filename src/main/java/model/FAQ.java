@@ -1,14 +1,25 @@
 package model;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The FAQ class represents a Frequently Asked Questions (FAQ) collection,
  * which contains multiple FAQ sections. It provides methods to add and retrieve FAQ sections.
+ * Sections can be reached by position or by topic in constant time, and a section is found from its
+ * topic path with one lookup per level, however many sections each level holds.
+ * Every item in the FAQ can also be found directly from its number, along with the section holding it.
  */
 public class FAQ {
-    private final List<FAQSection> sections = new LinkedList<>();
+    private final List<FAQSection> sections = new ArrayList<>();
+    private final Map<String, FAQSection> sectionsByTopic = new HashMap<>();
+    private final Map<Integer, FAQItem> itemsByNumber = new ConcurrentHashMap<>();
+    private final Map<Integer, FAQSection> sectionsByItemNumber = new ConcurrentHashMap<>();
+    private volatile String rendered; // Text returned by toString, cleared whenever the top-level sections change
 
     /**
      * Adds a new FAQ section to the FAQ collection.
@@ -18,15 +29,193 @@ public class FAQ {
      */
     public void addSection(FAQSection section) {
         sections.add(section);
+        sectionsByTopic.putIfAbsent(section.getTopic(), section);
+        rendered = null;
         section.setParent(null);
+        section.attach(this);
+    }
+
+    /**
+     * Removes a top-level section from the FAQ collection, along with its items and subsections.
+     *
+     * @param section The section to remove.
+     * @return true if the section was a top-level section, false otherwise.
+     */
+    public boolean removeSection(FAQSection section) {
+        if (!sections.remove(section)) {
+            return false;
+        }
+        rendered = null;
+        if (sectionsByTopic.get(section.getTopic()) == section) {
+            sectionsByTopic.remove(section.getTopic());
+            // Another section with the same topic, if any, becomes the one found by topic
+            for (FAQSection other : sections) {
+                if (other.getTopic().equals(section.getTopic())) {
+                    sectionsByTopic.put(other.getTopic(), other);
+                    break;
+                }
+            }
+        }
+        // A section moved elsewhere in the FAQ before being removed from the root keeps its items indexed
+        if (section.getParent() == null) {
+            section.attach(null);
+        }
+        return true;
+    }
+
+    /**
+     * Represents the FAQ as it is shown to users: a title followed by the numbered list of top-level sections.
+     * The text is built once and reused until a top-level section is added or removed.
+     *
+     * @return A string representation of the FAQ.
+     */
+    @Override
+    public String toString() {
+        String text = rendered;
+        if (text == null) {
+            String newLine = System.lineSeparator();
+            StringBuilder sb = new StringBuilder();
+            sb.append("Frequently Asked Questions").append(newLine);
+            sb.append("-------------------------").append(newLine);
+            int i = 0;
+            for (FAQSection section : sections) {
+                sb.append('[').append(i++).append("] ").append(section.getTopic()).append(newLine);
+            }
+            text = sb.toString();
+            rendered = text;
+        }
+        return text;
+    }
+
+    /**
+     * Gets the item with the given number, wherever it is in the FAQ.
+     *
+     * @param number The unique number of the item.
+     * @return The item, or null if no item in the FAQ has the number.
+     */
+    public FAQItem getItem(int number) {
+        return itemsByNumber.get(number);
+    }
+
+    /**
+     * Gets the section holding the item with the given number.
+     *
+     * @param number The unique number of the item.
+     * @return The section holding the item, or null if no item in the FAQ has the number.
+     */
+    public FAQSection getItemSection(int number) {
+        return sectionsByItemNumber.get(number);
+    }
+
+    /**
+     * Records where an item is, so it can be found by number.
+     *
+     * @param item    The item.
+     * @param section The section holding the item.
+     */
+    void indexItem(FAQItem item, FAQSection section) {
+        itemsByNumber.put(item.getNumber(), item);
+        sectionsByItemNumber.put(item.getNumber(), section);
+    }
+
+    /**
+     * Forgets an item that has left the FAQ.
+     *
+     * @param item The item.
+     */
+    void unindexItem(FAQItem item) {
+        if (itemsByNumber.remove(item.getNumber(), item)) {
+            sectionsByItemNumber.remove(item.getNumber());
+        }
+    }
+
+    /**
+     * Gets the top-level section with the given topic.
+     *
+     * @param topic The topic to look for.
+     * @return The section with the topic, or null if there is none.
+     */
+    public FAQSection getSection(String topic) {
+        return sectionsByTopic.get(topic);
+    }
+
+    /**
+     * Finds the section reached by following a path of topics from the root of the FAQ.
+     *
+     * @param path The topics leading to the section, root first, as returned by {@link FAQSection#getPath()}.
+     * @return The section at the end of the path, or null if any topic on the path does not exist.
+     */
+    public FAQSection findSection(List<String> path) {
+        FAQSection section = null;
+        for (String topic : path) {
+            section = section == null ? getSection(topic) : section.getSubsection(topic);
+            if (section == null) {
+                return null;
+            }
+        }
+        return section;
+    }
+
+    /**
+     * Finds the section reached by following a path of topics from the root of the FAQ,
+     * creating any section on the path that does not exist yet.
+     *
+     * @param path The topics leading to the section, root first. Must not be empty.
+     * @return The section at the end of the path.
+     */
+    public FAQSection getOrCreateSection(List<String> path) {
+        FAQSection section = null;
+        for (String topic : path) {
+            FAQSection next = section == null ? getSection(topic) : section.getSubsection(topic);
+            if (next == null) {
+                next = new FAQSection(topic);
+                if (section == null) {
+                    addSection(next);
+                } else {
+                    section.addSubsection(next);
+                }
+            }
+            section = next;
+        }
+        return section;
+    }
+
+    /**
+     * Removes an item from a section. If this leaves the section without items, the section is removed
+     * and its subsections move up to its parent, or to the root of the FAQ if it had no parent.
+     *
+     * @param section The section holding the item.
+     * @param index   The position of the item in the section.
+     * @return The removed item.
+     */
+    public FAQItem removeItem(FAQSection section, int index) {
+        FAQItem removedItem = section.getItems().remove(index);
+        if (section.getItems().isEmpty()) {
+            FAQSection parent = section.getParent();
+            for (FAQSection subsection : new ArrayList<>(section.getSubsections())) {
+                if (parent == null) {
+                    addSection(subsection);
+                } else {
+                    parent.addSubsection(subsection);
+                }
+                section.removeSubsection(subsection);
+            }
+            if (parent == null) {
+                removeSection(section);
+            } else {
+                parent.removeSubsection(section);
+            }
+        }
+        return removedItem;
     }
 
     /**
      * Retrieves the list of FAQ sections in the FAQ collection.
+     * Sections are added and removed with {@link #addSection(FAQSection)} and {@link #removeSection(FAQSection)}.
      *
-     * @return A list of FAQSection objects representing the sections of the FAQ.
+     * @return An unmodifiable list of FAQSection objects representing the sections of the FAQ.
      */
     public List<FAQSection> getSections() {
-        return sections;
+        return Collections.unmodifiableList(sections);
     }
 }
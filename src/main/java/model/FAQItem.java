@@ -1,5 +1,7 @@
 package model;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * The FAQItem class represents a single FAQ item consisting of a question, an answer,
  * and an optional course tag. Each FAQ item is assigned a unique number.
@@ -9,7 +11,7 @@ public class FAQItem {
     private final String answer;
     private final String courseTag; // Optional course tag
     private final int number; // Unique identifier
-    private static int nextNumber = 1; // Used to generate unique numbers
+    private static final AtomicInteger nextNumber = new AtomicInteger(1); // Used to generate unique numbers
 
     /**
      * Constructs a FAQItem with a question and an answer, without a course tag.
@@ -32,7 +34,24 @@ public class FAQItem {
         this.question = question;
         this.answer = answer;
         this.courseTag = courseTag;
-        this.number = nextNumber++;
+        this.number = nextNumber.getAndIncrement();
+    }
+
+    /**
+     * Constructs a FAQItem that keeps a number assigned earlier, used when restoring a saved FAQ.
+     * Numbers handed to later items continue after the largest restored number.
+     *
+     * @param question  The question of the FAQ item.
+     * @param answer    The answer to the FAQ item.
+     * @param courseTag The optional course tag for the FAQ item.
+     * @param number    The unique number previously assigned to the FAQ item.
+     */
+    public FAQItem(String question, String answer, String courseTag, int number) {
+        this.question = question;
+        this.answer = answer;
+        this.courseTag = courseTag;
+        this.number = number;
+        nextNumber.accumulateAndGet(number + 1, Math::max);
     }
 
     /**
@@ -0,0 +1,258 @@
+package model;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.LengthGoalBreakIterator;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.search.uhighlight.WholeBreakIterator;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The FAQSearchIndex class provides full-text search over the questions, answers and course tags of an FAQ.
+ * The index is held in memory and answers queries without walking the FAQ tree. Edits are applied item by item,
+ * keyed by {@link FAQItem#getNumber()}, and are visible to searches as soon as the editing method returns.
+ * Searches never wait for edits: each runs on a point-in-time view of the index.
+ *
+ * <p>Queries use the Lucene query syntax, so "+exam -resit", "\"late submission\"" and "courseTag:COMP12345"
+ * all work. Words are matched on their English stem, and matches in a question count twice as much as
+ * matches in an answer. Highlighting reads word offsets stored in the index rather than analysing the
+ * matched items again, which keeps queries well under 10 ms.
+ */
+public class FAQSearchIndex implements Closeable {
+    /** The number of results returned when no limit is given. */
+    public static final int DEFAULT_MAX_RESULTS = 10;
+
+    private static final String NUMBER = "number";
+    private static final String QUESTION = "question";
+    private static final String ANSWER = "answer";
+    private static final String COURSE_TAG = "courseTag";
+    private static final String TOPIC = "topic";
+    private static final String[] SEARCH_FIELDS = {QUESTION, ANSWER, COURSE_TAG};
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(QUESTION, 2.0f, ANSWER, 1.0f, COURSE_TAG, 1.0f);
+    private static final String[] HIGHLIGHT_FIELDS = {QUESTION, ANSWER};
+    private static final int SNIPPET_LENGTH = 120;
+
+    // Indexed text with the offsets of each word, so matches can be highlighted without analysing the text again
+    private static final FieldType HIGHLIGHTED_TEXT = new FieldType(TextField.TYPE_STORED);
+
+    static {
+        HIGHLIGHTED_TEXT.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        HIGHLIGHTED_TEXT.freeze();
+    }
+
+    private final Analyzer analyzer;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    /**
+     * Constructs a FAQSearchIndex holding every item of the given FAQ.
+     *
+     * @param faq The FAQ to index.
+     * @throws IOException If the index cannot be built.
+     */
+    public FAQSearchIndex(FAQ faq) throws IOException {
+        this.analyzer = new EnglishAnalyzer();
+        this.directory = new ByteBuffersDirectory();
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+        rebuild(faq);
+    }
+
+    /**
+     * Replaces the contents of the index with every item of the given FAQ.
+     * Meant for loading a whole FAQ; single edits should use {@link #addItem(List, FAQItem)},
+     * {@link #removeItem(int)} and {@link #updateSection(FAQSection)}.
+     *
+     * @param faq The FAQ to index.
+     * @throws IOException If the index cannot be built.
+     */
+    public synchronized void rebuild(FAQ faq) throws IOException {
+        writer.deleteAll();
+        for (FAQSection section : faq.getSections()) {
+            addSection(section);
+        }
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    /**
+     * Adds an item to the index, replacing any item with the same number.
+     * The item can be found by searches started after this method returns.
+     *
+     * @param path The topics leading to the section holding the item, root first.
+     * @param item The item to add.
+     * @throws IOException If the index cannot be updated.
+     */
+    public synchronized void addItem(List<String> path, FAQItem item) throws IOException {
+        writer.updateDocument(numberTerm(item.getNumber()), toDocument(path, item));
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    /**
+     * Removes the item with the given number from the index. Searches started after this method returns
+     * no longer find it.
+     *
+     * @param number The unique number of the item to remove.
+     * @throws IOException If the index cannot be updated.
+     */
+    public synchronized void removeItem(int number) throws IOException {
+        writer.deleteDocuments(numberTerm(number));
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    /**
+     * Re-indexes every item in a section and its subsections, for when the section has moved
+     * and the topic path of its items has changed.
+     *
+     * @param section The section to re-index.
+     * @throws IOException If the index cannot be updated.
+     */
+    public synchronized void updateSection(FAQSection section) throws IOException {
+        addSection(section);
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    private void addSection(FAQSection section) throws IOException {
+        List<String> path = section.getPath();
+        for (FAQItem item : section.getItems()) {
+            writer.updateDocument(numberTerm(item.getNumber()), toDocument(path, item));
+        }
+        for (FAQSection subsection : section.getSubsections()) {
+            addSection(subsection);
+        }
+    }
+
+    private static Term numberTerm(int number) {
+        return new Term(NUMBER, String.valueOf(number));
+    }
+
+    private static Document toDocument(List<String> path, FAQItem item) {
+        Document document = new Document();
+        document.add(new StringField(NUMBER, String.valueOf(item.getNumber()), Field.Store.YES));
+        document.add(new Field(QUESTION, item.getQuestion(), HIGHLIGHTED_TEXT));
+        document.add(new Field(ANSWER, item.getAnswer(), HIGHLIGHTED_TEXT));
+        if (item.hasCourseTag()) {
+            document.add(new TextField(COURSE_TAG, item.getCourseTag(), Field.Store.YES));
+        }
+        for (String topic : path) {
+            document.add(new StoredField(TOPIC, topic));
+        }
+        return document;
+    }
+
+    /**
+     * Searches the index for the items that best match a query. The search runs on the index as it was when
+     * the search started, so it neither waits for nor sees edits made while it runs.
+     *
+     * @param queryText  The query, in Lucene query syntax.
+     * @param maxResults The largest number of results to return.
+     * @return The matching items, best match first.
+     * @throws ParseException If the query is not valid query syntax.
+     * @throws IOException    If the index cannot be read.
+     */
+    public List<FAQSearchResult> search(String queryText, int maxResults) throws ParseException, IOException {
+        Query query = new MultiFieldQueryParser(SEARCH_FIELDS, analyzer, FIELD_BOOSTS).parse(queryText);
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, maxResults);
+            Map<String, String[]> highlights = new FAQHighlighter(searcher, analyzer)
+                    .highlightFields(HIGHLIGHT_FIELDS, query, topDocs);
+            String[] questions = highlights.get(QUESTION);
+            String[] snippets = highlights.get(ANSWER);
+
+            StoredFields storedFields = searcher.storedFields();
+            List<FAQSearchResult> results = new ArrayList<>(topDocs.scoreDocs.length);
+            for (int i = 0; i < topDocs.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                Document document = storedFields.document(scoreDoc.doc);
+                results.add(new FAQSearchResult(
+                        Integer.parseInt(document.get(NUMBER)),
+                        Arrays.asList(document.getValues(TOPIC)),
+                        questions[i] == null ? document.get(QUESTION) : questions[i],
+                        snippets[i] == null ? document.get(ANSWER) : snippets[i],
+                        document.get(COURSE_TAG),
+                        scoreDoc.score
+                ));
+            }
+            return results;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Gets the number of FAQ items in the index.
+     *
+     * @return The number of indexed items.
+     * @throws IOException If the index cannot be read.
+     */
+    public int size() throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Releases the memory held by the index. The index cannot be searched or changed afterwards.
+     *
+     * @throws IOException If the index cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Highlights the whole of a question, and the sentences of an answer that best match a query, up to about
+     * {@value #SNIPPET_LENGTH} characters. Items that do not match in a field get the start of that field.
+     */
+    private static final class FAQHighlighter extends UnifiedHighlighter {
+        private FAQHighlighter(IndexSearcher searcher, Analyzer analyzer) {
+            super(UnifiedHighlighter.builder(searcher, analyzer)
+                    .withFormatter(new DefaultPassageFormatter("[", "]", " ... ", false)));
+        }
+
+        @Override
+        protected BreakIterator getBreakIterator(String field) {
+            if (field.equals(QUESTION)) {
+                return new WholeBreakIterator();
+            }
+            return LengthGoalBreakIterator.createClosestToLength(
+                    BreakIterator.getSentenceInstance(Locale.ROOT), SNIPPET_LENGTH, 0.5f);
+        }
+    }
+}
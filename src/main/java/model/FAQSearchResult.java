@@ -0,0 +1,102 @@
+package model;
+
+import java.util.List;
+
+/**
+ * The FAQSearchResult class represents one FAQ item matched by a search, with the matching words
+ * of its question and answer highlighted.
+ */
+public class FAQSearchResult {
+    private final int number;
+    private final List<String> topicPath;
+    private final String question;
+    private final String snippet;
+    private final String courseTag;
+    private final float score;
+
+    /**
+     * Constructs a FAQSearchResult with the specified details.
+     *
+     * @param number    The unique number of the matched FAQ item.
+     * @param topicPath The topics leading to the section holding the item, root first.
+     * @param question  The question of the item, with matching words highlighted.
+     * @param snippet   The part of the answer that best matches the search, with matching words highlighted.
+     * @param courseTag The course tag of the item, or null if it has none.
+     * @param score     How well the item matches the search; higher is better.
+     */
+    public FAQSearchResult(int number, List<String> topicPath, String question, String snippet, String courseTag,
+                           float score) {
+        this.number = number;
+        this.topicPath = List.copyOf(topicPath);
+        this.question = question;
+        this.snippet = snippet;
+        this.courseTag = courseTag;
+        this.score = score;
+    }
+
+    /**
+     * Gets the unique number of the matched FAQ item.
+     *
+     * @return The item number.
+     */
+    public int getNumber() {
+        return number;
+    }
+
+    /**
+     * Gets the topics leading to the section holding the item.
+     *
+     * @return An unmodifiable list of topics, root first.
+     */
+    public List<String> getTopicPath() {
+        return topicPath;
+    }
+
+    /**
+     * Gets the question of the item, with matching words highlighted.
+     *
+     * @return The highlighted question.
+     */
+    public String getQuestion() {
+        return question;
+    }
+
+    /**
+     * Gets the part of the answer that best matches the search, with matching words highlighted.
+     *
+     * @return The highlighted answer snippet.
+     */
+    public String getSnippet() {
+        return snippet;
+    }
+
+    /**
+     * Gets the course tag of the item.
+     *
+     * @return The course tag, or null if the item has none.
+     */
+    public String getCourseTag() {
+        return courseTag;
+    }
+
+    /**
+     * Gets how well the item matches the search.
+     *
+     * @return The relevance score; higher is better.
+     */
+    public float getScore() {
+        return score;
+    }
+
+    /**
+     * Provides the item number, topic, question and snippet of the result.
+     *
+     * @return A string describing the result.
+     */
+    @Override
+    public String toString() {
+        return "#" + number + " [" + String.join(" > ", topicPath) + "]"
+                + (courseTag == null || courseTag.isEmpty() ? "" : " (" + courseTag + ")")
+                + " Q: " + question + System.lineSeparator() + "    " + snippet;
+    }
+}
@@ -1,17 +1,28 @@
 package model;
 
-import java.util.LinkedList;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The FAQSection class represents a section of the FAQ, which contains a list of FAQ items
  * and potentially sub-sections. Each section has a topic and can have a parent section.
+ * Subsections can be reached by position or by topic in constant time.
+ * Once a section is part of an {@link FAQ}, the items of the section and its subsections are kept in the FAQ's
+ * index of items by number.
+ * The text shown for a section is built once and reused until its items or subsections change.
  */
 public class FAQSection {
     private final String topic;
-    private final List<FAQItem> items = new LinkedList<>();
+    private final List<FAQItem> items = new ItemList();
     private FAQSection parent;
-    private final List<FAQSection> subsections = new LinkedList<>();
+    private FAQ faq;
+    private final List<FAQSection> subsections = new ArrayList<>();
+    private final Map<String, FAQSection> subsectionsByTopic = new HashMap<>();
+    private volatile String rendered; // Text returned by toString, cleared whenever the items or subsections change
 
     /**
      * Constructs a FAQSection with the given topic.
@@ -30,16 +41,73 @@ public class FAQSection {
      */
     public void addSubsection(FAQSection section) {
         subsections.add(section);
+        subsectionsByTopic.putIfAbsent(section.getTopic(), section);
+        rendered = null;
         section.parent = this;
+        section.attach(faq);
+    }
+
+    /**
+     * Removes a subsection from the current FAQ section. The parent of the subsection is cleared and its items
+     * leave the FAQ's index, unless it has already been added to another section.
+     *
+     * @param section The subsection to remove.
+     * @return true if the section was a subsection of this section, false otherwise.
+     */
+    public boolean removeSubsection(FAQSection section) {
+        if (!subsections.remove(section)) {
+            return false;
+        }
+        rendered = null;
+        if (subsectionsByTopic.get(section.getTopic()) == section) {
+            subsectionsByTopic.remove(section.getTopic());
+            // Another subsection with the same topic, if any, becomes the one found by topic
+            for (FAQSection subsection : subsections) {
+                if (subsection.getTopic().equals(section.getTopic())) {
+                    subsectionsByTopic.put(subsection.getTopic(), subsection);
+                    break;
+                }
+            }
+        }
+        if (section.parent == this) {
+            section.parent = null;
+            section.attach(null);
+        }
+        return true;
+    }
+
+    /**
+     * Makes this section and its subsections part of an FAQ, moving their items into its index of items.
+     *
+     * @param newFaq The FAQ the section now belongs to, or null if it no longer belongs to one.
+     */
+    void attach(FAQ newFaq) {
+        if (faq == newFaq) {
+            return;
+        }
+        for (FAQItem item : items) {
+            if (faq != null) {
+                faq.unindexItem(item);
+            }
+            if (newFaq != null) {
+                newFaq.indexItem(item, this);
+            }
+        }
+        faq = newFaq;
+        for (FAQSection subsection : subsections) {
+            subsection.attach(newFaq);
+        }
     }
 
     /**
      * Gets the list of subsections within this FAQ section.
+     * Subsections are added and removed with {@link #addSubsection(FAQSection)} and
+     * {@link #removeSubsection(FAQSection)}.
      *
-     * @return A list of FAQSection objects that represent the subsections of this section.
+     * @return An unmodifiable list of FAQSection objects that represent the subsections of this section.
      */
     public List<FAQSection> getSubsections() {
-        return subsections;
+        return Collections.unmodifiableList(subsections);
     }
 
     /**
@@ -52,7 +120,32 @@ public class FAQSection {
     }
 
     /**
-     * Gets the list of FAQ items in this FAQ section.
+     * Gets the topics leading from the root of the FAQ down to this section, ending with this section's topic.
+     *
+     * @return The list of topics, root first.
+     */
+    public List<String> getPath() {
+        List<String> path = new ArrayList<>();
+        for (FAQSection section = this; section != null; section = section.parent) {
+            path.add(section.topic);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Gets the subsection of this section with the given topic.
+     *
+     * @param topic The topic to look for.
+     * @return The subsection with the topic, or null if there is none.
+     */
+    public FAQSection getSubsection(String topic) {
+        return subsectionsByTopic.get(topic);
+    }
+
+    /**
+     * Gets the list of FAQ items in this FAQ section. Items added to or removed from the list are
+     * added to or removed from the FAQ's index of items.
      *
      * @return A list of FAQItem objects representing the items in this section.
      */
@@ -77,4 +170,91 @@ public class FAQSection {
     public void setParent(FAQSection parent) {
         this.parent = parent;
     }
+
+    /**
+     * Represents the section as it is shown to users: its topic, then each item with its number, question
+     * and answer, then the numbered list of subsections.
+     *
+     * @return A string representation of the section.
+     */
+    @Override
+    public String toString() {
+        String text = rendered;
+        if (text == null) {
+            text = render();
+            rendered = text;
+        }
+        return text;
+    }
+
+    /**
+     * Formats the topic, items and subsections of the section.
+     *
+     * @return A string representation of the section.
+     */
+    private String render() {
+        String newLine = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+        sb.append(topic).append(newLine);
+        sb.append("-------------------------").append(newLine);
+        for (FAQItem item : items) {
+            sb.append('#').append(item.getNumber()).append(' ').append(item.getQuestion()).append(newLine);
+            sb.append("> ").append(item.getAnswer()).append(newLine);
+        }
+        sb.append("Subsections:").append(newLine);
+        int i = 0;
+        for (FAQSection subsection : subsections) {
+            sb.append('[').append(i++).append("] ").append(subsection.getTopic()).append(newLine);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The items of a section, which report every item added or removed to the FAQ's index of items.
+     */
+    private final class ItemList extends AbstractList<FAQItem> {
+        private final List<FAQItem> elements = new ArrayList<>();
+
+        @Override
+        public FAQItem get(int index) {
+            return elements.get(index);
+        }
+
+        @Override
+        public int size() {
+            return elements.size();
+        }
+
+        @Override
+        public void add(int index, FAQItem item) {
+            elements.add(index, item);
+            modCount++;
+            rendered = null;
+            if (faq != null) {
+                faq.indexItem(item, FAQSection.this);
+            }
+        }
+
+        @Override
+        public FAQItem set(int index, FAQItem item) {
+            FAQItem replaced = elements.set(index, item);
+            rendered = null;
+            if (faq != null) {
+                faq.unindexItem(replaced);
+                faq.indexItem(item, FAQSection.this);
+            }
+            return replaced;
+        }
+
+        @Override
+        public FAQItem remove(int index) {
+            FAQItem removed = elements.remove(index);
+            modCount++;
+            rendered = null;
+            if (faq != null) {
+                faq.unindexItem(removed);
+            }
+            return removed;
+        }
+    }
 }
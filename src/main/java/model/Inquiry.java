@@ -1,20 +1,26 @@
 package model;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The Inquiry class represents a student's inquiry about a course or other related subjects.
  * It contains information such as the inquirer's email, the subject of the inquiry,
  * the content of the inquiry, and the course code (if any). Additionally, it keeps track of when
  * the inquiry was created and who it is assigned to.
+ * Every inquiry has a unique id, handed out in the order inquiries are created, which stays the same when the
+ * inquiry is saved and restored.
  */
 public class Inquiry {
+    private static final AtomicLong nextId = new AtomicLong(1); // Used to generate unique ids
+
+    private final long id;
     private final LocalDateTime createdAt;
     private final String inquirerEmail;
     private final String subject;
     private final String content;
     private String courseCode;
-    private String assignedTo;
+    private volatile String assignedTo;
 
     /**
      * Constructs a new Inquiry object with the specified details.
@@ -25,11 +31,52 @@ public class Inquiry {
      * @param courseCode    The course code associated with the inquiry (can be null).
      */
     public Inquiry(String inquirerEmail, String subject, String content, String courseCode) {
+        this(inquirerEmail, subject, content, courseCode, LocalDateTime.now());
+    }
+
+    /**
+     * Constructs an Inquiry object with the specified details and creation time,
+     * used when restoring an inquiry that was created earlier.
+     *
+     * @param inquirerEmail The email of the person who made the inquiry.
+     * @param subject       The subject of the inquiry.
+     * @param content       The content or description of the inquiry.
+     * @param courseCode    The course code associated with the inquiry (can be null).
+     * @param createdAt     The time the inquiry was created.
+     */
+    public Inquiry(String inquirerEmail, String subject, String content, String courseCode, LocalDateTime createdAt) {
+        this(nextId.getAndIncrement(), inquirerEmail, subject, content, courseCode, createdAt);
+    }
+
+    /**
+     * Constructs an Inquiry object that keeps an id and creation time assigned earlier, used when restoring
+     * a saved inquiry. Ids handed to later inquiries continue after the largest restored id.
+     *
+     * @param id            The unique id previously assigned to the inquiry.
+     * @param inquirerEmail The email of the person who made the inquiry.
+     * @param subject       The subject of the inquiry.
+     * @param content       The content or description of the inquiry.
+     * @param courseCode    The course code associated with the inquiry (can be null).
+     * @param createdAt     The time the inquiry was created.
+     */
+    public Inquiry(long id, String inquirerEmail, String subject, String content, String courseCode,
+                   LocalDateTime createdAt) {
+        this.id = id;
         this.courseCode = courseCode;
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = createdAt;
         this.inquirerEmail = inquirerEmail;
         this.subject = subject;
         this.content = content;
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
+    /**
+     * Gets the unique id of the inquiry.
+     *
+     * @return The id of the inquiry.
+     */
+    public long getId() {
+        return id;
     }
 
     /**
@@ -86,6 +133,15 @@ public class Inquiry {
         return courseCode != null ? courseCode : "No course specified";
     }
 
+    /**
+     * Checks if the inquiry is associated with a course.
+     *
+     * @return true if a course code was provided, false otherwise.
+     */
+    public boolean hasCourseCode() {
+        return courseCode != null;
+    }
+
     /**
      * Sets the person to whom the inquiry is assigned.
      *
@@ -0,0 +1,254 @@
+package model;
+
+import org.tinylog.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * The InquiryIntake class takes new inquiries from any number of inquirers at once and hands them to a single
+ * consumer stage, which makes them pending, routes them to a member of staff and notifies that member in batches.
+ *
+ * <p>{@link #submit(Inquiry, BiConsumer)} records the inquiry in the write-ahead log, puts it on a lock-free queue
+ * and returns, so an inquirer never waits for other inquirers, routing or email. Concurrent submissions share the
+ * log's group commit, and an inquiry that was submitted but not yet consumed when the application stopped is
+ * restored by replaying the log.
+ *
+ * <p>When the consumer thread has been started with {@link #start()} it drains the queue in the background.
+ * Otherwise each submission drains the queue itself before returning, so the inquirer sees the notification
+ * straight away.
+ *
+ * <p>The intake reports the number of queued inquiries and the time from submission until the notification
+ * has been sent.
+ */
+public class InquiryIntake {
+    /** The largest number of inquiries the consumer takes from the queue at once. */
+    public static final int MAX_BATCH = 256;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final SharedContext context;
+    private final ConcurrentLinkedQueue<Submission> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final Object consumerLock = new Object();
+    private volatile Thread consumer;
+    private volatile boolean stopping;
+
+    /**
+     * Constructs an InquiryIntake that delivers inquiries to the given context.
+     *
+     * @param context The context whose pending inquiries the consumer adds to.
+     */
+    InquiryIntake(SharedContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Records an inquiry in the write-ahead log and queues it for the consumer. Returns once the inquiry is
+     * durable, or, when no consumer thread is running, once it has been delivered.
+     *
+     * @param inquiry  The inquiry to submit.
+     * @param notifier Called by the consumer with the inquiry and the email of the staff it was routed to.
+     */
+    public void submit(Inquiry inquiry, BiConsumer<Inquiry, String> notifier) {
+        context.getCourseManager().journal(LogRecord.addInquiry(inquiry));
+        // Counted before it is queued, so the consumer never takes the depth below zero
+        peakQueueDepth.accumulateAndGet(queueDepth.incrementAndGet(), Math::max);
+        queue.offer(new Submission(inquiry, notifier, System.nanoTime()));
+
+        Thread running = consumer;
+        if (running != null) {
+            LockSupport.unpark(running);
+        } else {
+            drain();
+        }
+    }
+
+    /**
+     * Delivers every queued inquiry, one batch at a time, on the calling thread.
+     *
+     * @return The number of inquiries delivered.
+     */
+    public int drain() {
+        int delivered = 0;
+        int batch;
+        do {
+            batch = drainBatch(MAX_BATCH);
+            delivered += batch;
+        } while (batch > 0);
+        return delivered;
+    }
+
+    /**
+     * Starts a background thread that delivers queued inquiries as they arrive. Does nothing if it is already running.
+     */
+    public synchronized void start() {
+        if (consumer != null) {
+            return;
+        }
+        stopping = false;
+        Thread thread = new Thread(this::runConsumer, "inquiry-intake");
+        thread.setDaemon(true);
+        consumer = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops the background thread, if it is running, and delivers whatever is still queued.
+     */
+    public synchronized void stop() {
+        Thread thread = consumer;
+        if (thread != null) {
+            stopping = true;
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumer = null;
+        }
+        drain();
+    }
+
+    /**
+     * Checks if a background thread is delivering queued inquiries.
+     *
+     * @return true if the consumer thread is running, false otherwise.
+     */
+    public boolean isRunning() {
+        return consumer != null;
+    }
+
+    /**
+     * Gets the number of inquiries submitted but not yet delivered.
+     *
+     * @return The current queue depth.
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Gets the largest number of inquiries that have been waiting in the queue at once.
+     *
+     * @return The peak queue depth.
+     */
+    public int getPeakQueueDepth() {
+        return peakQueueDepth.get();
+    }
+
+    /**
+     * Gets the number of inquiries delivered so far.
+     *
+     * @return The number of delivered inquiries.
+     */
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    /**
+     * Gets the number of batches the consumer has delivered so far.
+     *
+     * @return The number of batches.
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Gets the mean time from submitting an inquiry until its notification was sent.
+     *
+     * @return The mean end-to-end latency in nanoseconds, or 0 if nothing has been delivered.
+     */
+    public long getMeanLatencyNanos() {
+        long count = processed.sum();
+        return count == 0 ? 0 : totalLatencyNanos.sum() / count;
+    }
+
+    /**
+     * Gets the longest time from submitting an inquiry until its notification was sent.
+     *
+     * @return The maximum end-to-end latency in nanoseconds.
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    /**
+     * Describes the queue depth and end-to-end latency of the intake.
+     *
+     * @return A summary of the intake metrics.
+     */
+    @Override
+    public String toString() {
+        return String.format("%d inquiries in %d batches, queue depth %d (peak %d), latency mean %.3f ms, max %.3f ms",
+                getProcessedCount(), getBatchCount(), getQueueDepth(), getPeakQueueDepth(),
+                getMeanLatencyNanos() / 1e6, getMaxLatencyNanos() / 1e6);
+    }
+
+    private int drainBatch(int maxBatch) {
+        // Only one thread consumes at a time, so inquiries are delivered in the order they were queued
+        synchronized (consumerLock) {
+            List<Submission> batch = new ArrayList<>(Math.min(maxBatch, Math.max(queueDepth.get(), 1)));
+            Submission submission;
+            while (batch.size() < maxBatch && (submission = queue.poll()) != null) {
+                batch.add(submission);
+            }
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            queueDepth.addAndGet(-batch.size());
+            for (Submission queued : batch) {
+                context.inquiries.add(queued.inquiry);
+            }
+            for (Submission queued : batch) {
+                try {
+                    queued.notifier.accept(queued.inquiry, context.routeInquiry(queued.inquiry));
+                } catch (RuntimeException e) {
+                    // The inquiry is already pending, so staff still see it in their menus
+                    Logger.error("{}, deliverInquiry, #{} FAILURE (Error: {})", System.currentTimeMillis(),
+                            queued.inquiry.getId(), e.getMessage());
+                }
+                long latency = System.nanoTime() - queued.submittedAt;
+                totalLatencyNanos.add(latency);
+                maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            }
+            processed.add(batch.size());
+            batches.increment();
+            return batch.size();
+        }
+    }
+
+    private void runConsumer() {
+        while (!stopping) {
+            if (drainBatch(MAX_BATCH) == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private static final class Submission {
+        private final Inquiry inquiry;
+        private final BiConsumer<Inquiry, String> notifier;
+        private final long submittedAt;
+
+        private Submission(Inquiry inquiry, BiConsumer<Inquiry, String> notifier, long submittedAt) {
+            this.inquiry = inquiry;
+            this.notifier = notifier;
+            this.submittedAt = submittedAt;
+        }
+    }
+}
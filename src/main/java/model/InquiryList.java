@@ -0,0 +1,360 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The InquiryList class holds the pending inquiries, keyed by {@link Inquiry#getId()}, and keeps a queue of them
+ * for each member of staff they are assigned to, plus a queue of unassigned inquiries for the admin staff.
+ * Inquiries are listed in the order they were created, with ties broken by id. They are also indexed by
+ * course code, so a page of inquiries about one course, one assignee's or everyone's is read straight from
+ * a sorted index with {@link #getPage(String, int, String, String)}.
+ *
+ * <p>The list can be used by many staff and inquirers at once. Finding an inquiry by id takes constant time,
+ * and adding, assigning or removing one takes constant time plus an update of the ordered indexes that grows
+ * with the logarithm of the number of pending inquiries. Iterating and reading a queue never wait for changes
+ * and never fail because of them; they see each inquiry that stays pending while they run.
+ * Positional access with {@link #get(int)} walks the list, so prefer iteration, {@link #getInquiry(long)}
+ * or a queue.
+ *
+ * <p>An inquiry already in the list must be reassigned with {@link #reassign(Inquiry, String)} rather than
+ * {@link Inquiry#setAssignedTo(String)}, so that it moves to the right queue.
+ */
+public class InquiryList extends AbstractList<Inquiry> {
+    /** The assignee filter of {@link #getPage(String, int, String, String)} that selects unassigned inquiries. */
+    public static final String UNASSIGNED = "";
+
+    private final Map<Long, Inquiry> inquiriesById = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<CreationKey, Inquiry> inquiriesByCreation = new ConcurrentSkipListMap<>();
+    private final Map<String, ConcurrentNavigableMap<CreationKey, Inquiry>> inquiriesByAssignee =
+            new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<CreationKey, Inquiry> unassignedInquiries = new ConcurrentSkipListMap<>();
+    private final Map<String, ConcurrentNavigableMap<CreationKey, Inquiry>> inquiriesByCourse =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Gets the inquiry at a position in the order inquiries were created. This walks the list up to the position.
+     *
+     * @param index The position of the inquiry.
+     * @return The inquiry.
+     * @throws IndexOutOfBoundsException If there is no inquiry at the position.
+     */
+    @Override
+    public Inquiry get(int index) {
+        if (index >= 0) {
+            int i = 0;
+            for (Inquiry inquiry : inquiriesByCreation.values()) {
+                if (i++ == index) {
+                    return inquiry;
+                }
+            }
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    /**
+     * Gets the number of pending inquiries.
+     *
+     * @return The number of inquiries.
+     */
+    @Override
+    public int size() {
+        return inquiriesById.size();
+    }
+
+    /**
+     * Gets the pending inquiry with the given id.
+     *
+     * @param id The id of the inquiry.
+     * @return The inquiry, or null if no pending inquiry has the id.
+     */
+    public Inquiry getInquiry(long id) {
+        return inquiriesById.get(id);
+    }
+
+    /**
+     * Checks if an inquiry is pending.
+     *
+     * @param o The inquiry to look for.
+     * @return true if the inquiry is in the list, false otherwise.
+     */
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Inquiry)) {
+            return false;
+        }
+        Inquiry inquiry = (Inquiry) o;
+        return inquiriesById.get(inquiry.getId()) == inquiry;
+    }
+
+    /**
+     * Iterates over the pending inquiries in the order they were created.
+     *
+     * @return An iterator that does not support removal.
+     */
+    @Override
+    public Iterator<Inquiry> iterator() {
+        return Collections.unmodifiableCollection(inquiriesByCreation.values()).iterator();
+    }
+
+    /**
+     * Adds an inquiry to the list, in its place by creation, and to the queue of whoever it is assigned to.
+     *
+     * @param inquiry The inquiry to add.
+     * @return true if the inquiry was added, false if an inquiry with the same id is already pending.
+     */
+    @Override
+    public boolean add(Inquiry inquiry) {
+        if (inquiriesById.putIfAbsent(inquiry.getId(), inquiry) != null) {
+            return false;
+        }
+        synchronized (inquiry) {
+            // The inquiry may already have been removed again by another thread
+            if (inquiriesById.get(inquiry.getId()) == inquiry) {
+                CreationKey key = new CreationKey(inquiry);
+                inquiriesByCreation.put(key, inquiry);
+                queueOf(inquiry.getAssignedTo()).put(key, inquiry);
+                if (inquiry.hasCourseCode()) {
+                    inquiriesByCourse.computeIfAbsent(courseKey(inquiry.getCourseCode()),
+                            code -> new ConcurrentSkipListMap<>()).put(key, inquiry);
+                }
+            }
+        }
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Not supported, as inquiries are kept in the order they were created.
+     *
+     * @param index   The position to add the inquiry at.
+     * @param inquiry The inquiry to add.
+     * @throws UnsupportedOperationException Always; use {@link #add(Inquiry)}.
+     */
+    @Override
+    public void add(int index, Inquiry inquiry) {
+        throw new UnsupportedOperationException("Inquiries are kept in the order they were created");
+    }
+
+    /**
+     * Removes an inquiry from the list and from the queue of whoever it is assigned to.
+     * When several staff remove the same inquiry at once, exactly one of them succeeds.
+     *
+     * @param o The inquiry to remove.
+     * @return true if the inquiry was removed, false if it was not pending.
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Inquiry)) {
+            return false;
+        }
+        Inquiry inquiry = (Inquiry) o;
+        if (!inquiriesById.remove(inquiry.getId(), inquiry)) {
+            return false;
+        }
+        synchronized (inquiry) {
+            CreationKey key = new CreationKey(inquiry);
+            inquiriesByCreation.remove(key);
+            queueOf(inquiry.getAssignedTo()).remove(key);
+            if (inquiry.hasCourseCode()) {
+                ConcurrentNavigableMap<CreationKey, Inquiry> course =
+                        inquiriesByCourse.get(courseKey(inquiry.getCourseCode()));
+                if (course != null) {
+                    course.remove(key);
+                }
+            }
+        }
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes the inquiry at a position in the order inquiries were created.
+     *
+     * @param index The position of the inquiry.
+     * @return The removed inquiry.
+     */
+    @Override
+    public Inquiry remove(int index) {
+        Inquiry removed = get(index);
+        remove(removed);
+        return removed;
+    }
+
+    /**
+     * Assigns an inquiry to a member of staff, moving it to their queue.
+     * An inquiry that is not in the list is only assigned.
+     *
+     * @param inquiry    The inquiry to assign.
+     * @param assignedTo The email of the staff member, or null to leave the inquiry unassigned.
+     */
+    public void reassign(Inquiry inquiry, String assignedTo) {
+        synchronized (inquiry) {
+            String previous = inquiry.getAssignedTo();
+            if (Objects.equals(previous, assignedTo)) {
+                return;
+            }
+            inquiry.setAssignedTo(assignedTo);
+            CreationKey key = new CreationKey(inquiry);
+            if (queueOf(previous).remove(key, inquiry)) {
+                queueOf(assignedTo).put(key, inquiry);
+            }
+        }
+    }
+
+    /**
+     * Gets the inquiries assigned to a member of staff, in the order they were created.
+     *
+     * @param assignedTo The email of the staff member.
+     * @return An unmodifiable list of the staff member's inquiries at the time of the call.
+     */
+    public List<Inquiry> getAssignedTo(String assignedTo) {
+        ConcurrentNavigableMap<CreationKey, Inquiry> queue =
+                assignedTo == null ? unassignedInquiries : inquiriesByAssignee.get(assignedTo);
+        return queue == null ? List.of() : List.copyOf(queue.values());
+    }
+
+    /**
+     * Gets the inquiries that have not been assigned to anyone, in the order they were created.
+     *
+     * @return An unmodifiable list of the unassigned inquiries at the time of the call.
+     */
+    public List<Inquiry> getUnassigned() {
+        return List.copyOf(unassignedInquiries.values());
+    }
+
+    /**
+     * Gets every pending inquiry, in the order they were created.
+     *
+     * @return An unmodifiable list of the pending inquiries at the time of the call.
+     */
+    public List<Inquiry> getPending() {
+        return List.copyOf(inquiriesByCreation.values());
+    }
+
+    /**
+     * Gets a page of pending inquiries in the order they were created, optionally only those about one course
+     * or assigned to one member of staff. The page is read from a sorted index starting at the cursor, so fetching
+     * it costs time in proportion to the page size rather than to the number of pending inquiries. When filtering
+     * by both course and assignee, the assignee's queue is read and inquiries about other courses are skipped.
+     *
+     * @param cursor     The cursor returned with the previous page, or null for the first page.
+     * @param pageSize   The largest number of inquiries on the page. Must be positive.
+     * @param courseCode The course code to filter by, ignoring case, or null for inquiries about any course.
+     * @param assignedTo The email of the staff member to filter by, {@link #UNASSIGNED} for unassigned inquiries,
+     *                   or null for inquiries assigned to anyone or no one.
+     * @return The page of inquiries, with the cursor of the next page.
+     * @throws IllegalArgumentException If the cursor was not returned with a page, or the page size is not positive.
+     */
+    public InquiryPage getPage(String cursor, int pageSize, String courseCode, String assignedTo) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        ConcurrentNavigableMap<CreationKey, Inquiry> index;
+        if (assignedTo != null) {
+            index = assignedTo.equals(UNASSIGNED) ? unassignedInquiries : inquiriesByAssignee.get(assignedTo);
+        } else if (courseCode != null) {
+            index = inquiriesByCourse.get(courseKey(courseCode));
+        } else {
+            index = inquiriesByCreation;
+        }
+        if (index == null) {
+            return new InquiryPage(List.of(), null);
+        }
+        if (cursor != null) {
+            index = index.tailMap(CreationKey.parse(cursor), false);
+        }
+
+        List<Inquiry> page = new ArrayList<>(pageSize);
+        for (Map.Entry<CreationKey, Inquiry> entry : index.entrySet()) {
+            Inquiry inquiry = entry.getValue();
+            if (courseCode != null && !(inquiry.hasCourseCode() && inquiry.getCourseCode().equalsIgnoreCase(courseCode))) {
+                continue;
+            }
+            if (page.size() == pageSize) {
+                // There is at least one more inquiry, so the page ends with a cursor
+                return new InquiryPage(page, new CreationKey(page.get(pageSize - 1)).toString());
+            }
+            page.add(inquiry);
+        }
+        return new InquiryPage(page, null);
+    }
+
+    private ConcurrentNavigableMap<CreationKey, Inquiry> queueOf(String assignedTo) {
+        if (assignedTo == null) {
+            return unassignedInquiries;
+        }
+        return inquiriesByAssignee.computeIfAbsent(assignedTo, key -> new ConcurrentSkipListMap<>());
+    }
+
+    private static String courseKey(String courseCode) {
+        return courseCode.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * The position of an inquiry in the order inquiries were created. Its string form is the cursor
+     * handed out with a page.
+     */
+    private static final class CreationKey implements Comparable<CreationKey> {
+        private final LocalDateTime createdAt;
+        private final long id;
+
+        private CreationKey(Inquiry inquiry) {
+            this(inquiry.getCreatedAt(), inquiry.getId());
+        }
+
+        private CreationKey(LocalDateTime createdAt, long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        private static CreationKey parse(String cursor) {
+            int separator = cursor.lastIndexOf('#');
+            try {
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Invalid inquiry cursor: " + cursor);
+                }
+                return new CreationKey(LocalDateTime.parse(cursor.substring(0, separator)),
+                        Long.parseLong(cursor.substring(separator + 1)));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid inquiry cursor: " + cursor, e);
+            }
+        }
+
+        @Override
+        public int compareTo(CreationKey other) {
+            int byTime = createdAt.compareTo(other.createdAt);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CreationKey)) {
+                return false;
+            }
+            CreationKey other = (CreationKey) o;
+            return id == other.id && createdAt.equals(other.createdAt);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(createdAt, id);
+        }
+
+        @Override
+        public String toString() {
+            return createdAt + "#" + id;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package model;
+
+import java.util.List;
+
+/**
+ * The InquiryPage class represents one page of pending inquiries, in the order they were created,
+ * along with the cursor that fetches the page after it.
+ */
+public class InquiryPage {
+    private final List<Inquiry> inquiries;
+    private final String nextCursor;
+
+    /**
+     * Constructs an InquiryPage with the specified inquiries and cursor.
+     *
+     * @param inquiries  The inquiries on the page, oldest first.
+     * @param nextCursor The cursor of the next page, or null if this is the last page.
+     */
+    public InquiryPage(List<Inquiry> inquiries, String nextCursor) {
+        this.inquiries = List.copyOf(inquiries);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the inquiries on the page.
+     *
+     * @return An unmodifiable list of inquiries, oldest first.
+     */
+    public List<Inquiry> getInquiries() {
+        return inquiries;
+    }
+
+    /**
+     * Gets the cursor that fetches the page after this one. The cursor stays valid when the inquiries on this page
+     * are answered, so paging never skips or repeats an inquiry.
+     *
+     * @return The cursor of the next page, or null if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Checks if there are more inquiries after this page.
+     *
+     * @return true if there is a next page, false otherwise.
+     */
+    public boolean hasNextPage() {
+        return nextCursor != null;
+    }
+}
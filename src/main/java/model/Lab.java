@@ -31,6 +31,15 @@ public class Lab extends Activity {
         this.capacity = capacity;
     }
 
+    /**
+     * Gets the maximum number of participants for the lab activity.
+     *
+     * @return The capacity of the lab.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
     /**
      * Returns a string representation of the lab activity, including its type and capacity,
      * along with the common details inherited from the Activity class.
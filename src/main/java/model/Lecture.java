@@ -40,6 +40,16 @@ public class Lecture extends Activity {
         return (this.recorded);
     }
 
+    /**
+     * Checks if the lecture is not recorded.
+     *
+     * @return true if the lecture is unrecorded, false otherwise.
+     */
+    @Override
+    public boolean isUnrecordedLecture() {
+        return !recorded;
+    }
+
     /**
      * Returns a string representation of the lecture activity, including its type and recorded status,
      * along with the common details inherited from the Activity class.
@@ -0,0 +1,388 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The LogRecord class represents one state-changing operation in the {@link WriteAheadLog}.
+ * A record is encoded when it is created, so later changes to the objects it describes do not alter it,
+ * and it is applied on replay through the unlogged apply methods of {@link CourseManager} and
+ * the collections of {@link SharedContext}, so replaying never writes to the log or the view.
+ */
+public class LogRecord {
+    /**
+     * The kinds of operation a record can describe.
+     */
+    public enum Type {
+        ADD_COURSE,
+        REMOVE_COURSE,
+        REMOVE_COURSES,
+        ADD_COURSE_TO_TIMETABLE,
+        REMOVE_COURSE_FROM_TIMETABLE,
+        CHOOSE_ACTIVITY,
+        ADD_INQUIRY,
+        ASSIGN_INQUIRY,
+        REMOVE_INQUIRY,
+        ADD_FAQ_ITEM,
+        REMOVE_FAQ_ITEM
+    }
+
+    private static final Type[] TYPES = Type.values();
+    private static final int MAX_STRING_BYTES = 1 << 24;
+
+    private final Type type;
+    private final byte[] payload;
+
+    private LogRecord(Type type, byte[] payload) {
+        this.type = type;
+        this.payload = payload;
+    }
+
+    /**
+     * Creates a record of a course being added, with its activities and members.
+     *
+     * @param course The course added.
+     * @return The record.
+     */
+    public static LogRecord addCourse(Course course) {
+        return encode(Type.ADD_COURSE, out -> ContextSnapshot.writeCourse(course, out));
+    }
+
+    /**
+     * Creates a record of a course being removed.
+     *
+     * @param courseCode The code of the course removed.
+     * @return The record.
+     */
+    public static LogRecord removeCourse(String courseCode) {
+        return encode(Type.REMOVE_COURSE, out -> writeString(out, courseCode));
+    }
+
+    /**
+     * Creates a record of several courses being removed at once.
+     *
+     * @param courseCodes The codes of the courses removed.
+     * @return The record.
+     */
+    public static LogRecord removeCourses(Set<String> courseCodes) {
+        return encode(Type.REMOVE_COURSES, out -> {
+            out.writeInt(courseCodes.size());
+            for (String courseCode : courseCodes) {
+                writeString(out, courseCode);
+            }
+        });
+    }
+
+    /**
+     * Creates a record of a course being added to a student's timetable.
+     *
+     * @param studentEmail The email of the student.
+     * @param courseCode   The code of the course added.
+     * @return The record.
+     */
+    public static LogRecord addCourseToTimetable(String studentEmail, String courseCode) {
+        return encode(Type.ADD_COURSE_TO_TIMETABLE, out -> {
+            writeString(out, studentEmail);
+            writeString(out, courseCode);
+        });
+    }
+
+    /**
+     * Creates a record of a course being removed from a student's timetable.
+     *
+     * @param studentEmail The email of the student.
+     * @param courseCode   The code of the course removed.
+     * @return The record.
+     */
+    public static LogRecord removeCourseFromTimetable(String studentEmail, String courseCode) {
+        return encode(Type.REMOVE_COURSE_FROM_TIMETABLE, out -> {
+            writeString(out, studentEmail);
+            writeString(out, courseCode);
+        });
+    }
+
+    /**
+     * Creates a record of a student choosing an activity.
+     *
+     * @param studentEmail The email of the student.
+     * @param courseCode   The code of the course the activity belongs to.
+     * @param activityId   The ID of the activity chosen.
+     * @return The record.
+     */
+    public static LogRecord chooseActivity(String studentEmail, String courseCode, int activityId) {
+        return encode(Type.CHOOSE_ACTIVITY, out -> {
+            writeString(out, studentEmail);
+            writeString(out, courseCode);
+            out.writeInt(activityId);
+        });
+    }
+
+    /**
+     * Creates a record of an inquiry being sent.
+     *
+     * @param inquiry The inquiry sent.
+     * @return The record.
+     */
+    public static LogRecord addInquiry(Inquiry inquiry) {
+        return encode(Type.ADD_INQUIRY, out -> {
+            out.writeLong(inquiry.getId());
+            out.writeLong(inquiry.getCreatedAt().toLocalDate().toEpochDay());
+            out.writeLong(inquiry.getCreatedAt().toLocalTime().toNanoOfDay());
+            writeString(out, inquiry.getInquirerEmail());
+            writeString(out, inquiry.getSubject());
+            writeString(out, inquiry.getContent());
+            writeString(out, inquiry.hasCourseCode() ? inquiry.getCourseCode() : null);
+            writeString(out, inquiry.getAssignedTo());
+        });
+    }
+
+    /**
+     * Creates a record of an inquiry being assigned to a member of staff.
+     *
+     * @param inquiry    The inquiry assigned.
+     * @param assignedTo The email of the staff member.
+     * @return The record.
+     */
+    public static LogRecord assignInquiry(Inquiry inquiry, String assignedTo) {
+        return encode(Type.ASSIGN_INQUIRY, out -> {
+            out.writeLong(inquiry.getId());
+            writeString(out, assignedTo);
+        });
+    }
+
+    /**
+     * Creates a record of an inquiry being answered and removed.
+     *
+     * @param inquiry The inquiry removed.
+     * @return The record.
+     */
+    public static LogRecord removeInquiry(Inquiry inquiry) {
+        return encode(Type.REMOVE_INQUIRY, out -> out.writeLong(inquiry.getId()));
+    }
+
+    /**
+     * Creates a record of an FAQ item being added. Sections on the path that do not exist when the record
+     * is replayed are created.
+     *
+     * @param path The topics leading to the section the item was added to, root first.
+     * @param item The item added.
+     * @return The record.
+     */
+    public static LogRecord addFAQItem(List<String> path, FAQItem item) {
+        return encode(Type.ADD_FAQ_ITEM, out -> {
+            writePath(out, path);
+            out.writeInt(item.getNumber());
+            writeString(out, item.getQuestion());
+            writeString(out, item.getAnswer());
+            writeString(out, item.getCourseTag());
+        });
+    }
+
+    /**
+     * Creates a record of an FAQ item being removed.
+     *
+     * @param path   The topics leading to the section the item was removed from, root first.
+     * @param number The number of the item removed.
+     * @return The record.
+     */
+    public static LogRecord removeFAQItem(List<String> path, int number) {
+        return encode(Type.REMOVE_FAQ_ITEM, out -> {
+            writePath(out, path);
+            out.writeInt(number);
+        });
+    }
+
+    /**
+     * Gets the kind of operation this record describes.
+     *
+     * @return The record type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Encodes the record as its type followed by its payload.
+     *
+     * @return The encoded record.
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[payload.length + 1];
+        bytes[0] = (byte) type.ordinal();
+        System.arraycopy(payload, 0, bytes, 1, payload.length);
+        return bytes;
+    }
+
+    /**
+     * Decodes a record encoded by {@link #toBytes()}.
+     *
+     * @param bytes The encoded record.
+     * @return The record.
+     * @throws IOException If the bytes do not start with a known record type.
+     */
+    public static LogRecord fromBytes(byte[] bytes) throws IOException {
+        if (bytes.length == 0 || (bytes[0] & 0xFF) >= TYPES.length) {
+            throw new IOException("Unknown log record type");
+        }
+        return new LogRecord(TYPES[bytes[0]], Arrays.copyOfRange(bytes, 1, bytes.length));
+    }
+
+    /**
+     * Applies the operation this record describes to a context, without logging it again.
+     * Operations on courses, timetables, inquiries or sections that no longer exist are skipped.
+     *
+     * @param context The context to apply the record to.
+     * @throws IOException If the record payload is malformed.
+     */
+    public void apply(SharedContext context) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        CourseManager courseManager = context.getCourseManager();
+        try {
+            switch (type) {
+                case ADD_COURSE -> courseManager.applyAddCourse(ContextSnapshot.readCourse(in));
+                case REMOVE_COURSE -> courseManager.applyRemoveCourse(readString(in));
+                case REMOVE_COURSES -> {
+                    int count = in.readInt();
+                    Set<String> courseCodes = new LinkedHashSet<>();
+                    for (int i = 0; i < count; i++) {
+                        courseCodes.add(readString(in));
+                    }
+                    courseManager.applyRemoveCourses(courseCodes);
+                }
+                case ADD_COURSE_TO_TIMETABLE -> {
+                    String studentEmail = readString(in);
+                    Course course = courseManager.getCourseByCode(readString(in));
+                    if (course != null) {
+                        courseManager.applyAddCourseToTimetable(studentEmail, course);
+                    }
+                }
+                case REMOVE_COURSE_FROM_TIMETABLE -> {
+                    String studentEmail = readString(in);
+                    Course course = courseManager.getCourseByCode(readString(in));
+                    if (course != null) {
+                        courseManager.applyRemoveCourseFromTimetable(studentEmail, course);
+                    }
+                }
+                case CHOOSE_ACTIVITY -> courseManager.applyChooseActivity(readString(in), readString(in), in.readInt());
+                case ADD_INQUIRY -> {
+                    long id = in.readLong();
+                    LocalDateTime createdAt = readDateTime(in);
+                    Inquiry inquiry = new Inquiry(id, readString(in), readString(in), readString(in), readString(in),
+                            createdAt);
+                    inquiry.setAssignedTo(readString(in));
+                    context.inquiries.add(inquiry);
+                }
+                case ASSIGN_INQUIRY -> {
+                    Inquiry inquiry = context.getInquiry(in.readLong());
+                    String assignedTo = readString(in);
+                    if (inquiry != null) {
+                        context.applyAssignInquiry(inquiry, assignedTo);
+                    }
+                }
+                case REMOVE_INQUIRY -> {
+                    Inquiry inquiry = context.getInquiry(in.readLong());
+                    if (inquiry != null) {
+                        context.inquiries.remove(inquiry);
+                    }
+                }
+                case ADD_FAQ_ITEM -> {
+                    FAQSection section = context.getFAQ().getOrCreateSection(readPath(in));
+                    int number = in.readInt();
+                    section.getItems().add(new FAQItem(readString(in), readString(in), readString(in), number));
+                    context.faqChanged();
+                }
+                case REMOVE_FAQ_ITEM -> {
+                    FAQSection section = context.getFAQ().findSection(readPath(in));
+                    int number = in.readInt();
+                    if (section != null) {
+                        List<FAQItem> items = section.getItems();
+                        for (int i = 0; i < items.size(); i++) {
+                            if (items.get(i).getNumber() == number) {
+                                context.getFAQ().removeItem(section, i);
+                                context.faqChanged();
+                                break;
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt " + type + " log record: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the fields of a record payload.
+     */
+    @FunctionalInterface
+    private interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static LogRecord encode(Type type, PayloadWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            // Writing to memory does not fail
+            throw new UncheckedIOException(e);
+        }
+        return new LogRecord(type, bytes.toByteArray());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return LocalDateTime.of(LocalDate.ofEpochDay(in.readLong()), LocalTime.ofNanoOfDay(in.readLong()));
+    }
+
+    private static void writePath(DataOutputStream out, List<String> path) throws IOException {
+        out.writeInt(path.size());
+        for (String topic : path) {
+            writeString(out, topic);
+        }
+    }
+
+    private static List<String> readPath(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> path = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            path.add(readString(in));
+        }
+        return path;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IOException("Corrupt string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
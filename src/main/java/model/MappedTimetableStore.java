@@ -0,0 +1,467 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The MappedTimetableStore class keeps student timetables off the heap, in a memory-mapped file of
+ * fixed-width 16-byte slot records: the activity ID, the start and end as minutes of the week,
+ * the ordinal of the course code and the packed type and status flags of {@link TimeSlotRecords}, with the
+ * seconds past the minute of the start and end in the two upper bytes of the flags.
+ *
+ * <p>Each student owns an extent of the file: a header record holding the slot count and capacity,
+ * followed by room for that many slots. Capacities are powers of two, so adding slots with
+ * {@link #append(String, TimeSlotRecords)} or changing one with {@link #set(String, int, TimeSlotRecords)} writes
+ * only the records that changed, and a timetable is copied to a new extent of twice the capacity only when it
+ * outgrows its own. The old extent is left untouched until the move has been forced to disk, so a crash before
+ * the move is recorded leaves the previous timetable readable. After that the extent is free, and the next
+ * timetable that needs an extent of the same capacity reuses it. The data file never shrinks, but it only grows
+ * when no free extent fits, so its size follows the peak number of timetables rather than the number of writes.
+ * Course codes and the location of each student's extent are kept in an append-only sidecar dictionary next
+ * to the data file, so the store survives restarts without being rewritten.
+ *
+ * <p>Times are stored to the second. All methods are safe to call from several threads at once.
+ */
+public class MappedTimetableStore implements Closeable {
+    /** The magic number at the start of every store file, "HTTS" in ASCII. */
+    public static final int MAGIC = 0x48545453;
+    /** The store format version written by this class. */
+    public static final int VERSION = 1;
+    /** The size of one slot record, and of an extent header, in bytes. */
+    public static final int RECORD_BYTES = 16;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int START_SECOND_SHIFT = 16;
+    private static final int END_SECOND_SHIFT = 24;
+    private static final int FLAG_BITS = 0xFFFF;
+    private static final int MIN_CAPACITY = 8;
+    private static final long INITIAL_MAPPING_BYTES = 1 << 20;
+    private static final byte COURSE_ENTRY = 'C';
+    private static final byte STUDENT_ENTRY = 'S';
+    private static final long REMOVED = -1;
+
+    private final FileChannel data;
+    private final FileChannel dictionary;
+    private MappedByteBuffer mapping;
+    private final List<String> courseCodes = new ArrayList<>();
+    private final Map<String, Integer> courseOrdinals = new HashMap<>();
+    private final Map<String, Long> extentsByEmail = new LinkedHashMap<>();
+    // Extents that no timetable uses, by capacity; those freed since the last force are not reused yet
+    private final Map<Integer, Deque<Long>> freeExtentsByCapacity = new HashMap<>();
+    private final List<Long> unforcedFreeExtents = new ArrayList<>();
+    // Offsets below are in records; record 0 is the file header
+    private long nextFreeRecord = 1;
+    private long garbageRecords;
+
+    private MappedTimetableStore(FileChannel data, FileChannel dictionary) {
+        this.data = data;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Opens a store, creating it if it does not exist. The sidecar dictionary is the data file's path
+     * with ".dict" appended.
+     *
+     * @param path The data file of the store.
+     * @return The opened store.
+     * @throws IOException If the files cannot be opened or are not a valid store.
+     */
+    public static MappedTimetableStore open(Path path) throws IOException {
+        Path dictionaryPath = Paths.get(path.toString() + ".dict");
+        FileChannel data = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel dictionary = null;
+        try {
+            dictionary = FileChannel.open(dictionaryPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedTimetableStore store = new MappedTimetableStore(data, dictionary);
+            store.load(Files.readAllBytes(dictionaryPath));
+            return store;
+        } catch (IOException | RuntimeException e) {
+            data.close();
+            if (dictionary != null) {
+                dictionary.close();
+            }
+            throw e;
+        }
+    }
+
+    private void load(byte[] dictionaryBytes) throws IOException {
+        boolean created = data.size() == 0;
+        mapping = data.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(data.size(), INITIAL_MAPPING_BYTES));
+        if (created) {
+            mapping.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_BYTES);
+        } else if (mapping.getInt(0) != MAGIC || mapping.getInt(4) != VERSION || mapping.getInt(8) != RECORD_BYTES) {
+            throw new IOException("Not a timetable store file");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(dictionaryBytes));
+        Set<Long> freeOffsets = new LinkedHashSet<>();
+        long validBytes = 0;
+        try {
+            while (in.available() > 0) {
+                byte kind = in.readByte();
+                if (kind == COURSE_ENTRY) {
+                    String courseCode = in.readUTF();
+                    courseOrdinals.put(courseCode, courseCodes.size());
+                    courseCodes.add(courseCode);
+                } else if (kind == STUDENT_ENTRY) {
+                    String email = in.readUTF();
+                    long offset = in.readLong();
+                    if (offset != REMOVED && (offset < 1 || (offset + 1) * RECORD_BYTES > mapping.capacity()
+                            || (offset + 1 + capacityAt(offset)) * RECORD_BYTES > mapping.capacity())) {
+                        throw new IOException("Corrupt extent offset " + offset + " for " + email);
+                    }
+                    Long previous = offset == REMOVED ? extentsByEmail.remove(email) : extentsByEmail.put(email, offset);
+                    if (previous != null && previous != offset) {
+                        freeOffsets.add(previous);
+                    }
+                    if (offset != REMOVED) {
+                        // A freed extent may have been handed to another student since
+                        freeOffsets.remove(offset);
+                        nextFreeRecord = Math.max(nextFreeRecord, offset + 1 + capacityAt(offset));
+                    }
+                } else {
+                    break;
+                }
+                validBytes = dictionaryBytes.length - in.available();
+            }
+        } catch (EOFException e) {
+            // A torn entry at the end of the dictionary is dropped
+        }
+        // Every entry read back is already on disk, so the extents it freed can be reused straight away
+        for (long offset : freeOffsets) {
+            free(offset);
+        }
+        releaseFreedExtents();
+        dictionary.truncate(validBytes);
+        dictionary.position(validBytes);
+    }
+
+    /**
+     * Gets the time slots stored for a student.
+     *
+     * @param studentEmail The email of the student.
+     * @return The stored time slots, empty if the student has no timetable in the store.
+     */
+    public synchronized TimeSlotRecords get(String studentEmail) {
+        Long offset = extentsByEmail.get(studentEmail);
+        if (offset == null) {
+            return new TimeSlotRecords(0);
+        }
+        int count = Math.min(countAt(offset), capacityAt(offset));
+        TimeSlotRecords slots = new TimeSlotRecords(count);
+        long position = (offset + 1) * RECORD_BYTES;
+        for (int i = 0; i < count; i++, position += RECORD_BYTES) {
+            int index = (int) position;
+            int startMinute = mapping.getChar(index + 4);
+            int endMinute = mapping.getChar(index + 6);
+            int dayStart = startMinute / MINUTES_PER_DAY * MINUTES_PER_DAY;
+            int flags = mapping.getInt(index + 12);
+            slots.add(mapping.getInt(index),
+                    (startMinute - dayStart) * 60 + (flags >>> START_SECOND_SHIFT & 0xFF),
+                    (endMinute - dayStart) * 60 + (flags >>> END_SECOND_SHIFT & 0xFF),
+                    flags & FLAG_BITS, courseCodes.get(mapping.getInt(index + 8)));
+        }
+        return slots;
+    }
+
+    /**
+     * Stores the time slots of a student, replacing any stored before.
+     *
+     * @param studentEmail The email of the student.
+     * @param slots        The time slots to store.
+     * @throws UncheckedIOException If the store cannot be written.
+     */
+    public synchronized void put(String studentEmail, TimeSlotRecords slots) {
+        try {
+            int count = slots.size();
+            int[] ordinals = ordinalsOf(slots);
+
+            Long previous = extentsByEmail.get(studentEmail);
+            boolean moved = previous == null || capacityAt(previous) < count;
+            long offset = moved ? allocate(capacityFor(count)) : previous;
+
+            writeRecords(offset, 0, slots, ordinals);
+            // The count is written last so a reader never sees slots that are not there yet
+            mapping.putInt((int) (offset * RECORD_BYTES), count);
+
+            if (moved) {
+                appendStudentEntry(studentEmail, offset);
+                extentsByEmail.put(studentEmail, offset);
+                if (previous != null) {
+                    free(previous);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Adds time slots after those stored for a student, writing only the new records unless the timetable
+     * has to move to a bigger extent.
+     *
+     * @param studentEmail The email of the student.
+     * @param slots        The time slots to add.
+     * @throws UncheckedIOException If the store cannot be written.
+     */
+    public synchronized void append(String studentEmail, TimeSlotRecords slots) {
+        Long offset = extentsByEmail.get(studentEmail);
+        int count = offset == null ? 0 : Math.min(countAt(offset), capacityAt(offset));
+        if (offset == null || capacityAt(offset) - count < slots.size()) {
+            TimeSlotRecords all = get(studentEmail);
+            for (int i = 0; i < slots.size(); i++) {
+                all.add(slots.getActivityId(i), slots.getStartSecond(i), slots.getEndSecond(i), slots.getFlags(i),
+                        slots.getCourseCode(i));
+            }
+            put(studentEmail, all);
+            return;
+        }
+        try {
+            writeRecords(offset, count, slots, ordinalsOf(slots));
+            mapping.putInt((int) (offset * RECORD_BYTES), count + slots.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replaces some of the time slots stored for a student, writing only their records.
+     *
+     * @param studentEmail The email of the student.
+     * @param index        The position of the first time slot to replace.
+     * @param slots        The time slots to store from that position on.
+     * @throws IndexOutOfBoundsException If the student has fewer stored time slots than the range to replace.
+     * @throws UncheckedIOException      If the store cannot be written.
+     */
+    public synchronized void set(String studentEmail, int index, TimeSlotRecords slots) {
+        Long offset = extentsByEmail.get(studentEmail);
+        int count = offset == null ? 0 : Math.min(countAt(offset), capacityAt(offset));
+        if (index < 0 || index + slots.size() > count) {
+            throw new IndexOutOfBoundsException("Slots " + index + " to " + (index + slots.size())
+                    + " are not stored for " + studentEmail + ", who has " + count);
+        }
+        try {
+            writeRecords(offset, index, slots, ordinalsOf(slots));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Removes the timetable of a student from the store.
+     *
+     * @param studentEmail The email of the student.
+     * @return true if the student had a timetable in the store, false otherwise.
+     * @throws UncheckedIOException If the store cannot be written.
+     */
+    public synchronized boolean remove(String studentEmail) {
+        Long offset = extentsByEmail.remove(studentEmail);
+        if (offset == null) {
+            return false;
+        }
+        try {
+            appendStudentEntry(studentEmail, REMOVED);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        free(offset);
+        return true;
+    }
+
+    /**
+     * Checks if a student has a timetable in the store.
+     *
+     * @param studentEmail The email of the student.
+     * @return true if the store holds a timetable for the student, false otherwise.
+     */
+    public synchronized boolean contains(String studentEmail) {
+        return extentsByEmail.containsKey(studentEmail);
+    }
+
+    /**
+     * Gets the emails of every student with a timetable in the store.
+     *
+     * @return An unmodifiable copy of the emails, in the order the students were first stored.
+     */
+    public synchronized Set<String> getStudentEmails() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(extentsByEmail.keySet()));
+    }
+
+    /**
+     * Gets the number of students with a timetable in the store.
+     *
+     * @return The number of timetables.
+     */
+    public synchronized int size() {
+        return extentsByEmail.size();
+    }
+
+    /**
+     * Gets the number of records in the data file that belong to no timetable, left behind when
+     * timetables moved to bigger extents or were removed, and not yet reused.
+     *
+     * @return The number of unused records.
+     */
+    public synchronized long getGarbageRecords() {
+        return garbageRecords;
+    }
+
+    /**
+     * Forces every change made so far to disk. Extents freed before the call can be reused afterwards.
+     *
+     * @throws IOException If the files cannot be forced.
+     */
+    public synchronized void force() throws IOException {
+        mapping.force();
+        dictionary.force(false);
+        releaseFreedExtents();
+    }
+
+    /**
+     * Forces every change to disk and closes the store.
+     *
+     * @throws IOException If the files cannot be forced or closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            force();
+        } finally {
+            data.close();
+            dictionary.close();
+        }
+    }
+
+    private int countAt(long offset) {
+        return mapping.getInt((int) (offset * RECORD_BYTES));
+    }
+
+    private int capacityAt(long offset) {
+        return mapping.getInt((int) (offset * RECORD_BYTES) + 4);
+    }
+
+    private static int capacityFor(int count) {
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(count, 1) * 2 - 1));
+    }
+
+    private void free(long offset) {
+        garbageRecords += 1 + capacityAt(offset);
+        unforcedFreeExtents.add(offset);
+    }
+
+    private void releaseFreedExtents() {
+        for (long offset : unforcedFreeExtents) {
+            freeExtentsByCapacity.computeIfAbsent(capacityAt(offset), capacity -> new ArrayDeque<>()).push(offset);
+        }
+        unforcedFreeExtents.clear();
+    }
+
+    private long allocate(int capacity) throws IOException {
+        Deque<Long> free = freeExtentsByCapacity.get(capacity);
+        if (free != null && !free.isEmpty()) {
+            long offset = free.pop();
+            garbageRecords -= 1 + capacity;
+            mapping.putInt((int) (offset * RECORD_BYTES), 0);
+            return offset;
+        }
+        long offset = nextFreeRecord;
+        long end = (offset + 1 + capacity) * RECORD_BYTES;
+        if (end > mapping.capacity()) {
+            long size = mapping.capacity();
+            while (size < end) {
+                size *= 2;
+            }
+            if (size > Integer.MAX_VALUE) {
+                size = Integer.MAX_VALUE;
+                if (end > size) {
+                    throw new IOException("Timetable store is full");
+                }
+            }
+            mapping.force();
+            mapping = data.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        int index = (int) (offset * RECORD_BYTES);
+        mapping.putInt(index, 0).putInt(index + 4, capacity);
+        nextFreeRecord = offset + 1 + capacity;
+        return offset;
+    }
+
+    private void writeRecords(long offset, int from, TimeSlotRecords slots, int[] ordinals) {
+        long position = (offset + 1 + from) * RECORD_BYTES;
+        for (int i = 0; i < slots.size(); i++, position += RECORD_BYTES) {
+            int dayStart = (slots.getFlags(i) & 7) * MINUTES_PER_DAY;
+            int index = (int) position;
+            mapping.putInt(index, slots.getActivityId(i));
+            mapping.putChar(index + 4, (char) (dayStart + slots.getStartSecond(i) / 60));
+            mapping.putChar(index + 6, (char) (dayStart + slots.getEndSecond(i) / 60));
+            mapping.putInt(index + 8, ordinals[i]);
+            mapping.putInt(index + 12, slots.getFlags(i)
+                    | slots.getStartSecond(i) % 60 << START_SECOND_SHIFT
+                    | slots.getEndSecond(i) % 60 << END_SECOND_SHIFT);
+        }
+    }
+
+    private int[] ordinalsOf(TimeSlotRecords slots) throws IOException {
+        int[] ordinals = new int[slots.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = ordinalOf(slots.getCourseCode(i));
+        }
+        return ordinals;
+    }
+
+    private int ordinalOf(String courseCode) throws IOException {
+        Integer ordinal = courseOrdinals.get(courseCode);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(COURSE_ENTRY);
+        out.writeUTF(courseCode);
+        writeDictionary(bytes.toByteArray());
+        courseOrdinals.put(courseCode, courseCodes.size());
+        courseCodes.add(courseCode);
+        return courseCodes.size() - 1;
+    }
+
+    private void appendStudentEntry(String studentEmail, long offset) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(STUDENT_ENTRY);
+        out.writeUTF(studentEmail);
+        out.writeLong(offset);
+        writeDictionary(bytes.toByteArray());
+    }
+
+    private void writeDictionary(byte[] entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(entry);
+        while (buffer.hasRemaining()) {
+            dictionary.write(buffer);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package model;
 
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.tinylog.Logger;
+
+import java.io.IOException;
 import java.util.*;
+import java.util.function.BiConsumer;
 import view.View;
 
 /**
@@ -11,15 +16,18 @@ import view.View;
 public class SharedContext {
     public static final String ADMIN_STAFF_EMAIL = "inquiries@hindeburg.ac.nz";
 
-    public static String COURSE_ORGANISER_EMAIL;
-
     public User currentUser;
 
     public final List<Inquiry> inquiries;
+    private final InquiryList inquiryList;
+    private final InquiryIntake inquiryIntake;
     public final FAQ faq;
 
     public final CourseManager courseManager;
     private final Map<String, Set<String>> faqTopicsUpdateSubscribers;
+    private final Object faqSearchIndexLock = new Object();
+    private volatile FAQSearchIndex faqSearchIndex;
+    private volatile boolean faqSearchIndexStale;
 
     View view;
 
@@ -32,7 +40,9 @@ public class SharedContext {
      */
     public SharedContext(View view) {
         this.currentUser = new Guest();
-        this.inquiries = new ArrayList<>();
+        this.inquiryList = new InquiryList();
+        this.inquiries = inquiryList;
+        this.inquiryIntake = new InquiryIntake(this);
         this.view = view;
         faq = new FAQ();
         courseManager = new CourseManager(view);
@@ -100,6 +110,261 @@ public class SharedContext {
         return faqTopicsUpdateSubscribers.getOrDefault(topic, new HashSet<>());
     }
 
+    /**
+     * Gets every FAQ topic with subscribers, together with the emails subscribed to it.
+     *
+     * @return An unmodifiable view of the subscriptions, keyed by topic.
+     */
+    public Map<String, Set<String>> getFAQTopicSubscriptions() {
+        return Collections.unmodifiableMap(faqTopicsUpdateSubscribers);
+    }
+
+    /**
+     * Sets the write-ahead log that state-changing operations on this context and its course manager are appended to.
+     *
+     * @param journal The log to append to, or null to stop logging.
+     */
+    public void setJournal(WriteAheadLog journal) {
+        courseManager.setJournal(journal);
+    }
+
+    /**
+     * Adds a new inquiry and records it in the write-ahead log.
+     *
+     * @param inquiry The inquiry to add.
+     */
+    public void addInquiry(Inquiry inquiry) {
+        inquiries.add(inquiry);
+        courseManager.journal(LogRecord.addInquiry(inquiry));
+    }
+
+    /**
+     * Submits a new inquiry through the intake queue, which records it in the write-ahead log and then makes it
+     * pending, routes it and notifies staff in the consumer stage.
+     *
+     * @param inquiry  The inquiry to submit.
+     * @param notifier Called with the inquiry and the email of the staff it was routed to.
+     */
+    public void submitInquiry(Inquiry inquiry, BiConsumer<Inquiry, String> notifier) {
+        inquiryIntake.submit(inquiry, notifier);
+    }
+
+    /**
+     * Gets the intake queue that new inquiries pass through, for starting its consumer and reading its metrics.
+     *
+     * @return The inquiry intake.
+     */
+    public InquiryIntake getInquiryIntake() {
+        return inquiryIntake;
+    }
+
+    /**
+     * Gets the email of the staff an inquiry should go to: the organiser of its course, or the admin staff
+     * if it is not about a course that exists.
+     *
+     * @param inquiry The inquiry to route.
+     * @return The email of the staff to notify.
+     */
+    String routeInquiry(Inquiry inquiry) {
+        if (inquiry.hasCourseCode()) {
+            CourseRoutingTable.Route route = courseManager.getInquiryRoute(inquiry.getCourseCode());
+            if (route != null) {
+                return route.getOrganiserEmail();
+            }
+        }
+        return ADMIN_STAFF_EMAIL;
+    }
+
+    /**
+     * Assigns an inquiry to a member of staff and records it in the write-ahead log.
+     *
+     * @param inquiry    The inquiry to assign.
+     * @param assignedTo The email of the staff member the inquiry is assigned to.
+     */
+    public void assignInquiry(Inquiry inquiry, String assignedTo) {
+        inquiryList.reassign(inquiry, assignedTo);
+        courseManager.journal(LogRecord.assignInquiry(inquiry, assignedTo));
+    }
+
+    /**
+     * Assigns an inquiry to a member of staff without recording it, for replaying the write-ahead log.
+     *
+     * @param inquiry    The inquiry to assign.
+     * @param assignedTo The email of the staff member the inquiry is assigned to.
+     */
+    void applyAssignInquiry(Inquiry inquiry, String assignedTo) {
+        inquiryList.reassign(inquiry, assignedTo);
+    }
+
+    /**
+     * Gets the pending inquiry with the given id.
+     *
+     * @param id The id of the inquiry.
+     * @return The inquiry, or null if no pending inquiry has the id.
+     */
+    public Inquiry getInquiry(long id) {
+        return inquiryList.getInquiry(id);
+    }
+
+    /**
+     * Gets every pending inquiry, in the order they were created.
+     *
+     * @return An unmodifiable list of the pending inquiries at the time of the call.
+     */
+    public List<Inquiry> getPendingInquiries() {
+        return inquiryList.getPending();
+    }
+
+    /**
+     * Gets the pending inquiries assigned to a member of staff, without looking at anyone else's.
+     *
+     * @param assignedTo The email of the staff member.
+     * @return An unmodifiable list of the staff member's inquiries at the time of the call, in the order they were created.
+     */
+    public List<Inquiry> getInquiriesAssignedTo(String assignedTo) {
+        return inquiryList.getAssignedTo(assignedTo);
+    }
+
+    /**
+     * Gets a page of pending inquiries in the order they were created, optionally only those about one course
+     * or assigned to one member of staff. Fetching a page costs time in proportion to the page size.
+     *
+     * @param cursor     The cursor returned with the previous page, or null for the first page.
+     * @param pageSize   The largest number of inquiries on the page.
+     * @param courseCode The course code to filter by, or null for inquiries about any course.
+     * @param assignedTo The email of the staff member to filter by, {@link InquiryList#UNASSIGNED} for unassigned
+     *                   inquiries, or null for all inquiries.
+     * @return The page of inquiries, with the cursor of the next page.
+     * @throws IllegalArgumentException If the cursor was not returned with a page, or the page size is not positive.
+     */
+    public InquiryPage getInquiryPage(String cursor, int pageSize, String courseCode, String assignedTo) {
+        return inquiryList.getPage(cursor, pageSize, courseCode, assignedTo);
+    }
+
+    /**
+     * Gets the pending inquiries that have not been assigned to a member of staff.
+     *
+     * @return An unmodifiable list of the unassigned inquiries at the time of the call, in the order they were created.
+     */
+    public List<Inquiry> getUnassignedInquiries() {
+        return inquiryList.getUnassigned();
+    }
+
+    /**
+     * Removes an inquiry once it has been answered and records it in the write-ahead log.
+     * When several staff answer the same inquiry at once, only one of them removes it.
+     *
+     * @param inquiry The inquiry to remove.
+     * @return true if the inquiry was removed, false if it was not found.
+     */
+    public boolean removeInquiry(Inquiry inquiry) {
+        if (!inquiries.remove(inquiry)) {
+            return false;
+        }
+        courseManager.journal(LogRecord.removeInquiry(inquiry));
+        return true;
+    }
+
+    /**
+     * Adds an item to an FAQ section and records it in the write-ahead log.
+     *
+     * @param section The section to add the item to.
+     * @param item    The item to add.
+     */
+    public void addFAQItem(FAQSection section, FAQItem item) {
+        section.getItems().add(item);
+        updateFAQSearchIndex(index -> index.addItem(section.getPath(), item));
+        courseManager.journal(LogRecord.addFAQItem(section.getPath(), item));
+    }
+
+    /**
+     * Removes an item from an FAQ section and records it in the write-ahead log.
+     * A section left without items is removed, as described in {@link FAQ#removeItem(FAQSection, int)},
+     * and the items of its subsections are re-indexed under their new topic path.
+     *
+     * @param section The section holding the item.
+     * @param index   The position of the item in the section.
+     * @return The removed item.
+     */
+    public FAQItem removeFAQItem(FAQSection section, int index) {
+        List<String> path = section.getPath();
+        List<FAQSection> movedSubsections = section.getItems().size() == 1
+                ? new ArrayList<>(section.getSubsections())
+                : List.of();
+        FAQItem removedItem = faq.removeItem(section, index);
+        updateFAQSearchIndex(searchIndex -> {
+            searchIndex.removeItem(removedItem.getNumber());
+            for (FAQSection subsection : movedSubsections) {
+                searchIndex.updateSection(subsection);
+            }
+        });
+        courseManager.journal(LogRecord.removeFAQItem(path, removedItem.getNumber()));
+        return removedItem;
+    }
+
+    /**
+     * Marks the FAQ search index as out of date, so it is rebuilt before the next search.
+     * Called when FAQ items are loaded in bulk, from a snapshot or the write-ahead log.
+     */
+    void faqChanged() {
+        faqSearchIndexStale = true;
+    }
+
+    /**
+     * An edit to the FAQ search index.
+     */
+    private interface FAQSearchIndexUpdate {
+        void apply(FAQSearchIndex index) throws IOException;
+    }
+
+    /**
+     * Applies an edit to the FAQ search index, if it has been built and is up to date. Otherwise the edit is left
+     * to the rebuild before the next search. If the edit fails, the index is rebuilt before the next search.
+     *
+     * @param update The edit to apply.
+     */
+    private void updateFAQSearchIndex(FAQSearchIndexUpdate update) {
+        synchronized (faqSearchIndexLock) {
+            if (faqSearchIndex == null || faqSearchIndexStale) {
+                return;
+            }
+            try {
+                update.apply(faqSearchIndex);
+            } catch (IOException e) {
+                Logger.error("{}, {}, updateFAQSearchIndex, FAILURE (Error: {})",
+                        System.currentTimeMillis(), getCurrentUserEmail(), e.getMessage());
+                faqChanged();
+            }
+        }
+    }
+
+    /**
+     * Searches the questions, answers and course tags of the FAQ, as described in {@link FAQSearchIndex}.
+     * The index is built on the first search and kept up to date by {@link #addFAQItem(FAQSection, FAQItem)} and
+     * {@link #removeFAQItem(FAQSection, int)}; it is only rebuilt after FAQ items are loaded in bulk.
+     * Searches do not wait for edits being made at the same time.
+     *
+     * @param queryText The query, in Lucene query syntax.
+     * @return The best matching items, best match first.
+     * @throws ParseException If the query is not valid query syntax.
+     * @throws IOException    If the index cannot be built or read.
+     */
+    public List<FAQSearchResult> searchFAQ(String queryText) throws ParseException, IOException {
+        FAQSearchIndex index = faqSearchIndex;
+        if (index == null || faqSearchIndexStale) {
+            synchronized (faqSearchIndexLock) {
+                if (faqSearchIndex == null) {
+                    faqSearchIndex = new FAQSearchIndex(faq);
+                } else if (faqSearchIndexStale) {
+                    faqSearchIndex.rebuild(faq);
+                }
+                faqSearchIndexStale = false;
+                index = faqSearchIndex;
+            }
+        }
+        return index.search(queryText, FAQSearchIndex.DEFAULT_MAX_RESULTS);
+    }
+
     /**
      * Gets the CourseManager associated with the shared context.
      *
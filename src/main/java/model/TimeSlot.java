@@ -17,6 +17,7 @@ public class TimeSlot {
     public LocalTime endTime;
     public DayOfWeek day;
     public ActivityType type;
+    private final boolean unrecordedLecture;
 
     /**
      * Constructs a TimeSlot object with the specified details.
@@ -33,7 +34,28 @@ public class TimeSlot {
                     LocalTime startTime, LocalTime endTime,
                     DayOfWeek day, ActivityType type,
                     String courseCode, TimeSlotStatus status) {
+        this(activityId, startTime, endTime, day, type, courseCode, status, false);
+    }
+
+    /**
+     * Constructs a TimeSlot object with the specified details, recording whether it is an unrecorded lecture.
+     *
+     * @param activityId        The unique identifier for the activity associated with the time slot.
+     * @param startTime         The start time of the time slot.
+     * @param endTime           The end time of the time slot.
+     * @param day               The day of the week the time slot occurs.
+     * @param type              The type of activity (e.g., lecture, lab).
+     * @param courseCode        The course code associated with the time slot.
+     * @param status            The current status of the time slot (e.g., chosen or not).
+     * @param unrecordedLecture Whether the time slot is for a lecture that is not recorded.
+     */
+    public TimeSlot(int activityId,
+                    LocalTime startTime, LocalTime endTime,
+                    DayOfWeek day, ActivityType type,
+                    String courseCode, TimeSlotStatus status,
+                    boolean unrecordedLecture) {
 
+        this.unrecordedLecture = unrecordedLecture;
         this.courseCode = courseCode;
         this.activityId = activityId;
         this.status = status;
@@ -136,6 +158,33 @@ public class TimeSlot {
         return type == this.type;
     }
 
+    /**
+     * Gets the type of activity of the time slot.
+     *
+     * @return The activity type.
+     */
+    public ActivityType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the current status of the time slot.
+     *
+     * @return The status of the time slot.
+     */
+    public TimeSlotStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Checks if the time slot is for a lecture that is not recorded.
+     *
+     * @return true if the time slot is an unrecorded lecture, false otherwise.
+     */
+    public boolean isUnrecordedLecture() {
+        return unrecordedLecture;
+    }
+
     /**
      * Provides a string representation of the time slot, including details such as the course code,
      * activity ID, time range, day, and activity type.
@@ -0,0 +1,249 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The TimeSlotIntervalIndex class indexes time slots by day and time range so that overlapping slots
+ * can be found without walking the whole timetable. Each day is kept in a randomised balanced search tree
+ * (a treap) ordered by start time, where every node also records the latest end time in its subtree.
+ * Insertions and removals take O(log n), and overlap queries take O(log n + k) for k overlapping slots.
+ */
+public class TimeSlotIntervalIndex {
+
+    private final Node[] roots;
+    private final Map<TimeSlot, Node> nodes;
+    private long nextSequence;
+
+    /**
+     * A tree node holding one indexed time slot. Start and end times are stored as seconds of the day.
+     */
+    private static final class Node {
+        private final TimeSlot slot;
+        private final int start;
+        private final int end;
+        private final long sequence;
+        private final int priority;
+        private int maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(TimeSlot slot, long sequence, int priority) {
+            this.slot = slot;
+            this.start = slot.getStartTime().toSecondOfDay();
+            this.end = slot.getEndTime().toSecondOfDay();
+            this.sequence = sequence;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    /**
+     * Constructs an empty TimeSlotIntervalIndex.
+     */
+    public TimeSlotIntervalIndex() {
+        this.roots = new Node[DayOfWeek.values().length];
+        this.nodes = new IdentityHashMap<>();
+    }
+
+    /**
+     * Adds a time slot to the index. Adding a slot that is already indexed has no effect.
+     *
+     * @param slot The time slot to add.
+     */
+    public void add(TimeSlot slot) {
+        if (nodes.containsKey(slot)) {
+            return;
+        }
+        Node node = new Node(slot, nextSequence, priorityOf(nextSequence));
+        nextSequence++;
+        int day = slot.getDay().ordinal();
+        roots[day] = insert(roots[day], node);
+        nodes.put(slot, node);
+    }
+
+    /**
+     * Removes a time slot from the index. Removing a slot that is not indexed has no effect.
+     *
+     * @param slot The time slot to remove.
+     */
+    public void remove(TimeSlot slot) {
+        Node node = nodes.remove(slot);
+        if (node == null) {
+            return;
+        }
+        int day = slot.getDay().ordinal();
+        roots[day] = delete(roots[day], node);
+    }
+
+    /**
+     * Checks if the given time slot is in the index.
+     *
+     * @param slot The time slot to check.
+     * @return true if the slot is indexed, false otherwise.
+     */
+    public boolean contains(TimeSlot slot) {
+        return nodes.containsKey(slot);
+    }
+
+    /**
+     * Gets the number of indexed time slots.
+     *
+     * @return The number of indexed time slots.
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Finds every indexed time slot on the given day that overlaps the given time range.
+     * Two ranges overlap if each one starts before the other ends.
+     *
+     * @param day       The day of the week to search.
+     * @param startTime The start time of the range.
+     * @param endTime   The end time of the range.
+     * @return The overlapping time slots, ordered by start time.
+     */
+    public List<TimeSlot> findOverlapping(DayOfWeek day, LocalTime startTime, LocalTime endTime) {
+        List<TimeSlot> overlapping = new ArrayList<>();
+        collectOverlapping(roots[day.ordinal()], startTime.toSecondOfDay(), endTime.toSecondOfDay(), overlapping);
+        return overlapping;
+    }
+
+    /**
+     * Retrieves every indexed time slot on the given day.
+     *
+     * @param day The day of the week.
+     * @return The time slots on that day, ordered by start time.
+     */
+    public List<TimeSlot> getSlots(DayOfWeek day) {
+        List<TimeSlot> slots = new ArrayList<>();
+        collectInOrder(roots[day.ordinal()], slots);
+        return slots;
+    }
+
+    private void collectOverlapping(Node node, int start, int end, List<TimeSlot> overlapping) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, overlapping);
+        if (node.start >= end) {
+            // This node and everything to its right start too late to overlap
+            return;
+        }
+        if (node.end > start) {
+            overlapping.add(node.slot);
+        }
+        collectOverlapping(node.right, start, end, overlapping);
+    }
+
+    private void collectInOrder(Node node, List<TimeSlot> slots) {
+        if (node == null) {
+            return;
+        }
+        collectInOrder(node.left, slots);
+        slots.add(node.slot);
+        collectInOrder(node.right, slots);
+    }
+
+    private static int compare(Node a, Node b) {
+        if (a.start != b.start) {
+            return Integer.compare(a.start, b.start);
+        }
+        return Long.compare(a.sequence, b.sequence);
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (compare(node, root) < 0) {
+            root.left = insert(root.left, node);
+            if (root.left.priority > root.priority) {
+                root = rotateRight(root);
+            }
+        } else {
+            root.right = insert(root.right, node);
+            if (root.right.priority > root.priority) {
+                root = rotateLeft(root);
+            }
+        }
+        update(root);
+        return root;
+    }
+
+    private static Node delete(Node root, Node node) {
+        if (root == null) {
+            return null;
+        }
+        if (root == node) {
+            return merge(root.left, root.right);
+        }
+        if (compare(node, root) < 0) {
+            root.left = delete(root.left, node);
+        } else {
+            root.right = delete(root.right, node);
+        }
+        update(root);
+        return root;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        int maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int priorityOf(long sequence) {
+        // Scramble the sequence number (SplitMix64 finaliser) so that priorities look random without
+        // every index carrying its own random number generator
+        long z = sequence * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31));
+    }
+}
@@ -0,0 +1,168 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * The TimeSlotRecords class stores time slots in a compact, object-free form: four ints per slot
+ * (activity ID, start and end second of the day, and packed flags) plus a shared reference to the course code.
+ * A restored timetable keeps its slots in this form until it is first used, so loading many timetables
+ * does not build a {@link TimeSlot} and its indexes for every slot up front.
+ */
+public class TimeSlotRecords {
+    private static final int INTS_PER_SLOT = 4;
+    private static final DayOfWeek[] DAYS = DayOfWeek.values();
+    private static final ActivityType[] TYPES = ActivityType.values();
+    private static final TimeSlotStatus[] STATUSES = TimeSlotStatus.values();
+
+    // Flags layout: bits 0-2 day of week, bits 3-4 activity type, bit 5 status, bit 6 unrecorded lecture
+    private static final int TYPE_SHIFT = 3;
+    private static final int STATUS_SHIFT = 5;
+    private static final int UNRECORDED_BIT = 1 << 6;
+
+    private int[] ints;
+    private String[] courseCodes;
+    private int size;
+
+    /**
+     * Constructs an empty TimeSlotRecords with room for the given number of slots.
+     *
+     * @param capacity The number of slots to allocate room for.
+     */
+    public TimeSlotRecords(int capacity) {
+        this.ints = new int[Math.max(capacity, 1) * INTS_PER_SLOT];
+        this.courseCodes = new String[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Packs the day, type, status and unrecorded-lecture flag of a time slot into a single int.
+     *
+     * @param slot The time slot.
+     * @return The packed flags.
+     */
+    public static int flagsOf(TimeSlot slot) {
+        int flags = slot.getDay().ordinal()
+                | slot.getType().ordinal() << TYPE_SHIFT
+                | slot.getStatus().ordinal() << STATUS_SHIFT;
+        return slot.isUnrecordedLecture() ? flags | UNRECORDED_BIT : flags;
+    }
+
+    /**
+     * Checks if packed flags describe a valid day, activity type and status.
+     *
+     * @param flags The packed flags.
+     * @return true if the flags can be decoded, false otherwise.
+     */
+    public static boolean isValidFlags(int flags) {
+        return (flags & 7) < DAYS.length
+                && (flags >>> TYPE_SHIFT & 3) < TYPES.length
+                && (flags & ~(UNRECORDED_BIT | 1 << STATUS_SHIFT | 3 << TYPE_SHIFT | 7)) == 0;
+    }
+
+    /**
+     * Adds a time slot to the records.
+     *
+     * @param slot The time slot to add.
+     */
+    public void add(TimeSlot slot) {
+        add(slot.getActivityId(), slot.getStartTime().toSecondOfDay(), slot.getEndTime().toSecondOfDay(),
+                flagsOf(slot), slot.getCourseCode());
+    }
+
+    /**
+     * Adds a time slot to the records from its packed fields.
+     *
+     * @param activityId  The ID of the activity.
+     * @param startSecond The start time as a second of the day.
+     * @param endSecond   The end time as a second of the day.
+     * @param flags       The packed day, type, status and unrecorded-lecture flag.
+     * @param courseCode  The course code of the time slot.
+     */
+    public void add(int activityId, int startSecond, int endSecond, int flags, String courseCode) {
+        if (size == courseCodes.length) {
+            courseCodes = Arrays.copyOf(courseCodes, size * 2);
+            ints = Arrays.copyOf(ints, size * 2 * INTS_PER_SLOT);
+        }
+        int base = size * INTS_PER_SLOT;
+        ints[base] = activityId;
+        ints[base + 1] = startSecond;
+        ints[base + 2] = endSecond;
+        ints[base + 3] = flags;
+        courseCodes[size] = courseCode;
+        size++;
+    }
+
+    /**
+     * Gets the number of time slots in the records.
+     *
+     * @return The number of time slots.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the activity ID of a time slot.
+     *
+     * @param index The position of the time slot.
+     * @return The activity ID.
+     */
+    public int getActivityId(int index) {
+        return ints[index * INTS_PER_SLOT];
+    }
+
+    /**
+     * Gets the start time of a time slot as a second of the day.
+     *
+     * @param index The position of the time slot.
+     * @return The start second.
+     */
+    public int getStartSecond(int index) {
+        return ints[index * INTS_PER_SLOT + 1];
+    }
+
+    /**
+     * Gets the end time of a time slot as a second of the day.
+     *
+     * @param index The position of the time slot.
+     * @return The end second.
+     */
+    public int getEndSecond(int index) {
+        return ints[index * INTS_PER_SLOT + 2];
+    }
+
+    /**
+     * Gets the packed day, type, status and unrecorded-lecture flag of a time slot.
+     *
+     * @param index The position of the time slot.
+     * @return The packed flags.
+     */
+    public int getFlags(int index) {
+        return ints[index * INTS_PER_SLOT + 3];
+    }
+
+    /**
+     * Gets the course code of a time slot.
+     *
+     * @param index The position of the time slot.
+     * @return The course code.
+     */
+    public String getCourseCode(int index) {
+        return courseCodes[index];
+    }
+
+    /**
+     * Builds the time slot stored at a position.
+     *
+     * @param index The position of the time slot.
+     * @return A new TimeSlot with the stored details.
+     */
+    public TimeSlot get(int index) {
+        int flags = getFlags(index);
+        return new TimeSlot(getActivityId(index),
+                LocalTime.ofSecondOfDay(getStartSecond(index)), LocalTime.ofSecondOfDay(getEndSecond(index)),
+                DAYS[flags & 7], TYPES[flags >>> TYPE_SHIFT & 3], courseCodes[index],
+                STATUSES[flags >>> STATUS_SHIFT & 1], (flags & UNRECORDED_BIT) != 0);
+    }
+}
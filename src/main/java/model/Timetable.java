@@ -3,19 +3,56 @@ package model;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * The Timetable class represents a student's timetable, which includes a list of time slots
  * for their scheduled activities (lectures, labs, tutorials, etc.). It provides methods for adding
  * time slots, checking for conflicts, and displaying the timetable.
+ *
+ * <p>A restored timetable builds its time slots on first use and may drop them again when it is evicted, so even
+ * reads change its state. Every method that uses the time slots holds the timetable's lock, so sessions and bulk
+ * purges can use the same timetable at once.
  */
 public class Timetable {
 
     private final String studentEmail;
-    private final List<TimeSlot> timeSlots;
+    // The off-heap store the timetable is kept in, or null if it lives only on the heap
+    private final MappedTimetableStore store;
+    private List<TimeSlot> timeSlots;
+    private TimeSlotIntervalIndex chosenSlotIndex;
+    private WeeklyOccupancy occupancy;
+    private Map<String, CourseSlots> slotsByCourse;
+    private Map<Integer, List<TimeSlot>> slotsByActivityId;
+    // Slots of a restored or evicted timetable that have not been built yet, or null once the timetable is in use
+    private TimeSlotRecords unhydratedSlots;
+
+    /**
+     * The time slots of one course in the timetable, with running counts of its chosen labs and tutorials.
+     */
+    private static final class CourseSlots {
+        private final List<TimeSlot> slots = new ArrayList<>();
+        private int chosenLabs;
+        private int chosenTutorials;
+
+        private void countChosen(TimeSlot slot) {
+            if (slot.isType(ActivityType.LAB)) {
+                chosenLabs++;
+            } else if (slot.isType(ActivityType.TUTORIAL)) {
+                chosenTutorials++;
+            }
+        }
+    }
 
     /**
      * Constructs a Timetable object for the specified student.
@@ -24,7 +61,137 @@ public class Timetable {
      */
     public Timetable(String studentEmail) {
         this.studentEmail = studentEmail;
+        this.store = null;
+        initialiseSlots();
+    }
+
+    /**
+     * Constructs a restored Timetable whose time slots are kept in compact form
+     * until the timetable is first used.
+     *
+     * @param studentEmail The email address of the student who owns the timetable.
+     * @param slots        The saved time slots, with their statuses.
+     */
+    Timetable(String studentEmail, TimeSlotRecords slots) {
+        this.studentEmail = studentEmail;
+        this.store = null;
+        this.unhydratedSlots = slots;
+    }
+
+    /**
+     * Constructs a Timetable kept in an off-heap store. Its time slots are read from the store when the
+     * timetable is first used, and every change is written back to the store.
+     *
+     * @param studentEmail The email address of the student who owns the timetable.
+     * @param store        The store holding the timetable.
+     */
+    Timetable(String studentEmail, MappedTimetableStore store) {
+        this.studentEmail = studentEmail;
+        this.store = store;
+    }
+
+    private void initialiseSlots() {
         this.timeSlots = new ArrayList<>();
+        this.chosenSlotIndex = new TimeSlotIntervalIndex();
+        this.occupancy = new WeeklyOccupancy();
+        this.slotsByCourse = new HashMap<>();
+        this.slotsByActivityId = new HashMap<>();
+    }
+
+    /**
+     * Builds the time slots and indexes of a restored timetable. Does nothing if they are already built.
+     */
+    private synchronized void hydrate() {
+        if (timeSlots != null) {
+            return;
+        }
+        TimeSlotRecords slots = unhydratedSlots != null ? unhydratedSlots : store.get(studentEmail);
+        unhydratedSlots = null;
+        initialiseSlots();
+        for (int i = 0; i < slots.size(); i++) {
+            addSlot(slots.get(i));
+        }
+    }
+
+    /**
+     * Checks if the time slots of the timetable have been built. A restored timetable builds them on first use.
+     *
+     * @return true if the time slots are built, false if they are still held in compact form.
+     */
+    public synchronized boolean isHydrated() {
+        return timeSlots != null;
+    }
+
+    /**
+     * Drops the built time slots and indexes of the timetable, keeping only its compact form,
+     * so an idle timetable costs little heap. A timetable kept in a store keeps nothing on the heap.
+     * The timetable is built again on its next use.
+     */
+    public synchronized void evict() {
+        if (timeSlots == null) {
+            return;
+        }
+        if (store == null) {
+            unhydratedSlots = toRecords();
+        }
+        timeSlots = null;
+        chosenSlotIndex = null;
+        occupancy = null;
+        slotsByCourse = null;
+        slotsByActivityId = null;
+    }
+
+    /**
+     * Writes the time slots back to the store the timetable is kept in, if any.
+     */
+    private void writeThrough() {
+        if (store != null) {
+            store.put(studentEmail, toRecords());
+        }
+    }
+
+    /**
+     * Writes the time slots added since the given position to the store the timetable is kept in, if any.
+     *
+     * @param from The number of time slots the timetable had before the new ones were added.
+     */
+    private void appendThrough(int from) {
+        if (store != null && from < timeSlots.size()) {
+            TimeSlotRecords added = new TimeSlotRecords(timeSlots.size() - from);
+            for (TimeSlot slot : timeSlots.subList(from, timeSlots.size())) {
+                added.add(slot);
+            }
+            store.append(studentEmail, added);
+        }
+    }
+
+    /**
+     * Writes one changed time slot to the store the timetable is kept in, if any.
+     *
+     * @param slot The time slot that changed.
+     */
+    private void updateThrough(TimeSlot slot) {
+        if (store != null) {
+            TimeSlotRecords changed = new TimeSlotRecords(1);
+            changed.add(slot);
+            store.set(studentEmail, timeSlots.indexOf(slot), changed);
+        }
+    }
+
+    /**
+     * Gets the time slots of the timetable in compact form, without building them if they are not built yet.
+     *
+     * @return The time slots as records.
+     */
+    synchronized TimeSlotRecords toRecords() {
+        if (timeSlots == null) {
+            return unhydratedSlots != null ? unhydratedSlots : store.get(studentEmail);
+        }
+        TimeSlotRecords records = new TimeSlotRecords(timeSlots.size());
+        for (TimeSlot slot : timeSlots) {
+            records.add(slot);
+        }
+        return records;
     }
 
     /**
@@ -35,14 +202,17 @@ public class Timetable {
      * @param courseCode The course code for the activity.
      * @param type      The type of activity (e.g., `LECTURE`, `LAB`, `TUTORIAL`).
      */
-    public void addTimeSlot(Activity activity, String courseCode, ActivityType type) {
+    public synchronized void addTimeSlot(Activity activity, String courseCode, ActivityType type) {
+        hydrate();
+        int slotsBefore = timeSlots.size();
         if (type == ActivityType.LECTURE) {
             TimeSlot newSlot = new TimeSlot(
                     activity.getId(),
                     activity.getStartTime(), activity.getEndTime(),
                     activity.getDay(), ActivityType.LECTURE,
-                    courseCode, TimeSlotStatus.CHOSEN);
-            timeSlots.add(newSlot);
+                    courseCode, TimeSlotStatus.CHOSEN,
+                    activity.isUnrecordedLecture());
+            addSlot(newSlot);
         }
         if (type == ActivityType.LAB) {
             TimeSlot newSlot = new TimeSlot(
@@ -50,7 +220,7 @@ public class Timetable {
                     activity.getStartTime(), activity.getEndTime(),
                     activity.getDay(), ActivityType.LAB,
                     courseCode, TimeSlotStatus.UNCHOSEN);
-            timeSlots.add(newSlot);
+            addSlot(newSlot);
         }
 
         if (type == ActivityType.TUTORIAL) {
@@ -59,8 +229,85 @@ public class Timetable {
                     activity.getStartTime(), activity.getEndTime(),
                     activity.getDay(), ActivityType.TUTORIAL,
                     courseCode, TimeSlotStatus.UNCHOSEN);
-            timeSlots.add(newSlot);
+            addSlot(newSlot);
         }
+        appendThrough(slotsBefore);
+    }
+
+    /**
+     * Adds a time slot to the timetable, indexing it for conflict checks if it is already chosen.
+     *
+     * @param slot The time slot to add.
+     */
+    private void addSlot(TimeSlot slot) {
+        timeSlots.add(slot);
+        CourseSlots courseSlots = slotsByCourse.computeIfAbsent(slot.getCourseCode(), code -> new CourseSlots());
+        courseSlots.slots.add(slot);
+        slotsByActivityId.computeIfAbsent(slot.getActivityId(), id -> new ArrayList<>(1)).add(slot);
+        if (slot.isChosen()) {
+            indexChosenSlot(slot);
+            courseSlots.countChosen(slot);
+        }
+    }
+
+    /**
+     * Adds a chosen time slot to the interval index and the occupancy bitmap.
+     *
+     * @param slot The chosen time slot.
+     */
+    private void indexChosenSlot(TimeSlot slot) {
+        if (!chosenSlotIndex.contains(slot)) {
+            chosenSlotIndex.add(slot);
+            occupancy.occupy(slot.getDay(), slot.getStartTime(), slot.getEndTime());
+        }
+    }
+
+    /**
+     * Removes a time slot from the interval index and the occupancy bitmap, if it was indexed.
+     *
+     * @param slot The time slot.
+     */
+    private void unindexChosenSlot(TimeSlot slot) {
+        if (chosenSlotIndex.contains(slot)) {
+            chosenSlotIndex.remove(slot);
+            occupancy.release(slot.getDay(), slot.getStartTime(), slot.getEndTime());
+        }
+    }
+
+    /**
+     * Gets the email of the student who owns the timetable.
+     *
+     * @return The student's email address.
+     */
+    public String getStudentEmail() {
+        return studentEmail;
+    }
+
+    /**
+     * Gets the codes of the courses that have time slots in the timetable.
+     *
+     * @return An unmodifiable view of the course codes.
+     */
+    public synchronized Set<String> getCourseCodes() {
+        if (timeSlots == null) {
+            TimeSlotRecords slots = toRecords();
+            Set<String> courseCodes = new LinkedHashSet<>();
+            for (int i = 0; i < slots.size(); i++) {
+                courseCodes.add(slots.getCourseCode(i));
+            }
+            return Collections.unmodifiableSet(courseCodes);
+        }
+        return Collections.unmodifiableSet(slotsByCourse.keySet());
+    }
+
+    /**
+     * Gets every time slot in the timetable, in the order they were added.
+     *
+     * @return An unmodifiable view of the time slots.
+     */
+    public synchronized List<TimeSlot> getTimeSlots() {
+        hydrate();
+        return Collections.unmodifiableList(timeSlots);
     }
 
     /**
@@ -74,25 +321,105 @@ public class Timetable {
     }
 
     /**
-     * Checks for any conflicts in the timetable based on the provided day and time range.
-     * A conflict occurs if an activity overlaps with another chosen activity.
+     * Finds every chosen time slot that overlaps the provided day and time range.
      *
      * @param day       The day of the week the activity is scheduled for.
      * @param startTime The start time of the activity.
      * @param endTime   The end time of the activity.
-     * @return A string array containing the course code and activity ID of the conflicting activity, or an empty array if no conflict is found.
+     * @return The conflicting time slots ordered by start time, or an empty list if no conflict is found.
      */
-    public String[] checkConflicts(DayOfWeek day, LocalTime startTime, LocalTime endTime) {
-        List<TimeSlot> conflicts = new ArrayList<>();
-        for (TimeSlot ts : timeSlots) {
-            if (ts.isChosen()) {
-                if (ts.getDay().equals(day)) {
-                    if (startTime.isBefore(ts.getEndTime()) && endTime.isAfter(ts.getStartTime())) {
-                        conflicts.add(ts);
+    public synchronized List<TimeSlot> findConflicts(DayOfWeek day, LocalTime startTime, LocalTime endTime) {
+        hydrate();
+        if (!occupancy.mayOverlap(day, startTime, endTime)) {
+            return new ArrayList<>();
+        }
+        return chosenSlotIndex.findOverlapping(day, startTime, endTime);
+    }
+
+    /**
+     * Checks if the provided day and time range is free of chosen activities.
+     *
+     * @param day       The day of the week.
+     * @param startTime The start time of the range.
+     * @param endTime   The end time of the range.
+     * @return true if no chosen activity overlaps the range, false otherwise.
+     */
+    public synchronized boolean isFree(DayOfWeek day, LocalTime startTime, LocalTime endTime) {
+        hydrate();
+        return findConflicts(day, startTime, endTime).isEmpty();
+    }
+
+    /**
+     * Counts the minutes on a day not taken by chosen activities, to the nearest five minutes.
+     *
+     * @param day The day of the week.
+     * @return A lower bound on the free minutes on that day.
+     */
+    public synchronized int getFreeMinutes(DayOfWeek day) {
+        hydrate();
+        return occupancy.getFreeMinutes(day);
+    }
+
+    /**
+     * Finds every clash between the given activities and the chosen time slots in the timetable.
+     * For each weekday the activities and the chosen slots are both sorted by start time and merged
+     * in a single sweep, so the whole set is checked in one pass instead of one scan per activity.
+     *
+     * @param activities The activities to check, typically all activities of one course.
+     * @return The clashes ordered by day and activity start time, or an empty list if there are none.
+     */
+    public synchronized List<ActivityClash> findConflicts(Collection<Activity> activities) {
+        hydrate();
+        Map<DayOfWeek, List<Activity>> activitiesByDay = new EnumMap<>(DayOfWeek.class);
+        for (Activity activity : activities) {
+            // Activities the bitmap places in free time cannot clash and are left out of the sweep
+            if (occupancy.mayOverlap(activity.getDay(), activity.getStartTime(), activity.getEndTime())) {
+                activitiesByDay.computeIfAbsent(activity.getDay(), day -> new ArrayList<>()).add(activity);
+            }
+        }
+
+        List<ActivityClash> clashes = new ArrayList<>();
+        for (Map.Entry<DayOfWeek, List<Activity>> entry : activitiesByDay.entrySet()) {
+            List<TimeSlot> chosenSlots = chosenSlotIndex.getSlots(entry.getKey());
+            if (chosenSlots.isEmpty()) {
+                continue;
+            }
+            List<Activity> dayActivities = entry.getValue();
+            dayActivities.sort(Comparator.comparing(Activity::getStartTime));
+
+            // Slots that started before the current activity ends and may still overlap later activities
+            List<TimeSlot> activeSlots = new ArrayList<>();
+            int nextSlot = 0;
+            for (Activity activity : dayActivities) {
+                while (nextSlot < chosenSlots.size()
+                        && chosenSlots.get(nextSlot).getStartTime().isBefore(activity.getEndTime())) {
+                    activeSlots.add(chosenSlots.get(nextSlot));
+                    nextSlot++;
+                }
+                // Activities are visited in start order, so a slot ending before this one starts is done
+                activeSlots.removeIf(ts -> !ts.getEndTime().isAfter(activity.getStartTime()));
+                for (TimeSlot ts : activeSlots) {
+                    if (ts.getStartTime().isBefore(activity.getEndTime())) {
+                        clashes.add(new ActivityClash(activity, ts));
                     }
                 }
             }
         }
+        return clashes;
+    }
+
+    /**
+     * Checks for any conflicts in the timetable based on the provided day and time range.
+     * A conflict occurs if an activity overlaps with another chosen activity.
+     *
+     * @param day       The day of the week the activity is scheduled for.
+     * @param startTime The start time of the activity.
+     * @param endTime   The end time of the activity.
+     * @return A string array containing the course code and activity ID of the conflicting activity, or an empty array if no conflict is found.
+     */
+    public synchronized String[] checkConflicts(DayOfWeek day, LocalTime startTime, LocalTime endTime) {
+        hydrate();
+        List<TimeSlot> conflicts = findConflicts(day, startTime, endTime);
         if (conflicts.isEmpty()) {
             return new String[0];
         } else {
@@ -116,10 +443,20 @@ public class Timetable {
      * @param courseCode The course code for the activity.
      * @param activityId The activity ID to mark as chosen.
      */
-    public void chooseActivity(String courseCode, int activityId) {
-        timeSlots.stream()
-                .filter(ts -> ts.hasCourseCode(courseCode) && ts.hasActivityIdTimeSlot(activityId) && !ts.isChosen())
-                .forEach(ts -> ts.setStatus(TimeSlotStatus.CHOSEN));
+    public synchronized void chooseActivity(String courseCode, int activityId) {
+        hydrate();
+        CourseSlots courseSlots = slotsByCourse.get(courseCode);
+        if (courseSlots == null) {
+            return;
+        }
+        for (TimeSlot ts : slotsByActivityId.getOrDefault(activityId, List.of())) {
+            if (ts.hasCourseCode(courseCode) && !ts.isChosen()) {
+                ts.setStatus(TimeSlotStatus.CHOSEN);
+                indexChosenSlot(ts);
+                courseSlots.countChosen(ts);
+                updateThrough(ts);
+            }
+        }
     }
 
     /**
@@ -128,9 +465,9 @@ public class Timetable {
      * @param activityId The activity ID to check.
      * @return true if the timetable contains the tutorial, false otherwise.
      */
-    public boolean isIdTutorial(int activityId) {
-        return timeSlots.stream()
-                .filter(ts -> ts.hasActivityIdTimeSlot(activityId))
+    public synchronized boolean isIdTutorial(int activityId) {
+        hydrate();
+        return slotsByActivityId.getOrDefault(activityId, List.of()).stream()
                 .anyMatch(ts -> ts.isType(ActivityType.TUTORIAL));
     }
 
@@ -140,9 +477,9 @@ public class Timetable {
      * @param activityId The activity ID to check.
      * @return true if the timetable contains the lab, false otherwise.
      */
-    public boolean isIdLab(int activityId) {
-        return timeSlots.stream()
-                .filter(ts -> ts.hasActivityIdTimeSlot(activityId))
+    public synchronized boolean isIdLab(int activityId) {
+        hydrate();
+        return slotsByActivityId.getOrDefault(activityId, List.of()).stream()
                 .anyMatch(ts -> ts.isType(ActivityType.LAB));
     }
 
@@ -152,8 +489,9 @@ public class Timetable {
      * @param courseCode The course code to check.
      * @return true if the timetable contains a time slot for the given course, false otherwise.
      */
-    public boolean hasSlotsForCourse(String courseCode) {
-        return timeSlots.stream().anyMatch(ts -> ts.hasCourseCode(courseCode));
+    public synchronized boolean hasSlotsForCourse(String courseCode) {
+        hydrate();
+        return slotsByCourse.containsKey(courseCode);
     }
 
     /**
@@ -162,8 +500,9 @@ public class Timetable {
      * @param activityId The activity ID to check.
      * @return true if the timetable contains a time slot with the given activity ID, false otherwise.
      */
-    public boolean hasSlotsForActivityId(int activityId) {
-        return timeSlots.stream().anyMatch(ts -> ts.hasActivityIdTimeSlot(activityId));
+    public synchronized boolean hasSlotsForActivityId(int activityId) {
+        hydrate();
+        return slotsByActivityId.containsKey(activityId);
     }
 
     /**
@@ -171,8 +510,51 @@ public class Timetable {
      *
      * @param courseCode The course code to remove time slots for.
      */
-    public void removeSlotsForCourse(String courseCode) {
-        timeSlots.removeIf(ts -> ts.hasCourseCode(courseCode));
+    public synchronized void removeSlotsForCourse(String courseCode) {
+        hydrate();
+        if (detachCourse(courseCode)) {
+            timeSlots.removeIf(ts -> ts.hasCourseCode(courseCode));
+            writeThrough();
+        }
+    }
+
+    /**
+     * Removes all time slots associated with any of the given courses from the timetable,
+     * walking the slot list only once however many courses are removed.
+     *
+     * @param courseCodes The course codes to remove time slots for.
+     * @return true if any time slot was removed, false otherwise.
+     */
+    public synchronized boolean removeSlotsForCourses(Collection<String> courseCodes) {
+        hydrate();
+        Set<String> detached = new HashSet<>();
+        for (String courseCode : courseCodes) {
+            if (detachCourse(courseCode)) {
+                detached.add(courseCode);
+            }
+        }
+        if (detached.isEmpty()) {
+            return false;
+        }
+        timeSlots.removeIf(ts -> detached.contains(ts.getCourseCode()));
+        writeThrough();
+        return true;
+    }
+
+    private boolean detachCourse(String courseCode) {
+        CourseSlots courseSlots = slotsByCourse.remove(courseCode);
+        if (courseSlots == null) {
+            return false;
+        }
+        for (TimeSlot ts : courseSlots.slots) {
+            unindexChosenSlot(ts);
+            List<TimeSlot> activitySlots = slotsByActivityId.get(ts.getActivityId());
+            activitySlots.remove(ts);
+            if (activitySlots.isEmpty()) {
+                slotsByActivityId.remove(ts.getActivityId());
+            }
+        }
+        return true;
     }
 
     /**
@@ -181,10 +563,10 @@ public class Timetable {
      * @param courseCode The course code to check.
      * @return The number of chosen tutorials for the course.
      */
-    public int numChosenTutorialInTimeSlots(String courseCode) {
-        return (int) timeSlots.stream()
-                .filter(ts -> ts.hasCourseCode(courseCode) && ts.isType(ActivityType.TUTORIAL) && ts.isChosen())
-                .count();
+    public synchronized int numChosenTutorialInTimeSlots(String courseCode) {
+        hydrate();
+        CourseSlots courseSlots = slotsByCourse.get(courseCode);
+        return courseSlots == null ? 0 : courseSlots.chosenTutorials;
     }
 
     /**
@@ -193,10 +575,10 @@ public class Timetable {
      * @param courseCode The course code to check.
      * @return The number of chosen labs for the course.
      */
-    public int numChosenLabInTimeSlots(String courseCode) {
-        return (int) timeSlots.stream()
-                .filter(ts -> ts.hasCourseCode(courseCode) && ts.isType(ActivityType.LAB) && ts.isChosen())
-                .count();
+    public synchronized int numChosenLabInTimeSlots(String courseCode) {
+        hydrate();
+        CourseSlots courseSlots = slotsByCourse.get(courseCode);
+        return courseSlots == null ? 0 : courseSlots.chosenLabs;
     }
 
     /**
@@ -205,7 +587,8 @@ public class Timetable {
      * @return A formatted string representing the student's timetable with all chosen time slots.
      */
     @Override
-    public String toString() {
+    public synchronized String toString() {
+        hydrate();
         StringBuilder sb = new StringBuilder();
         sb.append("========================================================================\n");
         sb.append(String.format("Timetable for %s\n", studentEmail));
@@ -0,0 +1,130 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The TimetableRegistry class holds the timetable of every student, keyed by student email.
+ * Lookups and get-or-create run in constant time and are safe to call from several threads at once.
+ * With a {@link MappedTimetableStore} attached, timetables are kept in the store and only built on the heap while in use.
+ */
+public class TimetableRegistry {
+
+    private final ConcurrentMap<String, Timetable> timetablesByEmail;
+    private volatile MappedTimetableStore store;
+
+    /**
+     * Constructs an empty TimetableRegistry.
+     */
+    public TimetableRegistry() {
+        this.timetablesByEmail = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Keeps timetables in an off-heap store from now on. Every timetable already in the store is added to the
+     * registry without being read, and every timetable already in the registry is moved into the store.
+     *
+     * @param store The store to keep timetables in.
+     * @return The timetables added from the store.
+     */
+    public List<Timetable> attachStore(MappedTimetableStore store) {
+        for (Timetable timetable : timetablesByEmail.values()) {
+            store.put(timetable.getStudentEmail(), timetable.toRecords());
+            timetablesByEmail.put(timetable.getStudentEmail(), new Timetable(timetable.getStudentEmail(), store));
+        }
+        List<Timetable> added = new ArrayList<>();
+        for (String studentEmail : store.getStudentEmails()) {
+            Timetable timetable = new Timetable(studentEmail, store);
+            if (timetablesByEmail.putIfAbsent(studentEmail, timetable) == null) {
+                added.add(timetable);
+            }
+        }
+        this.store = store;
+        return added;
+    }
+
+    /**
+     * Checks if the timetables are kept in an off-heap store.
+     *
+     * @return true if a store is attached, false otherwise.
+     */
+    public boolean hasStore() {
+        return store != null;
+    }
+
+    /**
+     * Adds a timetable to the registry, replacing any timetable for the same student.
+     * If a store is attached, the timetable's slots are written to the store and the registry
+     * keeps a timetable backed by the store in its place.
+     *
+     * @param timetable The timetable to add.
+     */
+    public void add(Timetable timetable) {
+        MappedTimetableStore store = this.store;
+        if (store != null) {
+            store.put(timetable.getStudentEmail(), timetable.toRecords());
+            timetable = new Timetable(timetable.getStudentEmail(), store);
+        }
+        timetablesByEmail.put(timetable.getStudentEmail(), timetable);
+    }
+
+    /**
+     * Retrieves the timetable for a given student email.
+     *
+     * @param studentEmail The email of the student whose timetable is being retrieved.
+     * @return The timetable for the student, or null if no timetable exists.
+     */
+    public Timetable get(String studentEmail) {
+        if (studentEmail == null) {
+            return null;
+        }
+        return timetablesByEmail.get(studentEmail);
+    }
+
+    /**
+     * Retrieves the timetable for a given student email, creating an empty one if none exists.
+     * The lookup and creation happen as a single atomic step.
+     *
+     * @param studentEmail The email of the student whose timetable is being retrieved.
+     * @return The existing or newly created timetable for the student.
+     */
+    public Timetable getOrCreate(String studentEmail) {
+        MappedTimetableStore store = this.store;
+        if (store != null) {
+            return timetablesByEmail.computeIfAbsent(studentEmail, email -> new Timetable(email, store));
+        }
+        return timetablesByEmail.computeIfAbsent(studentEmail, Timetable::new);
+    }
+
+    /**
+     * Checks if a timetable exists for a given student email.
+     *
+     * @param studentEmail The email of the student to check.
+     * @return true if the timetable exists, false otherwise.
+     */
+    public boolean contains(String studentEmail) {
+        return get(studentEmail) != null;
+    }
+
+    /**
+     * Gets the number of timetables in the registry.
+     *
+     * @return The number of timetables.
+     */
+    public int size() {
+        return timetablesByEmail.size();
+    }
+
+    /**
+     * Retrieves all timetables in the registry.
+     *
+     * @return An unmodifiable view of the timetables.
+     */
+    public Collection<Timetable> getTimetables() {
+        return Collections.unmodifiableCollection(timetablesByEmail.values());
+    }
+}
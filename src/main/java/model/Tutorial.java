@@ -31,6 +31,15 @@ public class Tutorial extends Activity {
         this.capacity = capacity;
     }
 
+    /**
+     * Gets the maximum number of participants for the tutorial activity.
+     *
+     * @return The capacity of the tutorial.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
     /**
      * Returns a string representation of the tutorial activity, including its type and capacity,
      * along with the common details inherited from the Activity class.
@@ -0,0 +1,154 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * The WeeklyOccupancy class is a compact bitmap of the week split into five-minute buckets,
+ * 7 days of 288 buckets each packed into 32 longs. A bit is set while at least one occupied range
+ * touches its bucket, so overlap tests become a few word-wise AND operations.
+ * Because ranges are rounded out to whole buckets, an overlap reported by the bitmap only means the
+ * ranges may overlap and should be confirmed with an exact check; a reported gap is always exact.
+ */
+public class WeeklyOccupancy {
+    /** The length of one bucket in seconds. */
+    public static final int BUCKET_SECONDS = 5 * 60;
+    /** The number of buckets in one day. */
+    public static final int BUCKETS_PER_DAY = 24 * 60 * 60 / BUCKET_SECONDS;
+
+    private static final int BUCKETS_PER_WEEK = BUCKETS_PER_DAY * 7;
+
+    private final long[] bits;
+    // Ranges can overlap when clashes are accepted, so each bucket needs a count of the ranges covering it.
+    // Most days never overlap, so a day's counts are only allocated once two ranges first share a bucket on it.
+    private final short[][] countsByDay;
+
+    /**
+     * Constructs an empty WeeklyOccupancy.
+     */
+    public WeeklyOccupancy() {
+        this.bits = new long[(BUCKETS_PER_WEEK + 63) / 64];
+        this.countsByDay = new short[7][];
+    }
+
+    /**
+     * Marks a time range as occupied.
+     *
+     * @param day       The day of the week.
+     * @param startTime The start time of the range.
+     * @param endTime   The end time of the range.
+     */
+    public void occupy(DayOfWeek day, LocalTime startTime, LocalTime endTime) {
+        int from = firstBucket(day, startTime);
+        int to = lastBucket(day, endTime);
+        short[] counts = countsByDay[day.ordinal()];
+        if (counts == null) {
+            if (!anySet(from, to)) {
+                for (int bucket = from; bucket < to; bucket++) {
+                    bits[bucket >>> 6] |= 1L << bucket;
+                }
+                return;
+            }
+            counts = countSetBuckets(day);
+        }
+        int dayStart = day.ordinal() * BUCKETS_PER_DAY;
+        for (int bucket = from; bucket < to; bucket++) {
+            if (counts[bucket - dayStart]++ == 0) {
+                bits[bucket >>> 6] |= 1L << bucket;
+            }
+        }
+    }
+
+    /**
+     * Releases a time range previously marked as occupied.
+     *
+     * @param day       The day of the week.
+     * @param startTime The start time of the range.
+     * @param endTime   The end time of the range.
+     */
+    public void release(DayOfWeek day, LocalTime startTime, LocalTime endTime) {
+        int from = firstBucket(day, startTime);
+        int to = lastBucket(day, endTime);
+        short[] counts = countsByDay[day.ordinal()];
+        int dayStart = day.ordinal() * BUCKETS_PER_DAY;
+        for (int bucket = from; bucket < to; bucket++) {
+            // Without counts every set bucket on the day is covered by exactly one range
+            if (counts == null || (counts[bucket - dayStart] > 0 && --counts[bucket - dayStart] == 0)) {
+                bits[bucket >>> 6] &= ~(1L << bucket);
+            }
+        }
+    }
+
+    /**
+     * Checks if a time range may overlap an occupied range.
+     *
+     * @param day       The day of the week.
+     * @param startTime The start time of the range.
+     * @param endTime   The end time of the range.
+     * @return false if the range is certainly free, true if it may overlap an occupied range.
+     */
+    public boolean mayOverlap(DayOfWeek day, LocalTime startTime, LocalTime endTime) {
+        return anySet(firstBucket(day, startTime), lastBucket(day, endTime));
+    }
+
+    private boolean anySet(int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        for (int word = firstWord; word <= lastWord; word++) {
+            long mask = -1L;
+            if (word == firstWord) {
+                mask &= -1L << from;
+            }
+            if (word == lastWord) {
+                mask &= -1L >>> (63 - ((to - 1) & 63));
+            }
+            if ((bits[word] & mask) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the free minutes on a day. Partly occupied buckets count as occupied,
+     * so the result is a lower bound accurate to five minutes per occupied range.
+     *
+     * @param day The day of the week.
+     * @return The number of free minutes on that day.
+     */
+    public int getFreeMinutes(DayOfWeek day) {
+        int from = day.ordinal() * BUCKETS_PER_DAY;
+        int occupied = 0;
+        for (int bucket = from; bucket < from + BUCKETS_PER_DAY; bucket++) {
+            if ((bits[bucket >>> 6] & (1L << bucket)) != 0) {
+                occupied++;
+            }
+        }
+        return (BUCKETS_PER_DAY - occupied) * BUCKET_SECONDS / 60;
+    }
+
+    private short[] countSetBuckets(DayOfWeek day) {
+        short[] counts = new short[BUCKETS_PER_DAY];
+        int dayStart = day.ordinal() * BUCKETS_PER_DAY;
+        for (int i = 0; i < BUCKETS_PER_DAY; i++) {
+            int bucket = dayStart + i;
+            if ((bits[bucket >>> 6] & (1L << bucket)) != 0) {
+                counts[i] = 1;
+            }
+        }
+        countsByDay[day.ordinal()] = counts;
+        return counts;
+    }
+
+    private static int firstBucket(DayOfWeek day, LocalTime time) {
+        return day.ordinal() * BUCKETS_PER_DAY + time.toSecondOfDay() / BUCKET_SECONDS;
+    }
+
+    private static int lastBucket(DayOfWeek day, LocalTime time) {
+        // Round up so that a range ending part-way through a bucket still covers it
+        return day.ordinal() * BUCKETS_PER_DAY + (time.toSecondOfDay() + BUCKET_SECONDS - 1) / BUCKET_SECONDS;
+    }
+}
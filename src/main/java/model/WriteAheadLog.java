@@ -0,0 +1,486 @@
+package model;
+
+import org.tinylog.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The WriteAheadLog class appends every state-changing operation to a log file so that changes made since
+ * the last snapshot survive a crash, and replays the log on startup.
+ *
+ * <p>Appends use group commit: {@link #append(LogRecord)} queues the record and waits until it is durable,
+ * while a single background flusher writes everything queued so far and forces it to disk with one fsync.
+ * Appenders that arrive while a flush is running share the next one, so the number of fsyncs grows with
+ * the flush interval rather than with the number of operations.
+ *
+ * <p>The file starts with a magic number, a format version and a generation number, followed by framed
+ * records: the payload length, a CRC32 of the payload, and the payload. A snapshot records the generation
+ * it covers, and the log is reset to the next generation once the snapshot is written, so a log that a
+ * snapshot already contains is never replayed twice. A torn record at the end of the file, left by a crash
+ * mid-write, is ignored on replay and cut off when the log is reopened.
+ */
+public class WriteAheadLog implements Closeable {
+    /** The magic number at the start of every log file, "HWAL" in ASCII. */
+    public static final int MAGIC = 0x4857414C;
+    /** The log format version written by this class. */
+    public static final short VERSION = 1;
+
+    private static final int HEADER_BYTES = 4 + 2 + 8;
+    private static final int FRAME_HEADER_BYTES = 4 + 4;
+    private static final int MAX_RECORD_BYTES = 1 << 24;
+
+    private final FileChannel channel;
+    private final long flushIntervalMillis;
+    private final Object lock = new Object();
+    private final Thread flusher;
+    private long generation;
+
+    // Guarded by lock
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private long appendedRecords;
+    private long durableRecords;
+    private long syncCount;
+    private boolean resetting;
+    private boolean closed;
+    private IOException failure;
+
+    private WriteAheadLog(FileChannel channel, long generation, long flushIntervalMillis) {
+        this.channel = channel;
+        this.generation = generation;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flusher = new Thread(this::runFlusher, "wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Opens a log file for appending. If the file holds the given generation its valid records are kept
+     * and any torn record at the end is cut off. If it holds the generation the loaded snapshot covers, its records
+     * are already in the snapshot and the file is reset to an empty log of the given generation. A log of any other
+     * generation holds changes that nothing loaded contains, so it is kept with {@link #setAside(Path)} and a new
+     * log is started next to it.
+     *
+     * @param path                The log file.
+     * @param generation          The generation the log must hold, one more than the generation the loaded snapshot covers.
+     * @param flushIntervalMillis How long the flusher waits after the first queued record to gather more into the
+     *                            same fsync. Zero flushes as soon as a record is queued.
+     * @return The opened log.
+     * @throws IOException If the file cannot be opened or written.
+     */
+    public static WriteAheadLog open(Path path, long generation, long flushIntervalMillis) throws IOException {
+        if (Files.exists(path) && Files.size(path) > HEADER_BYTES) {
+            long existingGeneration;
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+                existingGeneration = readGeneration(in);
+            }
+            if (existingGeneration != generation && existingGeneration != generation - 1) {
+                setAside(path);
+            }
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long validLength = -1;
+            if (channel.size() >= HEADER_BYTES) {
+                try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+                    if (readGeneration(in) == generation) {
+                        validLength = HEADER_BYTES + scanRecords(in, null).validBytes;
+                    }
+                }
+            }
+            if (validLength < 0) {
+                writeHeader(channel, generation);
+            } else {
+                channel.truncate(validLength);
+                channel.position(validLength);
+            }
+            return new WriteAheadLog(channel, generation, flushIntervalMillis);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Renames a log file so that it is kept rather than reset, for a log whose changes are not in the loaded
+     * snapshot. The file is moved next to itself, named after the log with ".old-" and the current time appended.
+     *
+     * @param path The log file.
+     * @return The path the log was moved to, or null if there was no log file.
+     * @throws IOException If the file cannot be moved.
+     */
+    public static Path setAside(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        Path aside = path.resolveSibling(path.getFileName() + ".old-" + System.currentTimeMillis());
+        Files.move(path, aside);
+        Logger.warn("{}, setAsideLog, {} SUCCESS (Moved to {})", System.currentTimeMillis(), path, aside);
+        return aside;
+    }
+
+    /**
+     * Replays a log file into the given context, if it holds the given generation.
+     * Replay stops at the first torn or corrupt record.
+     *
+     * @param path       The log file.
+     * @param generation The generation to replay, one more than the generation the loaded snapshot covers.
+     * @param context    The context to apply the records to.
+     * @return A report of how many records were replayed and how fast.
+     * @throws IOException If the file cannot be read.
+     */
+    public static ReplayReport replay(Path path, long generation, SharedContext context) throws IOException {
+        long start = System.nanoTime();
+        if (!Files.exists(path) || Files.size(path) < HEADER_BYTES) {
+            return new ReplayReport(0, 0, System.nanoTime() - start);
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            if (readGeneration(in) != generation) {
+                return new ReplayReport(0, 0, System.nanoTime() - start);
+            }
+            ScanResult result = scanRecords(in, context);
+            return new ReplayReport(result.records, result.validBytes, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Appends a record to the log and waits until it has been forced to disk.
+     *
+     * @param record The record to append.
+     * @throws IOException If the log is closed or the record could not be written.
+     */
+    public void append(LogRecord record) throws IOException {
+        appendAll(List.of(record));
+    }
+
+    /**
+     * Appends several records to the log as one batch and waits until all of them have been forced to disk.
+     * The records are queued together, so they reach the disk in the same fsync.
+     *
+     * @param records The records to append, in order.
+     * @throws IOException If the log is closed or the records could not be written.
+     */
+    public void appendAll(List<LogRecord> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        CRC32 crc = new CRC32();
+        for (LogRecord record : records) {
+            byte[] payload = record.toBytes();
+            crc.reset();
+            crc.update(payload);
+            ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+            header.putInt(payload.length).putInt((int) crc.getValue());
+            frames.write(header.array(), 0, FRAME_HEADER_BYTES);
+            frames.write(payload, 0, payload.length);
+        }
+
+        synchronized (lock) {
+            if (closed) {
+                throw new IOException("Write-ahead log is closed");
+            }
+            if (failure != null) {
+                throw new IOException("Write-ahead log has failed", failure);
+            }
+            frames.writeTo(pending);
+            appendedRecords += records.size();
+            long sequence = appendedRecords;
+            lock.notifyAll();
+            boolean interrupted = false;
+            while (durableRecords < sequence && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (durableRecords < sequence) {
+                throw new IOException("Record could not be written to the write-ahead log", failure);
+            }
+        }
+    }
+
+    /**
+     * Empties the log and moves it to a new generation. Called once a snapshot covering the current
+     * generation has been written.
+     *
+     * @param newGeneration The generation the emptied log holds.
+     * @throws IOException If the log cannot be rewritten.
+     */
+    public void reset(long newGeneration) throws IOException {
+        synchronized (lock) {
+            // Let queued records reach the old generation first, then keep the flusher out while rewriting
+            while (durableRecords < appendedRecords && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while resetting the write-ahead log", e);
+                }
+            }
+            resetting = true;
+        }
+        try {
+            writeHeader(channel, newGeneration);
+            generation = newGeneration;
+        } finally {
+            synchronized (lock) {
+                resetting = false;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Gets the generation the log currently holds.
+     *
+     * @return The generation number.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Gets the number of records appended since the log was opened.
+     *
+     * @return The number of appended records.
+     */
+    public long getRecordCount() {
+        synchronized (lock) {
+            return appendedRecords;
+        }
+    }
+
+    /**
+     * Gets the number of fsyncs performed since the log was opened. With group commit this is
+     * usually much lower than the number of records.
+     *
+     * @return The number of fsyncs.
+     */
+    public long getSyncCount() {
+        synchronized (lock) {
+            return syncCount;
+        }
+    }
+
+    /**
+     * Flushes any queued records and closes the log.
+     *
+     * @throws IOException If the log file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void runFlusher() {
+        while (true) {
+            ByteArrayOutputStream batch;
+            long batchEnd;
+            synchronized (lock) {
+                while ((pending.size() == 0 || resetting) && !closed) {
+                    waitOn(lock, 0);
+                }
+                if (pending.size() == 0) {
+                    return;
+                }
+                if (flushIntervalMillis > 0 && !closed) {
+                    // Give concurrent appenders a moment to join this fsync
+                    waitOn(lock, flushIntervalMillis);
+                }
+                batch = pending;
+                batchEnd = appendedRecords;
+                pending = new ByteArrayOutputStream();
+            }
+            IOException error = null;
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+            synchronized (lock) {
+                if (error == null) {
+                    durableRecords = batchEnd;
+                    syncCount++;
+                } else {
+                    failure = error;
+                }
+                lock.notifyAll();
+                if (failure != null) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void waitOn(Object monitor, long millis) {
+        try {
+            monitor.wait(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void writeHeader(FileChannel channel, long generation) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putShort(VERSION).putLong(generation).flip();
+        channel.truncate(0);
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(false);
+    }
+
+    private static long readGeneration(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a write-ahead log file");
+        }
+        short version = in.readShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported write-ahead log version " + version);
+        }
+        return in.readLong();
+    }
+
+    /**
+     * Reads framed records until the end of the log or the first torn or corrupt record,
+     * applying each one to the context if a context is given.
+     */
+    private static ScanResult scanRecords(InputStream input, SharedContext context) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input, 1 << 16));
+        ScanResult result = new ScanResult();
+        CRC32 crc = new CRC32();
+        while (true) {
+            int length;
+            int checksum;
+            byte[] payload;
+            try {
+                length = in.readInt();
+                checksum = in.readInt();
+                if (length < 0 || length > MAX_RECORD_BYTES) {
+                    return result;
+                }
+                payload = new byte[length];
+                in.readFully(payload);
+            } catch (EOFException e) {
+                return result;
+            }
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                return result;
+            }
+            if (context != null) {
+                LogRecord.fromBytes(payload).apply(context);
+            }
+            result.records++;
+            result.validBytes += FRAME_HEADER_BYTES + length;
+        }
+    }
+
+    private static final class ScanResult {
+        private long records;
+        private long validBytes;
+    }
+
+    /**
+     * The ReplayReport class describes the outcome of replaying a log.
+     */
+    public static final class ReplayReport {
+        private final long records;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        private ReplayReport(long records, long bytes, long elapsedNanos) {
+            this.records = records;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Gets the number of records replayed.
+         *
+         * @return The number of records.
+         */
+        public long getRecords() {
+            return records;
+        }
+
+        /**
+         * Gets the number of record bytes replayed, excluding the file header.
+         *
+         * @return The number of bytes.
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Gets the time taken by the replay.
+         *
+         * @return The elapsed time in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Gets the replay throughput.
+         *
+         * @return The number of records replayed per second, or 0 if no time was measured.
+         */
+        public double getRecordsPerSecond() {
+            if (elapsedNanos <= 0) {
+                return 0;
+            }
+            return records * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        /**
+         * Provides a one-line summary of the replay.
+         *
+         * @return A string describing the replay.
+         */
+        @Override
+        public String toString() {
+            return String.format("Replayed %d record(s) (%d bytes) in %.2f ms (%.0f records/s)",
+                    records, bytes, elapsedNanos / 1_000_000.0, getRecordsPerSecond());
+        }
+    }
+}
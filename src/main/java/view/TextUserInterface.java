@@ -115,15 +115,7 @@ public class TextUserInterface implements View {
      */
     @Override
     public void displayFAQ(FAQ faq) {
-        System.out.println("Frequently Asked Questions");
-        displayDivider();
-        int i = 0;
-        for (FAQSection section : faq.getSections()) {
-            System.out.print("[");
-            System.out.print(i++);
-            System.out.print("] ");
-            System.out.println(section.getTopic());
-        }
+        System.out.print(faq);
     }
 
     /**
@@ -133,22 +125,7 @@ public class TextUserInterface implements View {
      */
     @Override
     public void displayFAQSection(FAQSection section) {
-        System.out.println(section.getTopic());
-        displayDivider();
-        for (FAQItem item : section.getItems()) {
-            System.out.println(item.getQuestion());
-            System.out.print("> ");
-            System.out.println(item.getAnswer());
-        }
-
-        System.out.println("Subsections:");
-        int i = 0;
-        for (FAQSection subsection : section.getSubsections()) {
-            System.out.print("[");
-            System.out.print(i++);
-            System.out.print("] ");
-            System.out.println(subsection.getTopic());
-        }
+        System.out.print(section);
     }
 
     /**
@@ -159,6 +136,7 @@ public class TextUserInterface implements View {
      */
     @Override
     public void displayInquiry(Inquiry inquiry) {
+        System.out.println("Inquiry: #" + inquiry.getId());
         System.out.println("Inquirer: " + inquiry.getInquirerEmail());
         System.out.println("Created at: " + inquiry.getCreatedAt());
         System.out.println("Assigned to: " + (inquiry.getAssignedTo() == null ? "No one" : inquiry.getAssignedTo()));
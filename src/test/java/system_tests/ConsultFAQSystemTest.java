@@ -80,4 +80,57 @@ public class ConsultFAQSystemTest extends TUITest {
 
     }
 
+    @Test
+    public void testSearchFAQ() throws URISyntaxException, IOException, ParseException {
+        setMockInput("-4", "exam resits", "-4", "title:(", "-1");
+
+        View view = new TextUserInterface();
+        SharedContext sharedContext = new SharedContext(view);
+        FAQ faq = sharedContext.getFAQ();
+
+        FAQSection section = new FAQSection("Assessment");
+        faq.addSection(section);
+        FAQSection subsection = new FAQSection("Exams");
+        section.addSubsection(subsection);
+        section.getItems().add(new FAQItem("How is coursework marked?", "Coursework is marked within three weeks."));
+        subsection.getItems().add(new FAQItem("Can I resit an exam?", "Resits are held in August for every failed exam.", "COMP12345"));
+
+        InquirerController inquirerController = new InquirerController(sharedContext, view, new MockAuthenticationService(), new MockEmailService());
+        startOutputCapture();
+        inquirerController.consultFAQ();
+
+        assertOutputContains("[-4] Search FAQ");
+        assertOutputContains("[Assessment > Exams] (COMP12345) Q: Can I [resit] an [exam]?");
+        assertOutputContains("Found 1 matching item(s)");
+        assertOutputContains("Invalid search");
+    }
+
+    @Test
+    public void testGoToFAQItemByNumber() throws URISyntaxException, IOException, ParseException {
+        // Going to an item opens its section, so two steps back lead to the top of the FAQ
+        setMockInput("-5", "#424242", "-1", "-1", "-5", "abc", "-5", "999999", "-1");
+        View view = new TextUserInterface();
+        SharedContext sharedContext = new SharedContext(view);
+        FAQ faq = sharedContext.getFAQ();
+
+        FAQSection section = new FAQSection("Assessment");
+        faq.addSection(section);
+        FAQSection subsection = new FAQSection("Exams");
+        section.addSubsection(subsection);
+        section.getItems().add(new FAQItem("How is coursework marked?", "Coursework is marked within three weeks."));
+        FAQItem resit = new FAQItem("Can I resit an exam?", "Resits are held in August.", "COMP12345", 424242);
+        subsection.getItems().add(resit);
+
+        InquirerController inquirerController = new InquirerController(sharedContext, view, new MockAuthenticationService(), new MockEmailService());
+        startOutputCapture();
+        inquirerController.consultFAQ();
+
+        assertOutputContains("[-5] Go to FAQ item by number");
+        assertOutputContains("#424242 [Assessment > Exams] (COMP12345)");
+        assertOutputContains("A: Resits are held in August.");
+        assertOutputContains("[-1] Return to Assessment");
+        assertOutputContains("Invalid FAQ item number: abc");
+        assertOutputContains("No FAQ item #999999");
+    }
+
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package system_tests;
 import controller.AdminStaffController;
 import controller.AuthenticatedUserController;
 import controller.InquirerController;
+import controller.TeachingStaffController;
 import external.MockAuthenticationService;
 import external.MockEmailService;
 import model.FAQ;
@@ -16,6 +17,7 @@ import view.View;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -110,6 +112,78 @@ public class ConsultingStaffSystemTest extends TUITest {
         assertOutputContains("Subject: Issue with assignment");
     }
 
+    @Test
+    public void testInquiryAboutUnknownCourseIsNotRecorded() throws URISyntaxException, IOException, ParseException {
+        View view = new TextUserInterface();
+        SharedContext context = new SharedContext(view);
+        loginAsStudent1(context);
+        InquirerController inquirer = new InquirerController(context, view, new MockAuthenticationService(), new MockEmailService());
+
+        startOutputCapture();
+        inquirer.sendInquiry("test@example.com", "Issue with assignment", "I am unable to submit the assignment.", true, "COMP99999");
+
+        assertOutputContains("Not a valid course code");
+        assertTrue(context.getPendingInquiries().isEmpty());
+    }
+
+    @Test
+    public void testTeachingStaffSeeOnlyTheirQueue() throws URISyntaxException, IOException, ParseException {
+        SharedContext context = new SharedContext(new TextUserInterface());
+        loginAsTeachingStaff(context);
+        String teacherEmail = ((AuthenticatedUser) context.currentUser).getEmail();
+        Inquiry first = new Inquiry("student1@example.com", "Lab marks", "When are lab marks out?", "COMP12345");
+        Inquiry other = new Inquiry("student2@example.com", "Parking", "Where can I park?", null);
+        Inquiry second = new Inquiry("student3@example.com", "Tutorial swap", "Can I swap tutorials?", "COMP12345");
+        context.addInquiry(first);
+        context.addInquiry(other);
+        context.addInquiry(second);
+        context.assignInquiry(first, teacherEmail);
+        context.assignInquiry(other, "someone.else@hindeburg.ac.uk");
+        context.assignInquiry(second, teacherEmail);
+        assertTrue(context.getUnassignedInquiries().isEmpty());
+
+        // Answer the first inquiry; the menu shown afterwards lists only the teacher's remaining inquiry
+        setMockInput("0", "0", "Re: Lab marks", "Next week.", "-1");
+        View view = new TextUserInterface();
+        TeachingStaffController controller = new TeachingStaffController(context, view, new MockAuthenticationService(), new MockEmailService());
+        startOutputCapture();
+        controller.manageReceivedInquiries();
+
+        assertOutputContains("[0] Lab marks");
+        assertOutputContains("[1] Tutorial swap");
+        assertOutputContains("Email response sent!");
+        assertOutputContains("[0] Tutorial swap");
+        assertEquals(List.of(second), context.getInquiriesAssignedTo(teacherEmail));
+        assertEquals(List.of(other, second), context.inquiries);
+    }
+
+    @Test
+    public void testAdminPagesAndFiltersInquiries() throws URISyntaxException, IOException, ParseException {
+        SharedContext context = new SharedContext(new TextUserInterface());
+        loginAsAdminStaff(context);
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < 12; i++) {
+            context.addInquiry(new Inquiry("student" + i + "@example.com", "Question " + i, "Content",
+                    i == 11 ? "MATH10001" : "COMP12345", start.plusMinutes(i)));
+        }
+
+        // Go to the second page, then filter by course
+        setMockInput("10", "3", "MATH10001", "", "-1");
+        View view = new TextUserInterface();
+        AdminStaffController admin = new AdminStaffController(context, view, new MockAuthenticationService(), new MockEmailService());
+        startOutputCapture();
+        admin.manageInquiries();
+
+        assertOutputContains("Pending inquiries - page 1");
+        assertOutputContains("[9] Question 9");
+        assertOutputContains("[10] Next page");
+        assertOutputContains("Pending inquiries - page 2");
+        assertOutputContains("[1] Question 11");
+        assertOutputContains("[2] Previous page");
+        assertOutputContains("Pending inquiries - page 1, course MATH10001");
+        assertOutputContains("[0] Question 11");
+    }
+
 //    @Test  //DOESNT WORK INFINITE
 //    public void testAdminCanViewUnansweredInquiries() throws Exception {
 //        setMockInput("0", "1", "This is a response.", "-1", "-1");
@@ -15,7 +15,11 @@ import view.View;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -95,4 +99,94 @@ public class DeleteCourseSystemTest extends TUITest {
 
 
     }
+
+    @Test
+    public void DeleteCourseRemovesSlotsFromTimetables() throws URISyntaxException, IOException, ParseException {
+        View view = new TextUserInterface();
+        SharedContext context = new SharedContext(view);
+        CourseManager courseManager = context.getCourseManager();
+        Course course = new Course(
+                "COMP12345",
+                "Introduction to Programming",
+                "Learn basic programming concepts",
+                true,
+                "Dr. Alice Smith",
+                "alice.smith@university.edu",
+                "Bob Johnson",
+                "bob.johnson@university.edu",
+                0,
+                0
+        );
+        course.addActivity(courseManager.generateActivityId(), LocalDate.of(2025, 4, 10), LocalTime.of(9, 0),
+                LocalDate.of(2025, 4, 10), LocalTime.of(10, 0), "Main Lecture Hall", DayOfWeek.TUESDAY, true, "lecture");
+        courseManager.addCourseToCourseList(course);
+        courseManager.addCourseToStudentTimetable("Student1@email.com", "COMP12345");
+        course.addMember("Student1@email.com");
+
+        assertTrue(courseManager.timetables.get("Student1@email.com").hasSlotsForCourse("COMP12345"));
+        String[] recipients = courseManager.removeCourse("COMP12345");
+
+        assertArrayEquals(new String[]{"Student1@email.com", "alice.smith@university.edu"}, recipients);
+        assertFalse(courseManager.timetables.get("Student1@email.com").hasSlotsForCourse("COMP12345"));
+    }
+
+    @Test
+    public void DeleteSeveralCoursesAtOnce() throws URISyntaxException, IOException, ParseException {
+        View view = new TextUserInterface();
+        SharedContext context = new SharedContext(view);
+        CourseManager courseManager = context.getCourseManager();
+        String[] codes = {"COMP12345", "MATH12345", "PHYS12345"};
+        for (int i = 0; i < codes.length; i++) {
+            Course course = new Course(codes[i], "Course " + i, "Description", false,
+                    "Organiser", "organiser@university.edu", "Secretary", "secretary@university.edu", 0, 0);
+            course.addActivity(courseManager.generateActivityId(), LocalDate.of(2025, 4, 10), LocalTime.of(9 + i, 0),
+                    LocalDate.of(2025, 4, 10), LocalTime.of(10 + i, 0), "Main Lecture Hall", DayOfWeek.TUESDAY, true, "lecture");
+            courseManager.addCourseToCourseList(course);
+        }
+        courseManager.addCourseToStudentTimetable("Student1@email.com", "COMP12345");
+        courseManager.addCourseToStudentTimetable("Student1@email.com", "MATH12345");
+        courseManager.addCourseToStudentTimetable("Student1@email.com", "PHYS12345");
+        courseManager.addCourseToStudentTimetable("Student2@email.com", "MATH12345");
+
+        CourseRemovalReport report = courseManager.removeCourses(Set.of("COMP12345", "MATH12345", "NONE12345"));
+
+        assertEquals(2, report.getCoursesRemoved());
+        assertEquals(2, report.getTimetablesTouched());
+        assertEquals(Set.of("Student1@email.com", "Student2@email.com", "organiser@university.edu"),
+                Set.of(report.getRecipients()));
+        assertEquals(3, report.getRecipients().length);
+        assertFalse(courseManager.hasCourse("COMP12345"));
+        assertTrue(courseManager.hasCourse("PHYS12345"));
+        Timetable timetable = courseManager.timetables.get("Student1@email.com");
+        assertFalse(timetable.hasSlotsForCourse("COMP12345"));
+        assertFalse(timetable.hasSlotsForCourse("MATH12345"));
+        assertTrue(timetable.hasSlotsForCourse("PHYS12345"));
+        assertFalse(courseManager.timetables.get("Student2@email.com").hasSlotsForCourse("MATH12345"));
+    }
+
+    @Test
+    public void DeleteSeveralCoursesFromMenu() throws URISyntaxException, IOException, ParseException {
+        setMockInput(
+                "2",
+                "COMP12345, NONE12345",
+                "2",
+                "NONE12345",
+                "-1"
+        );
+        View view = new TextUserInterface();
+        SharedContext context = new SharedContext(view);
+        CourseManager courseManager = context.getCourseManager();
+        courseManager.addCourseToCourseList(new Course("COMP12345", "Course", "Description", false,
+                "Organiser", "organiser@university.edu", "Secretary", "secretary@university.edu", 0, 0));
+        loginAsAdminStaff(context);
+        AdminStaffController admin = new AdminStaffController(context, view, new MockAuthenticationService(), new MockEmailService());
+
+        startOutputCapture();
+        admin.manageCourses();
+
+        assertFalse(courseManager.hasCourse("COMP12345"));
+        assertOutputContains("Courses Removed - COMP12345" + System.lineSeparator());
+        assertOutputContains("Removed 1 course(s)");
+        assertOutputContains("None of the given courses exist, nothing was removed");
+    }
 }
@@ -0,0 +1,69 @@
+package system_tests;
+
+import model.Activity;
+import model.ActivityIdMap;
+import model.Tutorial;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestActivityIdMapClass {
+    private ActivityIdMap activityIdMap;
+
+    @BeforeEach
+    public void setUp() {
+        activityIdMap = new ActivityIdMap();
+    }
+
+    private Activity tutorial(int id) {
+        return new Tutorial(
+                id,
+                LocalDate.of(2025, 4, 3),
+                LocalTime.of(11, 0),
+                LocalDate.of(2025, 4, 3),
+                LocalTime.of(12, 0),
+                "Tutorial Room",
+                DayOfWeek.WEDNESDAY,
+                10
+        );
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        Activity activity = tutorial(-42);
+        assertNull(activityIdMap.get(-42));
+        assertNull(activityIdMap.put(-42, activity));
+        assertSame(activity, activityIdMap.get(-42));
+        assertEquals(1, activityIdMap.size());
+        assertSame(activity, activityIdMap.remove(-42));
+        assertFalse(activityIdMap.containsKey(-42));
+        assertEquals(0, activityIdMap.size());
+    }
+
+    @Test
+    public void testMatchesHashMapUnderRandomOperations() {
+        Map<Integer, Activity> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            int id = random.nextInt(500) - 250;
+            if (random.nextBoolean()) {
+                Activity activity = tutorial(id);
+                assertSame(expected.put(id, activity), activityIdMap.put(id, activity));
+            } else {
+                assertSame(expected.remove(id), activityIdMap.remove(id));
+            }
+            assertEquals(expected.size(), activityIdMap.size());
+        }
+        for (int id = -250; id < 250; id++) {
+            assertSame(expected.get(id), activityIdMap.get(id));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package system_tests;
+
+import model.ActivityRegistry;
+import model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestActivityRegistryClass {
+    private ActivityRegistry registry;
+    private Course course;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new ActivityRegistry();
+        course = new Course(
+                "COMP12345",
+                "Introduction to Programming",
+                "Learn basic programming concepts",
+                true,
+                "Dr. Alice Smith",
+                "alice.smith@university.edu",
+                "Bob Johnson",
+                "bob.johnson@university.edu",
+                0,
+                0
+        );
+    }
+
+    @Test
+    public void testAllocatedIdsAreUnique() {
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(ids.add(registry.nextId()));
+        }
+    }
+
+    @Test
+    public void testAllocatorSkipsRegisteredIds() {
+        course.addActivity(1, LocalDate.of(2025, 4, 1), LocalTime.of(9, 0),
+                LocalDate.of(2025, 4, 1), LocalTime.of(10, 0),
+                "Lecture Hall", DayOfWeek.MONDAY, true, "lecture");
+        registry.registerCourse(course);
+        assertNotEquals(1, registry.nextId());
+    }
+
+    @Test
+    public void testAllocatorMovesPastRegisteredIdsAndNeverReusesThem() {
+        int allocated = registry.nextId();
+        course.addActivity(allocated + 5, LocalDate.of(2025, 4, 1), LocalTime.of(9, 0),
+                LocalDate.of(2025, 4, 1), LocalTime.of(10, 0),
+                "Lecture Hall", DayOfWeek.MONDAY, true, "lecture");
+        registry.registerCourse(course);
+        assertEquals(allocated + 6, registry.nextId());
+
+        // An ID is not handed out again once its activity has been unregistered
+        registry.unregisterCourse(course);
+        assertEquals(allocated + 7, registry.nextId());
+    }
+
+    @Test
+    public void testResolveAndUnregister() {
+        course.addActivity(7, LocalDate.of(2025, 4, 1), LocalTime.of(9, 0),
+                LocalDate.of(2025, 4, 1), LocalTime.of(10, 0),
+                "Lab Room", DayOfWeek.MONDAY, 20, "lab");
+        registry.registerCourse(course);
+
+        ActivityRegistry.Registration registration = registry.resolve(7);
+        assertNotNull(registration);
+        assertSame(course, registration.getCourse());
+        assertEquals(7, registration.getActivity().getId());
+
+        registry.unregisterCourse(course);
+        assertNull(registry.resolve(7));
+    }
+}
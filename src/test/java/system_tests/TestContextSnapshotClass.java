@@ -0,0 +1,180 @@
+package system_tests;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import view.TextUserInterface;
+import view.View;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestContextSnapshotClass {
+
+    private SharedContext populatedContext() {
+        View view = new TextUserInterface();
+        SharedContext context = new SharedContext(view);
+        CourseManager courseManager = context.getCourseManager();
+        Course course = new Course("COMP12345", "Introduction to Programming", "Learn basic programming concepts",
+                true, "Dr. Alice Smith", "alice.smith@university.edu", "Bob Johnson", "bob.johnson@university.edu",
+                1, 0);
+        course.addActivity(courseManager.generateActivityId(), LocalDate.of(2025, 4, 1), LocalTime.of(9, 0),
+                LocalDate.of(2025, 4, 1), LocalTime.of(10, 0), "Lecture Hall", DayOfWeek.MONDAY, false, "lecture");
+        course.addActivity(courseManager.generateActivityId(), LocalDate.of(2025, 4, 2), LocalTime.of(11, 0),
+                LocalDate.of(2025, 4, 2), LocalTime.of(12, 0), "Tutorial Room", DayOfWeek.TUESDAY, 20, "tutorial");
+        courseManager.addCourseToCourseList(course);
+        courseManager.addCourseToStudentTimetable("student@example.com", "COMP12345");
+        courseManager.chooseActivityForCourse("student@example.com", "COMP12345",
+                String.valueOf(course.getActivities().get(1).getId()));
+
+        Inquiry inquiry = new Inquiry("student@example.com", "Deadline", "When is it due?", "COMP12345",
+                LocalDateTime.of(2025, 3, 1, 12, 30, 15));
+        inquiry.setAssignedTo("teacher@example.com");
+        context.inquiries.add(inquiry);
+        context.inquiries.add(new Inquiry("guest@example.com", "Parking", "Where can I park?", null));
+
+        FAQSection parent = new FAQSection("Admissions");
+        parent.getItems().add(new FAQItem("How do I apply?", "Online.", null));
+        FAQSection child = new FAQSection("Deadlines");
+        child.getItems().add(new FAQItem("When?", "March.", "COMP12345"));
+        parent.addSubsection(child);
+        context.getFAQ().addSection(parent);
+        context.registerForFAQUpdates("student@example.com", "Admissions");
+        return context;
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() throws IOException {
+        SharedContext original = populatedContext();
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            ContextSnapshot.save(original, file);
+            SharedContext restored = new SharedContext(new TextUserInterface());
+            ContextSnapshot.load(restored, file);
+
+            CourseManager courseManager = restored.getCourseManager();
+            Course course = courseManager.getCourseByCode("COMP12345");
+            assertNotNull(course);
+            assertEquals("bob.johnson@university.edu", course.getCourseSecretaryEmail());
+            assertEquals(2, course.getActivities().size());
+            assertTrue(course.getActivities().get(0).isUnrecordedLecture());
+            assertEquals(20, ((Tutorial) course.getActivities().get(1)).getCapacity());
+            assertEquals(Set.of("student@example.com"), course.getMembers());
+
+            Timetable timetable = courseManager.timetables.get("student@example.com");
+            assertNotNull(timetable);
+            assertFalse(timetable.isHydrated());
+            assertEquals(Set.of("COMP12345"), timetable.getCourseCodes());
+            assertEquals(2, timetable.getTimeSlots().size());
+            assertEquals(1, timetable.numChosenTutorialInTimeSlots("COMP12345"));
+            assertFalse(timetable.isFree(DayOfWeek.MONDAY, LocalTime.of(9, 30), LocalTime.of(9, 45)));
+
+            assertEquals(2, restored.inquiries.size());
+            assertEquals(LocalDateTime.of(2025, 3, 1, 12, 30, 15), restored.inquiries.get(0).getCreatedAt());
+            assertEquals("teacher@example.com", restored.inquiries.get(0).getAssignedTo());
+            assertFalse(restored.inquiries.get(1).hasCourseCode());
+            assertSame(restored.inquiries.get(0), restored.getInquiry(original.inquiries.get(0).getId()));
+            assertEquals(List.of(restored.inquiries.get(0)), restored.getInquiriesAssignedTo("teacher@example.com"));
+
+            FAQSection parent = restored.getFAQ().getSections().get(0);
+            assertEquals("Admissions", parent.getTopic());
+            assertEquals(original.getFAQ().getSections().get(0).getItems().get(0).getNumber(),
+                    parent.getItems().get(0).getNumber());
+            FAQSection child = parent.getSubsections().get(0);
+            assertSame(parent, child.getParent());
+            assertEquals("COMP12345", child.getItems().get(0).getCourseTag());
+            assertEquals(Set.of("student@example.com"), restored.usersSubscribedToFAQTopic("Admissions"));
+
+            // Removing the restored course must still purge the restored timetable
+            courseManager.removeCourse("COMP12345");
+            assertFalse(timetable.hasSlotsForCourse("COMP12345"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testConcurrentReadersOfARestoredTimetable() throws IOException, InterruptedException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContextSnapshot.write(populatedContext(), out);
+        SharedContext restored = new SharedContext(new TextUserInterface());
+        ContextSnapshot.read(restored, new ByteArrayInputStream(out.toByteArray()));
+        Timetable timetable = restored.getCourseManager().timetables.get("student@example.com");
+        assertFalse(timetable.isHydrated());
+
+        // Readers build the restored timetable while another thread keeps dropping it, as a bulk purge does
+        AtomicBoolean reading = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch ready = new CountDownLatch(1);
+        Thread evictor = new Thread(() -> {
+            while (reading.get()) {
+                timetable.evict();
+            }
+        });
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            readers.add(new Thread(() -> {
+                try {
+                    ready.await();
+                    for (int i = 0; i < 5_000; i++) {
+                        assertEquals(2, timetable.getTimeSlots().size());
+                        assertTrue(timetable.hasSlotsForCourse("COMP12345"));
+                        assertEquals(1, timetable.numChosenTutorialInTimeSlots("COMP12345"));
+                        assertEquals(1, timetable.findConflicts(DayOfWeek.MONDAY, LocalTime.of(9, 30),
+                                LocalTime.of(9, 45)).size());
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        evictor.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        ready.countDown();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        reading.set(false);
+        evictor.join();
+
+        assertNull(failure.get());
+        assertEquals(2, timetable.getTimeSlots().size());
+    }
+
+    @Test
+    public void testCorruptSnapshotIsRejected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContextSnapshot.write(populatedContext(), out);
+        byte[] bytes = out.toByteArray();
+        bytes[bytes.length / 2] ^= 0x5A;
+
+        SharedContext restored = new SharedContext(new TextUserInterface());
+        assertThrows(IOException.class, () -> ContextSnapshot.read(restored, new ByteArrayInputStream(bytes)));
+        assertThrows(IOException.class,
+                () -> ContextSnapshot.read(new SharedContext(new TextUserInterface()),
+                        new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6})));
+
+        // Only the current format version is read
+        byte[] otherVersion = out.toByteArray();
+        otherVersion[5] = (byte) (ContextSnapshot.VERSION + 1);
+        IOException rejected = assertThrows(IOException.class, () -> ContextSnapshot.read(
+                new SharedContext(new TextUserInterface()), new ByteArrayInputStream(otherVersion)));
+        assertTrue(rejected.getMessage().contains("version"));
+    }
+}
@@ -0,0 +1,87 @@
+package system_tests;
+
+import model.Course;
+import model.CourseCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCourseCatalogClass {
+    private CourseCatalog catalog;
+    private Course course;
+
+    @BeforeEach
+    public void setUp() {
+        catalog = new CourseCatalog();
+        course = new Course(
+                "COMP12345",
+                "Introduction to Programming",
+                "Learn basic programming concepts",
+                true,
+                "Dr. Alice Smith",
+                "alice.smith@university.edu",
+                "Bob Johnson",
+                "bob.johnson@university.edu",
+                0,
+                0
+        );
+    }
+
+    @Test
+    public void testLookupIgnoresCase() {
+        catalog.add(course);
+        assertSame(course, catalog.get("COMP12345"));
+        assertSame(course, catalog.get("comp12345"));
+        assertTrue(catalog.contains("Comp12345"));
+        assertTrue(course.hasCode("comp12345"));
+        assertFalse(catalog.contains("COMP54321"));
+        assertNull(catalog.get(null));
+    }
+
+    @Test
+    public void testRemoveOnlyRemovesMatchingCourse() {
+        Course otherCourse = new Course(
+                "MATH10101",
+                "Calculus",
+                "Limits and derivatives",
+                false,
+                "Carol White",
+                "carol.white@university.edu",
+                "Dan Brown",
+                "dan.brown@university.edu",
+                0,
+                0
+        );
+        catalog.add(course);
+        catalog.add(otherCourse);
+
+        assertSame(course, catalog.remove("comp12345"));
+        assertFalse(catalog.contains("COMP12345"));
+        assertTrue(catalog.contains("MATH10101"));
+        assertEquals(1, catalog.size());
+        assertNull(catalog.remove("COMP12345"));
+    }
+
+    @Test
+    public void testCourseTextIsReusedUntilActivitiesChange() {
+        course.addActivity(2, LocalDate.of(2025, 4, 1), LocalTime.of(14, 0), LocalDate.of(2025, 6, 1),
+                LocalTime.of(15, 0), "Lab Room", DayOfWeek.TUESDAY, 20, "lab");
+        String text = course.toString();
+        assertSame(text, course.toString());
+
+        // A new activity is sorted into the listing by day
+        course.addActivity(1, LocalDate.of(2025, 4, 1), LocalTime.of(9, 0), LocalDate.of(2025, 6, 1),
+                LocalTime.of(10, 0), "Lecture Hall", DayOfWeek.MONDAY, true, "lecture");
+        String updated = course.toString();
+        assertNotSame(text, updated);
+        assertTrue(updated.indexOf("Lecture (recorded)") < updated.indexOf("LAB (Capacity: 20)"));
+
+        course.removeActivities();
+        assertFalse(course.toString().contains("Lecture"));
+    }
+}
@@ -0,0 +1,95 @@
+package system_tests;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import view.TextUserInterface;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCourseCatalogImporterClass {
+
+    private String courseLine(String courseCode, String activities) {
+        return "{\"courseCode\":\"" + courseCode + "\",\"name\":\"Course " + courseCode + "\","
+                + "\"description\":\"Description\",\"requiresComputers\":true,"
+                + "\"courseOrganiserName\":\"Dr. Alice Smith\",\"courseOrganiserEmail\":\"alice.smith@university.edu\","
+                + "\"courseSecretaryName\":\"Bob Johnson\",\"courseSecretaryEmail\":\"bob.johnson@university.edu\","
+                + "\"requiredTutorials\":1,\"requiredLabs\":\"0\",\"activities\":[" + activities + "]}";
+    }
+
+    private static final String LECTURE = "{\"type\":\"lecture\",\"startDate\":\"2025-04-01\",\"endDate\":\"2025-06-01\","
+            + "\"startTime\":\"09:00\",\"endTime\":\"10:00\",\"location\":\"Lecture Hall\",\"day\":\"monday\",\"recorded\":false}";
+    private static final String TUTORIAL = "{\"type\":\"Tutorial\",\"startDate\":\"2025-04-01\",\"endDate\":\"2025-06-01\","
+            + "\"startTime\":\"11:00\",\"endTime\":\"12:00\",\"location\":\"Room 1\",\"day\":\"TUESDAY\",\"capacity\":20}";
+
+    @Test
+    public void testValidLinesAreImportedAndOthersRejectedWithReasons() throws IOException {
+        CourseManager courseManager = new CourseManager(new TextUserInterface());
+        Course existing = new Course("MATH10001", "Maths", "Description", false, "Dr. Alice Smith",
+                "alice.smith@university.edu", "Bob Johnson", "bob.johnson@university.edu", 0, 0);
+        courseManager.addCourseToCourseList(existing);
+
+        String catalog = String.join("\n",
+                courseLine("COMP12345", LECTURE + "," + TUTORIAL),
+                "",
+                "{not json",
+                courseLine("comp123", ""),
+                courseLine("COMP12345", ""),
+                courseLine("MATH10001", ""),
+                courseLine("INFR10001", TUTORIAL.replace("\"12:00\"", "\"10:30\"")),
+                courseLine("INFR10002", "").replace("\"courseSecretaryEmail\":\"bob.johnson@university.edu\"",
+                        "\"courseSecretaryEmail\":\"not-an-email\""),
+                courseLine("INFR10003", TUTORIAL));
+
+        // A batch size of 3 makes the duplicate check span batches
+        CatalogImportReport report = new CourseCatalogImporter(courseManager, 3).importCatalog(new StringReader(catalog));
+
+        assertEquals(List.of("COMP12345", "INFR10003"), report.getImportedCourseCodes());
+        assertEquals(9, report.getLinesRead());
+        List<String> rejections = report.getRejections().stream().map(Object::toString).collect(Collectors.toList());
+        assertEquals(6, rejections.size());
+        assertTrue(rejections.get(0).startsWith("Line 3: Invalid JSON"));
+        assertEquals("Line 4: Provided courseCode is invalid", rejections.get(1));
+        assertEquals("Line 5: Course with that code already exists", rejections.get(2));
+        assertEquals("Line 6: Course with that code already exists", rejections.get(3));
+        assertEquals("Line 7: Activity 1: End time must be after the start time", rejections.get(4));
+        assertEquals("Line 8: Required course info not provided", rejections.get(5));
+
+        Course imported = courseManager.getCourseByCode("COMP12345");
+        assertNotNull(imported);
+        assertEquals(2, imported.getActivities().size());
+        assertTrue(imported.getActivities().get(0).isUnrecordedLecture());
+        assertEquals(DayOfWeek.TUESDAY, imported.getActivities().get(1).getDay());
+        assertEquals(20, ((Tutorial) imported.getActivities().get(1)).getCapacity());
+
+        // Imported courses behave like interactively created ones
+        courseManager.addCourseToStudentTimetable("student@example.com", "COMP12345");
+        courseManager.addCourseToStudentTimetable("student@example.com", "INFR10003");
+        Timetable timetable = courseManager.timetables.get("student@example.com");
+        assertFalse(timetable.isFree(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        assertNotEquals(imported.getActivities().get(1).getId(),
+                courseManager.getCourseByCode("INFR10003").getActivities().get(0).getId());
+    }
+
+    @Test
+    public void testImportThroughput() throws IOException {
+        CourseManager courseManager = new CourseManager(new TextUserInterface());
+        StringBuilder catalog = new StringBuilder();
+        int courses = 5000;
+        for (int i = 0; i < courses; i++) {
+            catalog.append(courseLine(String.format("COMP%05d", i), LECTURE + "," + TUTORIAL)).append('\n');
+        }
+
+        CatalogImportReport report = new CourseCatalogImporter(courseManager).importCatalog(new StringReader(catalog.toString()));
+
+        assertEquals(courses, report.getImportedCourseCodes().size());
+        assertTrue(report.getRejections().isEmpty());
+        assertEquals(courses, courseManager.getCourses().size());
+    }
+}
@@ -0,0 +1,69 @@
+package system_tests;
+
+import model.Course;
+import model.CourseManager;
+import model.CourseRoutingTable;
+import org.junit.jupiter.api.Test;
+import view.TextUserInterface;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCourseRoutingTableClass {
+
+    private static Course course(String code, String organiserEmail) {
+        return new Course(code, "Course " + code, "Description", false, "Organiser", organiserEmail,
+                "Secretary", "secretary@university.edu", 0, 0);
+    }
+
+    @Test
+    public void testRoutesFollowAddedReplacedAndRemovedCourses() {
+        CourseManager courseManager = new CourseManager(new TextUserInterface());
+        courseManager.addCourseToCourseList(course("COMP12345", "alice.smith@university.edu"));
+        courseManager.addCourseToCourseList(course("MATH10001", "carol@university.edu"));
+        courseManager.addCourseToCourseList(course("INFR10001", "dave@university.edu"));
+
+        CourseRoutingTable.Route route = courseManager.getInquiryRoute("comp12345");
+        assertNotNull(route);
+        assertEquals("COMP12345", route.getCourseCode());
+        assertEquals("alice.smith@university.edu", route.getOrganiserEmail());
+        assertEquals("secretary@university.edu", route.getSecretaryEmail());
+        assertNull(courseManager.getInquiryRoute("COMP99999"));
+        assertNull(courseManager.getInquiryRoute(null));
+
+        // A course added again under the same code replaces the old route
+        courseManager.addCourseToCourseList(course("COMP12345", "erin@university.edu"));
+        assertEquals("erin@university.edu", courseManager.getInquiryRoute("COMP12345").getOrganiserEmail());
+
+        courseManager.removeCourse("Comp12345");
+        assertNull(courseManager.getInquiryRoute("COMP12345"));
+        courseManager.removeCourses(Set.of("MATH10001", "COMP99999"));
+        assertNull(courseManager.getInquiryRoute("MATH10001"));
+        assertEquals("dave@university.edu", courseManager.getInquiryRoute("INFR10001").getOrganiserEmail());
+    }
+
+    @Test
+    public void testRoutingWhileCoursesChange() throws InterruptedException {
+        CourseManager courseManager = new CourseManager(new TextUserInterface());
+        courseManager.addCourseToCourseList(course("COMP00000", "stable@university.edu"));
+        Thread editor = new Thread(() -> {
+            for (int i = 1; i <= 20_000; i++) {
+                String code = String.format("COMP%05d", i);
+                courseManager.addCourseToCourseList(course(code, "organiser" + i + "@university.edu"));
+                if (i % 2 == 0) {
+                    courseManager.removeCourse(code);
+                }
+            }
+        });
+        editor.start();
+
+        while (editor.isAlive()) {
+            assertEquals("stable@university.edu", courseManager.getInquiryRoute("COMP00000").getOrganiserEmail());
+        }
+        editor.join();
+
+        assertNotNull(courseManager.getInquiryRoute("COMP19999"));
+        assertNull(courseManager.getInquiryRoute("COMP20000"));
+    }
+}
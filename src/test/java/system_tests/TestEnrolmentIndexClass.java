@@ -0,0 +1,91 @@
+package system_tests;
+
+import model.EnrolmentIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestEnrolmentIndexClass {
+    private EnrolmentIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new EnrolmentIndex();
+    }
+
+    @Test
+    public void testEnrolIsRecordedInBothDirections() {
+        assertTrue(index.enrol("student1@example.com", "COMP12345"));
+        assertFalse(index.enrol("student1@example.com", "comp12345"));
+        index.enrol("student1@example.com", "MATH20120");
+        index.enrol("student2@example.com", "COMP12345");
+
+        assertEquals(Set.of("COMP12345", "MATH20120"), index.getCourses("student1@example.com"));
+        assertEquals(Set.of("student1@example.com", "student2@example.com"), index.getStudents("Comp12345"));
+        assertTrue(index.isEnrolled("student2@example.com", "COMP12345"));
+
+        assertTrue(index.unenrol("student2@example.com", "COMP12345"));
+        assertFalse(index.unenrol("student2@example.com", "COMP12345"));
+        assertTrue(index.getCourses("student2@example.com").isEmpty());
+        assertEquals(Set.of("student1@example.com"), index.getStudents("COMP12345"));
+    }
+
+    @Test
+    public void testRemoveCourseReturnsEnrolledStudents() {
+        index.enrol("student1@example.com", "COMP12345");
+        index.enrol("student1@example.com", "MATH20120");
+        index.enrol("student2@example.com", "COMP12345");
+
+        assertEquals(Set.of("student1@example.com", "student2@example.com"), index.removeCourse("COMP12345"));
+        assertTrue(index.getStudents("COMP12345").isEmpty());
+        assertEquals(Set.of("MATH20120"), index.getCourses("student1@example.com"));
+        assertTrue(index.getCourses("student2@example.com").isEmpty());
+        assertTrue(index.removeCourse("COMP12345").isEmpty());
+    }
+
+    @Test
+    public void testConcurrentEnrolmentsKeepBothDirectionsInStep() throws InterruptedException {
+        List<Thread> students = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String studentEmail = "student" + t + "@example.com";
+            students.add(new Thread(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    String courseCode = String.format("COMP%05d", i % 20);
+                    index.enrol(studentEmail, courseCode);
+                    // Copies can be read while other students change the index
+                    for (String enrolled : index.getStudents(courseCode)) {
+                        assertNotNull(enrolled);
+                    }
+                    if (i % 3 == 0) {
+                        index.unenrol(studentEmail, courseCode);
+                    }
+                }
+            }));
+        }
+        for (Thread student : students) {
+            student.start();
+        }
+        for (Thread student : students) {
+            student.join();
+        }
+
+        for (int t = 0; t < 8; t++) {
+            String studentEmail = "student" + t + "@example.com";
+            for (String courseCode : index.getCourses(studentEmail)) {
+                assertTrue(index.getStudents(courseCode).contains(studentEmail));
+            }
+        }
+        for (int c = 0; c < 20; c++) {
+            String courseCode = String.format("COMP%05d", c);
+            for (String studentEmail : index.getStudents(courseCode)) {
+                assertTrue(index.isEnrolled(studentEmail, courseCode));
+            }
+        }
+        assertEquals(8, index.getStudents("COMP00001").size());
+    }
+}
@@ -0,0 +1,104 @@
+package system_tests;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import view.TextUserInterface;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestEnrolmentLoaderClass {
+
+    private Course course(CourseManager courseManager, String courseCode, DayOfWeek day, int hour, boolean recorded) {
+        Course course = new Course(courseCode, "Course " + courseCode, "Description", false, "Dr. Alice Smith",
+                "alice.smith@university.edu", "Bob Johnson", "bob.johnson@university.edu", 1, 0);
+        course.addActivity(courseManager.generateActivityId(), LocalDate.of(2025, 4, 1), LocalTime.of(hour, 0),
+                LocalDate.of(2025, 6, 1), LocalTime.of(hour + 1, 0), "Lecture Hall", day, recorded, "lecture");
+        course.addActivity(courseManager.generateActivityId(), LocalDate.of(2025, 4, 1), LocalTime.of(hour + 2, 0),
+                LocalDate.of(2025, 6, 1), LocalTime.of(hour + 3, 0), "Tutorial Room", day, 20, "tutorial");
+        courseManager.addCourseToCourseList(course);
+        return course;
+    }
+
+    @Test
+    public void testTuplesFollowTheInteractiveRules() throws IOException {
+        CourseManager courseManager = new CourseManager(new TextUserInterface());
+        Course comp = course(courseManager, "COMP12345", DayOfWeek.MONDAY, 9, false);
+        Course math = course(courseManager, "MATH10001", DayOfWeek.MONDAY, 9, false);
+        Course infr = course(courseManager, "INFR10001", DayOfWeek.MONDAY, 11, true);
+        int compTutorial = comp.getActivities().get(1).getId();
+
+        String input = String.join("\n",
+                "studentEmail,courseCode,activityId",
+                "a@example.com,COMP12345",
+                "a@example.com,COMP12345",
+                "a@example.com,MATH10001",
+                "a@example.com,COMP12345," + compTutorial,
+                "",
+                "b@example.com,COMP12345," + compTutorial,
+                "b@example.com,INFR10001," + infr.getActivities().get(1).getId(),
+                "b@example.com,COMP12345," + math.getActivities().get(1).getId(),
+                "b@example.com,COMP12345,abc",
+                "not-an-email,COMP12345",
+                "c@example.com",
+                "c@example.com,NOPE00000");
+
+        EnrolmentLoadReport report = new EnrolmentLoader(courseManager, 2).load(new StringReader(input));
+
+        assertEquals(11, report.getTuplesRead());
+        assertEquals(3, report.getCount(EnrolmentOutcome.ADDED));
+        assertEquals(1, report.getCount(EnrolmentOutcome.ADDED_WITH_CLASH));
+        assertEquals(1, report.getCount(EnrolmentOutcome.ALREADY_IN_TIMETABLE));
+        assertEquals(1, report.getCount(EnrolmentOutcome.UNRECORDED_LECTURE_CLASH));
+        assertEquals(1, report.getCount(EnrolmentOutcome.ACTIVITY_NOT_IN_TIMETABLE));
+        assertEquals(1, report.getCount(EnrolmentOutcome.INVALID_ACTIVITY_ID));
+        assertEquals(1, report.getCount(EnrolmentOutcome.INVALID_EMAIL));
+        assertEquals(1, report.getCount(EnrolmentOutcome.MALFORMED_LINE));
+        assertEquals(1, report.getCount(EnrolmentOutcome.INCORRECT_COURSE_CODE));
+        assertEquals(4, report.getAccepted());
+        assertEquals(7, report.getRejected());
+        assertEquals("Line 3: Already added course to timetable", report.getRejectionSamples().get(0));
+        assertEquals("Line 4: Clash with an unrecorded lecture", report.getRejectionSamples().get(1));
+
+        Timetable a = courseManager.timetables.get("a@example.com");
+        assertEquals(1, a.numChosenTutorialInTimeSlots("COMP12345"));
+        assertFalse(a.hasSlotsForCourse("MATH10001"));
+        // Choosing an activity adds its course first; the tutorial clashes with the recorded INFR10001 lecture
+        Timetable b = courseManager.timetables.get("b@example.com");
+        assertTrue(b.hasSlotsForCourse("COMP12345"));
+        assertTrue(b.hasSlotsForCourse("INFR10001"));
+        assertEquals(1, b.numChosenTutorialInTimeSlots("INFR10001"));
+        assertTrue(comp.getMembers().contains("b@example.com"));
+    }
+
+    @Test
+    public void testLoadThroughput() throws IOException {
+        CourseManager courseManager = new CourseManager(new TextUserInterface());
+        int courses = 50;
+        Course[] catalog = new Course[courses];
+        for (int i = 0; i < courses; i++) {
+            catalog[i] = course(courseManager, String.format("COMP%05d", i), DayOfWeek.values()[i % 5], 8 + i % 6, true);
+        }
+
+        StringBuilder input = new StringBuilder();
+        int students = 5000;
+        for (int s = 0; s < students; s++) {
+            for (int c = 0; c < 4; c++) {
+                Course course = catalog[(s + c * 7) % courses];
+                input.append("student").append(s).append("@example.com,").append(course.getCourseCode()).append(',')
+                        .append(course.getActivities().get(1).getId()).append('\n');
+            }
+        }
+
+        EnrolmentLoadReport report = new EnrolmentLoader(courseManager).load(new StringReader(input.toString()));
+
+        assertEquals(students * 4, report.getTuplesRead());
+        assertEquals(0, report.getRejected());
+        assertEquals(students, courseManager.timetables.size());
+    }
+}
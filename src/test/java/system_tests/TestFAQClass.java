@@ -0,0 +1,189 @@
+package system_tests;
+
+import model.FAQ;
+import model.FAQItem;
+import model.FAQSection;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFAQClass {
+
+    @Test
+    public void testTopicLookupsFollowAddsMovesAndRemovals() {
+        FAQ faq = new FAQ();
+        FAQSection exams = faq.getOrCreateSection(List.of("Assessment", "Exams"));
+        FAQSection resits = faq.getOrCreateSection(List.of("Assessment", "Exams", "Resits"));
+        FAQSection assessment = faq.getSection("Assessment");
+        assessment.getItems().add(new FAQItem("How is coursework marked?", "Fairly."));
+        exams.getItems().add(new FAQItem("When are exams?", "In May."));
+        resits.getItems().add(new FAQItem("Can I resit?", "Yes."));
+
+        assertSame(exams, assessment.getSubsection("Exams"));
+        assertSame(resits, faq.findSection(List.of("Assessment", "Exams", "Resits")));
+        assertNull(faq.findSection(List.of("Assessment", "Resits")));
+        assertThrows(UnsupportedOperationException.class, () -> faq.getSections().add(new FAQSection("Other")));
+        assertThrows(UnsupportedOperationException.class, () -> assessment.getSubsections().clear());
+
+        // Emptying "Exams" moves "Resits" up under "Assessment"
+        faq.removeItem(exams, 0);
+        assertNull(assessment.getSubsection("Exams"));
+        assertSame(resits, assessment.getSubsection("Resits"));
+        assertSame(assessment, resits.getParent());
+        assertEquals(List.of("Assessment", "Resits"), resits.getPath());
+
+        // Emptying "Assessment" moves "Resits" to the root
+        faq.removeItem(assessment, 0);
+        assertNull(faq.getSection("Assessment"));
+        assertSame(resits, faq.getSection("Resits"));
+        assertNull(resits.getParent());
+        assertEquals(List.of(resits), faq.getSections());
+    }
+
+    @Test
+    public void testDuplicateTopicsResolveToTheFirstRemaining() {
+        FAQSection parent = new FAQSection("Parent");
+        FAQSection first = new FAQSection("Topic");
+        FAQSection second = new FAQSection("Topic");
+        parent.addSubsection(first);
+        parent.addSubsection(second);
+        assertSame(first, parent.getSubsection("Topic"));
+
+        assertTrue(parent.removeSubsection(first));
+        assertFalse(parent.removeSubsection(first));
+        assertNull(first.getParent());
+        assertSame(second, parent.getSubsection("Topic"));
+    }
+
+    @Test
+    public void testItemsCanBeFoundByNumberWhereverTheyMove() {
+        FAQ faq = new FAQ();
+        FAQSection exams = faq.getOrCreateSection(List.of("Assessment", "Exams"));
+        FAQSection assessment = faq.getSection("Assessment");
+        FAQItem coursework = new FAQItem("How is coursework marked?", "Fairly.");
+        FAQItem exam = new FAQItem("When are exams?", "In May.");
+        assessment.getItems().add(coursework);
+        exams.getItems().add(exam);
+
+        // Items of a section built before it joins the FAQ are indexed when it joins
+        FAQSection fees = new FAQSection("Fees");
+        FAQSection refunds = new FAQSection("Refunds");
+        fees.addSubsection(refunds);
+        FAQItem refund = new FAQItem("Can I get a refund?", "Sometimes.");
+        refunds.getItems().add(refund);
+        assertNull(faq.getItem(refund.getNumber()));
+        faq.addSection(fees);
+        assertSame(refund, faq.getItem(refund.getNumber()));
+        assertSame(refunds, faq.getItemSection(refund.getNumber()));
+
+        assertSame(exam, faq.getItem(exam.getNumber()));
+        assertSame(exams, faq.getItemSection(exam.getNumber()));
+
+        // Emptying "Assessment" moves "Exams" to the root without losing its items
+        faq.removeItem(assessment, 0);
+        assertNull(faq.getItem(coursework.getNumber()));
+        assertSame(exam, faq.getItem(exam.getNumber()));
+        assertSame(exams, faq.getItemSection(exam.getNumber()));
+
+        faq.removeItem(exams, 0);
+        assertNull(faq.getItem(exam.getNumber()));
+        assertNull(faq.getItemSection(exam.getNumber()));
+
+        // Restored items keep their numbers, and new items are numbered after them
+        FAQItem restored = new FAQItem("Restored?", "Yes.", null, 1_000_000);
+        refunds.getItems().add(restored);
+        assertSame(restored, faq.getItem(1_000_000));
+        assertTrue(new FAQItem("Next?", "Yes.").getNumber() > 1_000_000);
+    }
+
+    @Test
+    public void testConcurrentItemsGetUniqueNumbers() throws InterruptedException {
+        int threads = 4;
+        int itemsPerThread = 10_000;
+        List<List<FAQItem>> created = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<FAQItem> items = new ArrayList<>(itemsPerThread);
+            created.add(items);
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < itemsPerThread; i++) {
+                    items.add(new FAQItem("Question?", "Answer."));
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Set<Integer> numbers = new HashSet<>();
+        for (List<FAQItem> items : created) {
+            for (FAQItem item : items) {
+                assertTrue(numbers.add(item.getNumber()), "Duplicate FAQ item number " + item.getNumber());
+            }
+        }
+        assertEquals(threads * itemsPerThread, numbers.size());
+    }
+
+    @Test
+    public void testRenderedTextIsReusedUntilTheSectionChanges() {
+        FAQ faq = new FAQ();
+        FAQSection exams = faq.getOrCreateSection(List.of("Assessment", "Exams"));
+        FAQSection assessment = faq.getSection("Assessment");
+        FAQSection fees = faq.getOrCreateSection(List.of("Fees"));
+        FAQItem exam = new FAQItem("When are exams?", "In May.");
+        exams.getItems().add(exam);
+
+        String faqText = faq.toString();
+        String assessmentText = assessment.toString();
+        String examsText = exams.toString();
+        String feesText = fees.toString();
+        assertSame(faqText, faq.toString());
+        assertSame(examsText, exams.toString());
+        assertTrue(faqText.contains("[1] Fees"));
+        assertTrue(examsText.contains("#" + exam.getNumber() + " When are exams?"));
+        assertTrue(assessmentText.contains("[0] Exams"));
+
+        // Only the edited section is formatted again
+        exams.getItems().add(new FAQItem("Where are exams?", "In the hall."));
+        assertNotSame(examsText, exams.toString());
+        assertTrue(exams.toString().contains("> In the hall."));
+        assertSame(assessmentText, assessment.toString());
+        assertSame(feesText, fees.toString());
+        assertSame(faqText, faq.toString());
+
+        assessment.addSubsection(new FAQSection("Resits"));
+        assertTrue(assessment.toString().contains("[1] Resits"));
+        faq.addSection(new FAQSection("Visas"));
+        assertTrue(faq.toString().contains("[2] Visas"));
+        assertSame(feesText, fees.toString());
+    }
+
+    @Test
+    public void testWideFAQNavigation() {
+        FAQ faq = new FAQ();
+        FAQSection root = new FAQSection("Root");
+        faq.addSection(root);
+        int width = 50_000;
+        for (int i = 0; i < width; i++) {
+            root.addSubsection(new FAQSection("Topic " + i));
+        }
+
+        int found = 0;
+        for (int i = 0; i < width; i++) {
+            FAQSection byPosition = faq.getSections().get(0).getSubsections().get(i);
+            if (faq.findSection(List.of("Root", "Topic " + (width - 1 - i))) != null && byPosition != null) {
+                found++;
+            }
+        }
+
+        assertEquals(width, found);
+    }
+}
@@ -0,0 +1,124 @@
+package system_tests;
+
+import model.*;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.junit.jupiter.api.Test;
+import view.TextUserInterface;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFAQSearchIndexClass {
+
+    @Test
+    public void testSearchMatchesQuestionsAnswersAndCourseTags() throws IOException, ParseException {
+        SharedContext context = new SharedContext(new TextUserInterface());
+        FAQ faq = context.getFAQ();
+        FAQSection exams = faq.getOrCreateSection(List.of("Assessment", "Exams"));
+        FAQItem resit = new FAQItem("Can I resit an exam?", "Resits are held in August.", "COMP12345");
+        context.addFAQItem(exams, resit);
+        FAQSection fees = faq.getOrCreateSection(List.of("Fees"));
+        FAQItem refund = new FAQItem("When are fees refunded?",
+                "Refunds are paid within a month. You cannot resit the payment, but you can query it.");
+        context.addFAQItem(fees, refund);
+
+        // Words match on their stem, and a match in the question ranks above one in the answer
+        List<FAQSearchResult> results = context.searchFAQ("resitting");
+        assertEquals(2, results.size());
+        assertEquals(resit.getNumber(), results.get(0).getNumber());
+        assertEquals(List.of("Assessment", "Exams"), results.get(0).getTopicPath());
+        assertEquals("Can I [resit] an exam?", results.get(0).getQuestion());
+        assertEquals("[Resits] are held in August.", results.get(0).getSnippet());
+        assertTrue(results.get(1).getSnippet().contains("[resit]"));
+
+        results = context.searchFAQ("courseTag:comp12345");
+        assertEquals(1, results.size());
+        assertEquals("COMP12345", results.get(0).getCourseTag());
+
+        assertTrue(context.searchFAQ("+refund -month").isEmpty());
+        assertThrows(ParseException.class, () -> context.searchFAQ("answer:("));
+
+        // Items added or removed through the context are picked up by the next search
+        context.removeFAQItem(fees, 0);
+        assertTrue(context.searchFAQ("refund").isEmpty());
+        context.addFAQItem(exams, new FAQItem("Where do exams take place?", "In the main hall."));
+        assertEquals(1, context.searchFAQ("hall").size());
+    }
+
+    @Test
+    public void testEditsAreVisibleToTheNextSearch() throws IOException, ParseException {
+        SharedContext context = new SharedContext(new TextUserInterface());
+        FAQ faq = context.getFAQ();
+        FAQSection general = faq.getOrCreateSection(List.of("General"));
+        context.addFAQItem(general, new FAQItem("Where is the library?", "Next to the main hall."));
+        FAQSection printing = faq.getOrCreateSection(List.of("General", "Printing"));
+        context.addFAQItem(printing, new FAQItem("How do I print?", "Use any library printer."));
+        assertEquals(2, context.searchFAQ("library").size());
+
+        // Removing the last item of "General" moves "Printing" to the root, which changes the topic of its items
+        context.removeFAQItem(general, 0);
+        List<FAQSearchResult> results = context.searchFAQ("library");
+        assertEquals(1, results.size());
+        assertEquals(List.of("Printing"), results.get(0).getTopicPath());
+
+        AtomicBoolean editing = new AtomicBoolean(true);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                while (editing.get()) {
+                    context.searchFAQ("printer OR library");
+                }
+            } catch (Exception e) {
+                failure.set(e);
+            }
+        });
+        reader.start();
+
+        int edits = 300;
+        for (int i = 0; i < edits; i++) {
+            FAQItem item = new FAQItem("Question " + i + " about scanners?", "Scanner answer " + i);
+            context.addFAQItem(printing, item);
+            assertEquals(item.getNumber(), context.searchFAQ("scanner AND " + i).get(0).getNumber());
+        }
+        editing.set(false);
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        assertNull(failure.get());
+        assertTrue(context.searchFAQ("hall").isEmpty());
+    }
+
+    @Test
+    public void testSearchAcrossManyItems() throws IOException, ParseException {
+        String[] words = ("exam resit coursework deadline extension lab tutorial lecture timetable fee refund visa "
+                + "library printing account password enrolment transcript graduation placement").split(" ");
+        FAQ faq = new FAQ();
+        int items = 5000;
+        for (int i = 0; i < items; i++) {
+            FAQSection section = faq.getOrCreateSection(List.of("Topic " + i % 20, "Subtopic " + i % 7));
+            String question = "How do I handle " + words[i % words.length] + " and " + words[(i * 7) % words.length] + "?";
+            String answer = String.join(" ", Arrays.asList(words).subList(i % 5, i % 5 + 12)) + " item " + i;
+            section.getItems().add(new FAQItem(question, answer, String.format("COMP%05d", i % 300)));
+        }
+
+        FAQSearchIndex index = new FAQSearchIndex(faq);
+        assertEquals(items, index.size());
+
+        String[] queries = {"exam resit", "deadline extension", "\"lab tutorial\"", "courseTag:comp00042", "+visa -graduation",
+                "password", "graduation transcript", "library printing"};
+        for (String query : queries) {
+            List<FAQSearchResult> results = index.search(query, FAQSearchIndex.DEFAULT_MAX_RESULTS);
+            assertFalse(results.isEmpty());
+            assertTrue(results.size() <= FAQSearchIndex.DEFAULT_MAX_RESULTS);
+        }
+        index.close();
+    }
+}
@@ -0,0 +1,86 @@
+package system_tests;
+
+import model.Course;
+import model.Inquiry;
+import model.InquiryIntake;
+import model.SharedContext;
+import org.junit.jupiter.api.Test;
+import view.TextUserInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestInquiryIntakeClass {
+
+    @Test
+    public void testSubmissionsAreDeliveredStraightAwayWithoutAConsumerThread() {
+        SharedContext context = new SharedContext(new TextUserInterface());
+        context.getCourseManager().addCourseToCourseList(new Course("COMP12345", "Introduction to Programming",
+                "Learn basic programming concepts", true, "Dr. Alice Smith", "alice.smith@university.edu",
+                "Bob Johnson", "bob.johnson@university.edu", 0, 0));
+        Map<Long, String> routed = new ConcurrentHashMap<>();
+        InquiryIntake intake = context.getInquiryIntake();
+
+        Inquiry course = new Inquiry("a@example.com", "Marks", "When?", "comp12345");
+        Inquiry general = new Inquiry("b@example.com", "Parking", "Where?", null);
+        Inquiry removedCourse = new Inquiry("c@example.com", "Old course", "Still running?", "MATH10001");
+        for (Inquiry inquiry : List.of(course, general, removedCourse)) {
+            context.submitInquiry(inquiry, (delivered, recipient) -> {
+                // The inquiry is pending by the time staff are told about it
+                assertSame(delivered, context.getInquiry(delivered.getId()));
+                routed.put(delivered.getId(), recipient);
+            });
+            assertTrue(routed.containsKey(inquiry.getId()));
+        }
+
+        assertFalse(intake.isRunning());
+        assertEquals("alice.smith@university.edu", routed.get(course.getId()));
+        assertEquals(SharedContext.ADMIN_STAFF_EMAIL, routed.get(general.getId()));
+        assertEquals(SharedContext.ADMIN_STAFF_EMAIL, routed.get(removedCourse.getId()));
+        assertEquals(List.of(course, general, removedCourse), context.getPendingInquiries());
+        assertEquals(3, intake.getProcessedCount());
+        assertEquals(0, intake.getQueueDepth());
+    }
+
+    @Test
+    public void testBurstFromManyInquirersIsDeliveredInBatches() throws InterruptedException {
+        SharedContext context = new SharedContext(new TextUserInterface());
+        InquiryIntake intake = context.getInquiryIntake();
+        AtomicInteger notified = new AtomicInteger();
+        intake.start();
+        assertTrue(intake.isRunning());
+
+        int threads = 8;
+        int perThread = 5_000;
+        List<Thread> inquirers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String inquirer = "student" + t + "@example.com";
+            inquirers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    context.submitInquiry(new Inquiry(inquirer, "Question " + i, "Content", null),
+                            (inquiry, recipient) -> notified.incrementAndGet());
+                }
+            }));
+        }
+        for (Thread inquirer : inquirers) {
+            inquirer.start();
+        }
+        for (Thread inquirer : inquirers) {
+            inquirer.join();
+        }
+        intake.stop();
+
+        assertFalse(intake.isRunning());
+        assertEquals(threads * perThread, notified.get());
+        assertEquals(threads * perThread, context.getPendingInquiries().size());
+        assertEquals(threads * perThread, intake.getProcessedCount());
+        assertEquals(0, intake.getQueueDepth());
+        assertTrue(intake.getBatchCount() <= intake.getProcessedCount());
+        assertTrue(intake.getMaxLatencyNanos() >= intake.getMeanLatencyNanos());
+    }
+}
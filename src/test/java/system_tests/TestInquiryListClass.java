@@ -0,0 +1,176 @@
+package system_tests;
+
+import model.Inquiry;
+import model.InquiryList;
+import model.InquiryPage;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestInquiryListClass {
+
+    @Test
+    public void testQueuesFollowAddsReassignmentsAndRemovals() {
+        InquiryList inquiries = new InquiryList();
+        Inquiry marks = new Inquiry("a@example.com", "Marks", "When?", "COMP12345");
+        Inquiry parking = new Inquiry("b@example.com", "Parking", "Where?", null);
+        Inquiry restored = new Inquiry("c@example.com", "Restored", "Assigned before it was added", null);
+        restored.setAssignedTo("teacher@example.com");
+        inquiries.add(marks);
+        inquiries.add(parking);
+        inquiries.add(restored);
+
+        assertEquals(List.of(marks, parking), inquiries.getUnassigned());
+        assertEquals(List.of(restored), inquiries.getAssignedTo("teacher@example.com"));
+        assertTrue(inquiries.getAssignedTo("nobody@example.com").isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> inquiries.getAssignedTo("teacher@example.com").add(marks));
+        assertFalse(inquiries.add(marks));
+
+        // Queues are ordered by creation, not by when an inquiry joined them
+        inquiries.reassign(marks, "teacher@example.com");
+        assertEquals(List.of(marks, restored), inquiries.getAssignedTo("teacher@example.com"));
+        assertEquals(List.of(parking), inquiries.getUnassigned());
+
+        inquiries.reassign(marks, "other@example.com");
+        assertEquals(List.of(restored), inquiries.getAssignedTo("teacher@example.com"));
+        assertEquals(List.of(marks), inquiries.getAssignedTo("other@example.com"));
+        assertEquals("other@example.com", marks.getAssignedTo());
+
+        assertSame(restored, inquiries.getInquiry(restored.getId()));
+        assertTrue(inquiries.remove(restored));
+        assertFalse(inquiries.remove(restored));
+        assertNull(inquiries.getInquiry(restored.getId()));
+        assertTrue(inquiries.getAssignedTo("teacher@example.com").isEmpty());
+        assertEquals(List.of(marks, parking), inquiries);
+
+        // Inquiries outside the list are only assigned
+        Inquiry outside = new Inquiry("d@example.com", "Outside", "Not pending", null);
+        inquiries.reassign(outside, "teacher@example.com");
+        assertEquals("teacher@example.com", outside.getAssignedTo());
+        assertTrue(inquiries.getAssignedTo("teacher@example.com").isEmpty());
+    }
+
+    @Test
+    public void testConcurrentSubmitAssignAndRespond() throws InterruptedException {
+        InquiryList inquiries = new InquiryList();
+        int threads = 4;
+        int perThread = 5_000;
+        AtomicInteger answered = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String staff = "staff" + t + "@example.com";
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    Inquiry inquiry = new Inquiry("student@example.com", "Question " + i, "Content", null);
+                    inquiries.add(inquiry);
+                    inquiries.reassign(inquiry, staff);
+                    // Every other inquiry is answered; answering it again finds it gone
+                    if (i % 2 == 0 && inquiries.remove(inquiry) && !inquiries.remove(inquiry)) {
+                        answered.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread / 2, answered.get());
+        assertEquals(threads * perThread / 2, inquiries.size());
+        int queued = 0;
+        for (int t = 0; t < threads; t++) {
+            List<Inquiry> queue = inquiries.getAssignedTo("staff" + t + "@example.com");
+            assertEquals(perThread / 2, queue.size());
+            queued += queue.size();
+        }
+        Inquiry previous = null;
+        for (Inquiry inquiry : inquiries) {
+            assertTrue(previous == null || !inquiry.getCreatedAt().isBefore(previous.getCreatedAt()));
+            previous = inquiry;
+        }
+        assertEquals(inquiries.size(), queued);
+        assertTrue(inquiries.getUnassigned().isEmpty());
+    }
+
+    @Test
+    public void testPagesFollowCreationTimeAndFilters() {
+        InquiryList inquiries = new InquiryList();
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        // Added newest first, so the listing order comes from the creation times
+        for (int i = 24; i >= 0; i--) {
+            Inquiry inquiry = new Inquiry("student" + i + "@example.com", "Question " + i, "Content",
+                    i % 2 == 0 ? "COMP12345" : "MATH10001", start.plusMinutes(i));
+            if (i % 5 == 0) {
+                inquiry.setAssignedTo("teacher@example.com");
+            }
+            inquiries.add(inquiry);
+        }
+
+        InquiryPage first = inquiries.getPage(null, 10, null, null);
+        assertEquals(10, first.getInquiries().size());
+        assertEquals("Question 0", first.getInquiries().get(0).getSubject());
+        assertEquals("Question 9", first.getInquiries().get(9).getSubject());
+        assertTrue(first.hasNextPage());
+
+        // Answering inquiries on a page does not move the pages after it
+        inquiries.remove(first.getInquiries().get(9));
+        inquiries.remove(inquiries.getPage(first.getNextCursor(), 1, null, null).getInquiries().get(0));
+        InquiryPage second = inquiries.getPage(first.getNextCursor(), 10, null, null);
+        assertEquals("Question 11", second.getInquiries().get(0).getSubject());
+        InquiryPage third = inquiries.getPage(second.getNextCursor(), 10, null, null);
+        assertEquals(List.of("Question 21", "Question 22", "Question 23", "Question 24"), subjects(third));
+        assertFalse(third.hasNextPage());
+
+        List<String> comp = new ArrayList<>();
+        String cursor = null;
+        do {
+            InquiryPage page = inquiries.getPage(cursor, 4, "comp12345", null);
+            page.getInquiries().forEach(inquiry -> comp.add(inquiry.getSubject()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(List.of("Question 0", "Question 2", "Question 4", "Question 6", "Question 8", "Question 12",
+                "Question 14", "Question 16", "Question 18", "Question 20", "Question 22", "Question 24"), comp);
+
+        assertEquals(List.of("Question 0", "Question 5", "Question 15", "Question 20"), subjects(
+                inquiries.getPage(null, 10, null, "teacher@example.com")));
+        assertEquals(List.of("Question 0", "Question 20"), subjects(inquiries.getPage(null, 10, "COMP12345", "teacher@example.com")));
+        assertEquals(List.of("Question 1", "Question 2"), subjects(inquiries.getPage(null, 2, null, InquiryList.UNASSIGNED)));
+        assertTrue(inquiries.getPage(null, 10, "INFR10001", null).getInquiries().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> inquiries.getPage("not a cursor", 10, null, null));
+        assertThrows(IllegalArgumentException.class, () -> inquiries.getPage(null, 0, null, null));
+    }
+
+    @Test
+    public void testPageCostDoesNotGrowWithPendingInquiries() {
+        InquiryList inquiries = new InquiryList();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        int pending = 200_000;
+        for (int i = 0; i < pending; i++) {
+            inquiries.add(new Inquiry("student@example.com", "Question " + i, "Content",
+                    String.format("COMP%05d", i % 100), start.plusSeconds(i)));
+        }
+
+        String cursor = inquiries.getPage(null, pending / 2, null, null).getNextCursor();
+        int pages = 20_000;
+        for (int i = 0; i < pages; i++) {
+            InquiryPage page = inquiries.getPage(cursor, 10, "COMP00042", null);
+            assertEquals(10, page.getInquiries().size());
+        }
+    }
+
+    private static List<String> subjects(InquiryPage page) {
+        List<String> subjects = new ArrayList<>();
+        for (Inquiry inquiry : page.getInquiries()) {
+            subjects.add(inquiry.getSubject());
+        }
+        return subjects;
+    }
+}
@@ -0,0 +1,189 @@
+package system_tests;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import view.TextUserInterface;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMappedTimetableStoreClass {
+
+    private void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toArray(Path[]::new)) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private TimeSlot slot(int activityId, int hour, DayOfWeek day, ActivityType type, String courseCode) {
+        return new TimeSlot(activityId, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 30), day, type, courseCode,
+                type == ActivityType.LECTURE ? TimeSlotStatus.CHOSEN : TimeSlotStatus.UNCHOSEN, false);
+    }
+
+    @Test
+    public void testSlotsRoundTripAndOutgrowTheirExtent() throws IOException {
+        Path directory = Files.createTempDirectory("store");
+        try {
+            Path file = directory.resolve("timetables.dat");
+            try (MappedTimetableStore store = MappedTimetableStore.open(file)) {
+                TimeSlotRecords slots = new TimeSlotRecords(2);
+                slots.add(slot(1, 9, DayOfWeek.MONDAY, ActivityType.LECTURE, "COMP12345"));
+                slots.add(slot(2, 14, DayOfWeek.SUNDAY, ActivityType.TUTORIAL, "MATH10001"));
+                store.put("a@example.com", slots);
+                store.put("b@example.com", slots);
+
+                TimeSlotRecords many = new TimeSlotRecords(20);
+                for (int i = 0; i < 20; i++) {
+                    many.add(slot(100 + i, 8 + i % 10, DayOfWeek.values()[i % 7], ActivityType.LAB, "COMP" + i));
+                }
+                store.put("a@example.com", many);
+                assertTrue(store.getGarbageRecords() > 0);
+                assertTrue(store.remove("b@example.com"));
+
+                TimeSlotRecords halfMinute = new TimeSlotRecords(1);
+                halfMinute.add(new TimeSlot(3, LocalTime.of(9, 0, 30), LocalTime.of(23, 59, 59), DayOfWeek.SUNDAY,
+                        ActivityType.LAB, "COMP12345", TimeSlotStatus.UNCHOSEN, false));
+                store.put("c@example.com", halfMinute);
+            }
+
+            try (MappedTimetableStore store = MappedTimetableStore.open(file)) {
+                assertEquals(Set.of("a@example.com", "c@example.com"), store.getStudentEmails());
+                TimeSlot halfMinute = store.get("c@example.com").get(0);
+                assertEquals(LocalTime.of(9, 0, 30), halfMinute.getStartTime());
+                assertEquals(LocalTime.of(23, 59, 59), halfMinute.getEndTime());
+                assertEquals(DayOfWeek.SUNDAY, halfMinute.getDay());
+                assertTrue(halfMinute.isType(ActivityType.LAB));
+                TimeSlotRecords restored = store.get("a@example.com");
+                assertEquals(20, restored.size());
+                TimeSlot last = restored.get(19);
+                assertEquals(119, last.getActivityId());
+                assertEquals(DayOfWeek.values()[19 % 7], last.getDay());
+                assertEquals(LocalTime.of(17, 0), last.getStartTime());
+                assertEquals(LocalTime.of(18, 30), last.getEndTime());
+                assertEquals("COMP19", last.getCourseCode());
+                assertTrue(last.isType(ActivityType.LAB));
+                assertEquals(0, store.get("b@example.com").size());
+            }
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void testChangesWriteOnlyTheirRecordsAndFreedExtentsAreReused() throws IOException {
+        Path directory = Files.createTempDirectory("store");
+        try {
+            Path file = directory.resolve("timetables.dat");
+            try (MappedTimetableStore store = MappedTimetableStore.open(file)) {
+                // Slots added one at a time only move the timetable when its extent doubles
+                for (int i = 0; i < 100; i++) {
+                    TimeSlotRecords one = new TimeSlotRecords(1);
+                    one.add(slot(i, 8 + i % 10, DayOfWeek.values()[i % 7], ActivityType.TUTORIAL, "COMP" + i % 3));
+                    store.append("a@example.com", one);
+                }
+                assertEquals(100, store.get("a@example.com").size());
+                assertEquals((1 + 8) + (1 + 16) + (1 + 32) + (1 + 64), store.getGarbageRecords());
+
+                TimeSlotRecords chosen = new TimeSlotRecords(1);
+                chosen.add(new TimeSlot(42, LocalTime.of(10, 0), LocalTime.of(11, 30), DayOfWeek.SUNDAY,
+                        ActivityType.TUTORIAL, "COMP0", TimeSlotStatus.CHOSEN, false));
+                store.set("a@example.com", 42, chosen);
+                assertTrue(store.get("a@example.com").get(42).isChosen());
+                assertFalse(store.get("a@example.com").get(41).isChosen());
+                assertThrows(IndexOutOfBoundsException.class, () -> store.set("a@example.com", 100, chosen));
+
+                // Extents freed before a force are reused afterwards instead of growing the file
+                store.force();
+                long garbage = store.getGarbageRecords();
+                for (int s = 0; s < 4; s++) {
+                    TimeSlotRecords slots = new TimeSlotRecords(2);
+                    slots.add(slot(1, 9, DayOfWeek.MONDAY, ActivityType.LECTURE, "COMP12345"));
+                    store.put("student" + s + "@example.com", slots);
+                }
+                // Only the first timetable's smallest extent fits, the others are added to the file
+                assertEquals(garbage - (1 + 8), store.getGarbageRecords());
+                long garbageBefore = store.getGarbageRecords();
+                for (int round = 0; round < 50; round++) {
+                    store.remove("student" + round % 4 + "@example.com");
+                    store.force();
+                    TimeSlotRecords slots = new TimeSlotRecords(1);
+                    slots.add(slot(round, 9, DayOfWeek.MONDAY, ActivityType.LECTURE, "COMP12345"));
+                    store.put("student" + round % 4 + "@example.com", slots);
+                }
+                assertEquals(garbageBefore, store.getGarbageRecords());
+            }
+
+            try (MappedTimetableStore store = MappedTimetableStore.open(file)) {
+                assertEquals(100, store.get("a@example.com").size());
+                assertTrue(store.get("a@example.com").get(42).isChosen());
+                assertEquals(48, store.get("student0@example.com").get(0).getActivityId());
+                assertEquals(49, store.get("student1@example.com").get(0).getActivityId());
+                // The extents the first timetable left behind are free again after a restart
+                assertEquals((1 + 16) + (1 + 32) + (1 + 64), store.getGarbageRecords());
+            }
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void testTimetablesRunOnTopOfTheStore() throws IOException {
+        Path directory = Files.createTempDirectory("store");
+        try {
+            Path file = directory.resolve("timetables.dat");
+            Course course = new Course("COMP12345", "Introduction to Programming", "Learn basic programming concepts",
+                    true, "Dr. Alice Smith", "alice.smith@university.edu", "Bob Johnson", "bob.johnson@university.edu",
+                    1, 0);
+            try (MappedTimetableStore store = MappedTimetableStore.open(file)) {
+                CourseManager courseManager = new CourseManager(new TextUserInterface());
+                courseManager.attachTimetableStore(store);
+                course.addActivity(courseManager.generateActivityId(), LocalDate.of(2025, 4, 1), LocalTime.of(9, 0),
+                        LocalDate.of(2025, 6, 1), LocalTime.of(10, 0), "Lecture Hall", DayOfWeek.MONDAY, false, "lecture");
+                course.addActivity(courseManager.generateActivityId(), LocalDate.of(2025, 4, 1), LocalTime.of(11, 0),
+                        LocalDate.of(2025, 6, 1), LocalTime.of(12, 0), "Tutorial Room", DayOfWeek.TUESDAY, 20, "tutorial");
+                courseManager.addCourseToCourseList(course);
+                courseManager.addCourseToStudentTimetable("student@example.com", "COMP12345");
+                courseManager.chooseActivityForCourse("student@example.com", "COMP12345",
+                        String.valueOf(course.getActivities().get(1).getId()));
+
+                Timetable timetable = courseManager.timetables.get("student@example.com");
+                timetable.evict();
+                assertFalse(timetable.isHydrated());
+                assertEquals(Set.of("COMP12345"), timetable.getCourseCodes());
+                assertEquals(1, timetable.numChosenTutorialInTimeSlots("COMP12345"));
+                assertTrue(timetable.isHydrated());
+            }
+
+            try (MappedTimetableStore store = MappedTimetableStore.open(file)) {
+                CourseManager courseManager = new CourseManager(new TextUserInterface());
+                courseManager.attachTimetableStore(store);
+                courseManager.addCourseToCourseList(course);
+
+                Timetable timetable = courseManager.timetables.get("student@example.com");
+                assertNotNull(timetable);
+                assertFalse(timetable.isHydrated());
+                assertEquals(2, timetable.getTimeSlots().size());
+                assertEquals(1, timetable.numChosenTutorialInTimeSlots("COMP12345"));
+                assertFalse(timetable.isFree(DayOfWeek.MONDAY, LocalTime.of(9, 30), LocalTime.of(9, 45)));
+
+                // Enrolments are rebuilt from the store, so removing the course still purges the timetable
+                courseManager.removeCourse("COMP12345");
+                assertFalse(timetable.hasSlotsForCourse("COMP12345"));
+                assertEquals(0, store.get("student@example.com").size());
+            }
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -423,6 +424,95 @@ public class TestTimetableClass {
         );
         assertEquals(0, conflicts.length);
     }
+    @Test
+    public void testFindConflictsReturnsEveryClash() {
+        // Tutorial at 8:30 - 9:00 and lecture at 9:30 - 10:00 are both chosen on Wednesday
+        // LAB at 7:00 - 11:00 overlaps both of them
+        timetable.addTimeSlot(tutorialActivityClash1, "CS103", ActivityType.TUTORIAL);
+        timetable.addTimeSlot(lectureActivityClash1, "CS102", ActivityType.LECTURE);
+        timetable.chooseActivity("CS103", tutorialActivityClash1.getId());
+        List<TimeSlot> conflicts = timetable.findConflicts(
+                labActivityClash1.getDay(),
+                labActivityClash1.getStartTime(),
+                labActivityClash1.getEndTime()
+        );
+        assertEquals(2, conflicts.size());
+        assertEquals(tutorialActivityClash1.getId(), conflicts.get(0).getActivityId());
+        assertEquals(lectureActivityClash1.getId(), conflicts.get(1).getActivityId());
+    }
+    @Test
+    public void testFindConflictsAfterRemovingCourse() {
+        timetable.addTimeSlot(tutorialActivityClash1, "CS103", ActivityType.TUTORIAL);
+        timetable.addTimeSlot(lectureActivityClash1, "CS102", ActivityType.LECTURE);
+        timetable.chooseActivity("CS103", tutorialActivityClash1.getId());
+        timetable.removeSlotsForCourse("CS102");
+        List<TimeSlot> conflicts = timetable.findConflicts(
+                labActivityClash1.getDay(),
+                labActivityClash1.getStartTime(),
+                labActivityClash1.getEndTime()
+        );
+        assertEquals(1, conflicts.size());
+        assertEquals("CS103", conflicts.get(0).getCourseCode());
+    }
+    @Test
+    public void testFindConflictsForWholeCourse() {
+        Lecture unrecordedLecture = new Lecture(
+                301,
+                LocalDate.of(2025, 4, 1),
+                LocalTime.of(10, 0),
+                LocalDate.of(2025, 4, 1),
+                LocalTime.of(11, 0),
+                "Lecture Hall",
+                DayOfWeek.WEDNESDAY,
+                false
+        );
+        timetable.addTimeSlot(unrecordedLecture, "CS104", ActivityType.LECTURE);
+        timetable.addTimeSlot(tutorialActivityClash1, "CS103", ActivityType.TUTORIAL);
+        timetable.chooseActivity("CS103", tutorialActivityClash1.getId());
 
+        // LAB at 7:00 - 11:00 overlaps the tutorial and the unrecorded lecture, the tutorial at 11:00 - 12:00 touches neither
+        List<ActivityClash> clashes = timetable.findConflicts(List.of(tutorialActivity, labActivityClash1));
+        assertEquals(2, clashes.size());
+        for (ActivityClash clash : clashes) {
+            assertSame(labActivityClash1, clash.getActivity());
+        }
+        assertTrue(clashes.stream().anyMatch(ActivityClash::involvesUnrecordedLecture));
+        assertTrue(timetable.findConflicts(List.of(lectureActivity, labActivity)).isEmpty());
+    }
+    @Test
+    public void testIsFreeAndFreeMinutes() {
+        // Lecture at 9:30 - 10:00 on Wednesday is chosen as soon as it is added
+        timetable.addTimeSlot(lectureActivityClash1, "CS102", ActivityType.LECTURE);
+        assertFalse(timetable.isFree(DayOfWeek.WEDNESDAY, LocalTime.of(9, 0), LocalTime.of(9, 45)));
+        assertTrue(timetable.isFree(DayOfWeek.WEDNESDAY, LocalTime.of(10, 0), LocalTime.of(10, 30)));
+        assertTrue(timetable.isFree(DayOfWeek.THURSDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        assertEquals(24 * 60 - 30, timetable.getFreeMinutes(DayOfWeek.WEDNESDAY));
 
+        timetable.removeSlotsForCourse("CS102");
+        assertTrue(timetable.isFree(DayOfWeek.WEDNESDAY, LocalTime.of(9, 0), LocalTime.of(9, 45)));
+        assertEquals(24 * 60, timetable.getFreeMinutes(DayOfWeek.WEDNESDAY));
+    }
+    @Test
+    public void testChosenCountsFollowChooseAndRemove() {
+        timetable.addTimeSlot(labActivity, "MATH12345", ActivityType.LAB);
+        timetable.addTimeSlot(tutorialActivity, "MATH12345", ActivityType.TUTORIAL);
+        timetable.addTimeSlot(tutorialActivityClash1, "INFD12345", ActivityType.TUTORIAL);
+        assertEquals(0, timetable.numChosenLabInTimeSlots("MATH12345"));
+        assertEquals(0, timetable.numChosenTutorialInTimeSlots("MATH12345"));
+
+        timetable.chooseActivity("MATH12345", labActivity.getId());
+        timetable.chooseActivity("MATH12345", tutorialActivity.getId());
+        // Choosing the same activity again must not count it twice
+        timetable.chooseActivity("MATH12345", tutorialActivity.getId());
+        assertEquals(1, timetable.numChosenLabInTimeSlots("MATH12345"));
+        assertEquals(1, timetable.numChosenTutorialInTimeSlots("MATH12345"));
+        assertEquals(0, timetable.numChosenTutorialInTimeSlots("INFD12345"));
+
+        timetable.removeSlotsForCourse("MATH12345");
+        assertEquals(0, timetable.numChosenLabInTimeSlots("MATH12345"));
+        assertEquals(0, timetable.numChosenTutorialInTimeSlots("MATH12345"));
+        assertFalse(timetable.hasSlotsForActivityId(labActivity.getId()));
+        // Tutorial 103 is still in the timetable through INFD12345
+        assertTrue(timetable.isIdTutorial(tutorialActivity.getId()));
+    }
 }
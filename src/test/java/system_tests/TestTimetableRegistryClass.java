@@ -0,0 +1,125 @@
+package system_tests;
+
+import model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTimetableRegistryClass {
+    private TimetableRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new TimetableRegistry();
+    }
+
+    private void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toArray(Path[]::new)) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testGetOrCreateReturnsTheRegisteredTimetable() {
+        assertNull(registry.get("a@example.com"));
+        assertNull(registry.get(null));
+        assertFalse(registry.contains("a@example.com"));
+
+        Timetable created = registry.getOrCreate("a@example.com");
+        assertEquals("a@example.com", created.getStudentEmail());
+        assertSame(created, registry.getOrCreate("a@example.com"));
+        assertSame(created, registry.get("a@example.com"));
+        assertTrue(registry.contains("a@example.com"));
+
+        Timetable added = new Timetable("b@example.com");
+        registry.add(added);
+        assertSame(added, registry.getOrCreate("b@example.com"));
+        assertEquals(2, registry.size());
+        assertEquals(2, registry.getTimetables().size());
+        assertFalse(registry.hasStore());
+    }
+
+    @Test
+    public void testConcurrentGetOrCreateCreatesOneTimetable() throws InterruptedException {
+        int threads = 8;
+        Set<Timetable> seen = ConcurrentHashMap.newKeySet();
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Thread> students = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            students.add(new Thread(() -> {
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    seen.add(registry.getOrCreate("student" + i + "@example.com"));
+                }
+            }));
+        }
+        for (Thread student : students) {
+            student.start();
+        }
+        ready.countDown();
+        for (Thread student : students) {
+            student.join();
+        }
+
+        assertEquals(1_000, registry.size());
+        assertEquals(1_000, seen.size());
+        for (Timetable timetable : seen) {
+            assertSame(timetable, registry.get(timetable.getStudentEmail()));
+        }
+    }
+
+    @Test
+    public void testAttachStoreMovesTimetablesIntoTheStore() throws IOException {
+        Path directory = Files.createTempDirectory("registry");
+        try (MappedTimetableStore store = MappedTimetableStore.open(directory.resolve("timetables.dat"))) {
+            TimeSlotRecords stored = new TimeSlotRecords(1);
+            stored.add(new TimeSlot(2, LocalTime.of(14, 0), LocalTime.of(15, 0), DayOfWeek.TUESDAY,
+                    ActivityType.TUTORIAL, "MATH10001", TimeSlotStatus.UNCHOSEN, false));
+            store.put("stored@example.com", stored);
+
+            Timetable inMemory = registry.getOrCreate("memory@example.com");
+            inMemory.addTimeSlot(new Lecture(1, LocalDate.of(2024, 9, 16), LocalTime.of(9, 0),
+                    LocalDate.of(2024, 12, 2), LocalTime.of(10, 0), "Room 101", DayOfWeek.MONDAY, true),
+                    "COMP12345", ActivityType.LECTURE);
+
+            List<Timetable> added = registry.attachStore(store);
+            assertTrue(registry.hasStore());
+            assertEquals(1, added.size());
+            assertSame(added.get(0), registry.get("stored@example.com"));
+            assertFalse(added.get(0).isHydrated());
+            assertEquals(2, registry.size());
+
+            // The timetable that was in memory is now read back from the store
+            assertTrue(store.contains("memory@example.com"));
+            Timetable moved = registry.get("memory@example.com");
+            assertNotSame(inMemory, moved);
+            assertEquals(1, moved.getTimeSlots().size());
+            assertEquals("COMP12345", moved.getTimeSlots().get(0).getCourseCode());
+            assertEquals("MATH10001", registry.get("stored@example.com").getTimeSlots().get(0).getCourseCode());
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+}
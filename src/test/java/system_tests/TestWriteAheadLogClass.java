@@ -0,0 +1,222 @@
+package system_tests;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import view.TextUserInterface;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestWriteAheadLogClass {
+
+    private Course newCourse(CourseManager courseManager, String courseCode) {
+        Course course = new Course(courseCode, "Course " + courseCode, "Description", false,
+                "Dr. Alice Smith", "alice.smith@university.edu", "Bob Johnson", "bob.johnson@university.edu",
+                1, 0);
+        course.addActivity(courseManager.generateActivityId(), LocalDate.of(2025, 4, 1), LocalTime.of(9, 0),
+                LocalDate.of(2025, 6, 1), LocalTime.of(10, 0), "Lecture Hall", DayOfWeek.MONDAY, true, "lecture");
+        course.addActivity(courseManager.generateActivityId(), LocalDate.of(2025, 4, 1), LocalTime.of(11, 0),
+                LocalDate.of(2025, 6, 1), LocalTime.of(12, 0), "Tutorial Room", DayOfWeek.TUESDAY, 20, "tutorial");
+        return course;
+    }
+
+    @Test
+    public void testLoggedChangesAreReplayed() throws IOException {
+        Path file = Files.createTempFile("journal", ".wal");
+        try {
+            SharedContext original = new SharedContext(new TextUserInterface());
+            WriteAheadLog journal = WriteAheadLog.open(file, 1, 0);
+            original.setJournal(journal);
+
+            CourseManager courseManager = original.getCourseManager();
+            Course kept = newCourse(courseManager, "COMP12345");
+            courseManager.addCourseToCourseList(kept);
+            courseManager.addCourseToCourseList(newCourse(courseManager, "MATH10001"));
+            courseManager.addCourseToStudentTimetable("student@example.com", "COMP12345");
+            courseManager.addCourseToStudentTimetable("student@example.com", "MATH10001");
+            courseManager.chooseActivityForCourse("student@example.com", "COMP12345",
+                    String.valueOf(kept.getActivities().get(1).getId()));
+            courseManager.removeCourse("MATH10001");
+
+            Inquiry answered = new Inquiry("guest@example.com", "Parking", "Where can I park?", null);
+            Inquiry open = new Inquiry("student@example.com", "Deadline", "When is it due?", "COMP12345",
+                    LocalDateTime.of(2025, 3, 1, 12, 30, 15));
+            original.addInquiry(answered);
+            original.addInquiry(open);
+            original.assignInquiry(open, "teacher@example.com");
+            original.removeInquiry(answered);
+
+            FAQSection parent = new FAQSection("Admissions");
+            original.getFAQ().addSection(parent);
+            FAQSection child = new FAQSection("Deadlines");
+            parent.addSubsection(child);
+            original.addFAQItem(parent, new FAQItem("How do I apply?", "Online.", null));
+            original.addFAQItem(child, new FAQItem("When?", "March.", "COMP12345"));
+            // Removing the only item of a topic removes the topic and lifts its subsections
+            original.removeFAQItem(parent, 0);
+
+            journal.close();
+            assertTrue(journal.getSyncCount() <= journal.getRecordCount());
+
+            SharedContext restored = new SharedContext(new TextUserInterface());
+            WriteAheadLog.ReplayReport report = WriteAheadLog.replay(file, 1, restored);
+            assertEquals(journal.getRecordCount(), report.getRecords());
+
+            CourseManager restoredManager = restored.getCourseManager();
+            assertNull(restoredManager.getCourseByCode("MATH10001"));
+            Course course = restoredManager.getCourseByCode("COMP12345");
+            assertNotNull(course);
+            assertEquals(Set.of("student@example.com"), course.getMembers());
+            Timetable timetable = restoredManager.timetables.get("student@example.com");
+            assertEquals(Set.of("COMP12345"), timetable.getCourseCodes());
+            assertEquals(1, timetable.numChosenTutorialInTimeSlots("COMP12345"));
+
+            assertEquals(1, restored.inquiries.size());
+            assertEquals(LocalDateTime.of(2025, 3, 1, 12, 30, 15), restored.inquiries.get(0).getCreatedAt());
+            assertEquals("teacher@example.com", restored.inquiries.get(0).getAssignedTo());
+            assertSame(restored.inquiries.get(0), restored.getInquiry(open.getId()));
+            assertNull(restored.getInquiry(answered.getId()));
+
+            assertEquals(1, restored.getFAQ().getSections().size());
+            FAQSection lifted = restored.getFAQ().getSections().get(0);
+            assertEquals("Deadlines", lifted.getTopic());
+            assertNull(lifted.getParent());
+            assertEquals("COMP12345", lifted.getItems().get(0).getCourseTag());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testTornTailAndStaleGenerationAreIgnored() throws IOException {
+        Path file = Files.createTempFile("journal", ".wal");
+        try {
+            try (WriteAheadLog journal = WriteAheadLog.open(file, 3, 0)) {
+                journal.append(LogRecord.removeCourse("COMP00001"));
+                journal.append(LogRecord.removeCourse("COMP00002"));
+            }
+            long validLength = Files.size(file);
+            // A crash in the middle of a write leaves part of a frame behind
+            Files.write(file, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+            SharedContext context = new SharedContext(new TextUserInterface());
+            assertEquals(2, WriteAheadLog.replay(file, 3, context).getRecords());
+            assertEquals(0, WriteAheadLog.replay(file, 2, context).getRecords());
+
+            try (WriteAheadLog journal = WriteAheadLog.open(file, 3, 0)) {
+                assertEquals(validLength, Files.size(file));
+                journal.append(LogRecord.removeCourse("COMP00003"));
+            }
+            assertEquals(3, WriteAheadLog.replay(file, 3, context).getRecords());
+
+            // Opening at a newer generation discards a log the snapshot already holds
+            try (WriteAheadLog journal = WriteAheadLog.open(file, 4, 0)) {
+                assertEquals(4, journal.getGeneration());
+            }
+            assertEquals(0, WriteAheadLog.replay(file, 4, context).getRecords());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testLogOfAnotherGenerationIsKeptAside() throws IOException {
+        Path directory = Files.createTempDirectory("journal");
+        Path file = directory.resolve("hindeburg.wal");
+        try {
+            try (WriteAheadLog journal = WriteAheadLog.open(file, 7, 0)) {
+                journal.append(LogRecord.removeCourse("COMP00001"));
+            }
+            byte[] unsnapshotted = Files.readAllBytes(file);
+
+            // A snapshot that failed to load leaves the session at generation 1, which must not reset generation 7
+            try (WriteAheadLog journal = WriteAheadLog.open(file, 1, 0)) {
+                assertEquals(1, journal.getGeneration());
+            }
+            List<Path> kept = new ArrayList<>();
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(path -> !path.equals(file)).forEach(kept::add);
+            }
+            assertEquals(1, kept.size());
+            assertTrue(kept.get(0).getFileName().toString().startsWith("hindeburg.wal.old-"));
+            assertArrayEquals(unsnapshotted, Files.readAllBytes(kept.get(0)));
+            SharedContext context = new SharedContext(new TextUserInterface());
+            assertEquals(1, WriteAheadLog.replay(kept.get(0), 7, context).getRecords());
+            assertEquals(0, WriteAheadLog.replay(file, 1, context).getRecords());
+
+            assertNull(WriteAheadLog.setAside(directory.resolve("missing.wal")));
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path path : files.collect(Collectors.toList())) {
+                    Files.delete(path);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testReplayThroughput() throws Exception {
+        Path file = Files.createTempFile("journal", ".wal");
+        ExecutorService appenders = Executors.newFixedThreadPool(16);
+        try {
+            SharedContext original = new SharedContext(new TextUserInterface());
+            CourseManager courseManager = original.getCourseManager();
+            List<Course> courses = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                courses.add(newCourse(courseManager, String.format("COMP%05d", i)));
+            }
+
+            int students = 2000;
+            WriteAheadLog journal = WriteAheadLog.open(file, 1, 1);
+            for (Course course : courses) {
+                journal.append(LogRecord.addCourse(course));
+            }
+            // Concurrent appenders share fsyncs through group commit
+            List<Future<?>> futures = new ArrayList<>();
+            for (int s = 0; s < students; s++) {
+                String studentEmail = "student" + s + "@example.com";
+                Course course = courses.get(s % courses.size());
+                futures.add(appenders.submit(() -> {
+                    journal.append(LogRecord.addCourseToTimetable(studentEmail, course.getCourseCode()));
+                    journal.append(LogRecord.chooseActivity(studentEmail, course.getCourseCode(),
+                            course.getActivities().get(1).getId()));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            journal.close();
+            long records = courses.size() + 2L * students;
+            assertEquals(records, journal.getRecordCount());
+            assertTrue(journal.getSyncCount() < records);
+
+            SharedContext restored = new SharedContext(new TextUserInterface());
+            WriteAheadLog.ReplayReport report = WriteAheadLog.replay(file, 1, restored);
+            assertEquals(records, report.getRecords());
+            assertEquals(students, restored.getCourseManager().timetables.size());
+            Timetable timetable = restored.getCourseManager().timetables.get("student7@example.com");
+            assertEquals(1, timetable.numChosenTutorialInTimeSlots(courses.get(7).getCourseCode()));
+        } finally {
+            appenders.shutdownNow();
+            Files.deleteIfExists(file);
+        }
+    }
+}